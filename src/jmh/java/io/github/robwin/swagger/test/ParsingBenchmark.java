@@ -0,0 +1,103 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures reading a synthetic spec from JSON and YAML, compared with loading its snapshot from a
+ * {@link SwaggerSnapshotStore}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParsingBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private String json;
+    private String yaml;
+    private Path workDirectory;
+    private SwaggerSnapshotStore snapshotStore;
+    private HashCode contentHash;
+
+    @Setup
+    public void setUp() throws IOException {
+        Swagger swagger = new SyntheticSwaggerGenerator().paths(size).definitions(size).generate();
+        json = Json.mapper().writeValueAsString(swagger);
+        yaml = Yaml.mapper().writeValueAsString(swagger);
+        workDirectory = Files.createTempDirectory("assertj-swagger-benchmark");
+        snapshotStore = new SwaggerSnapshotStore(workDirectory);
+        contentHash = Hashing.murmur3_128().hashString(json, StandardCharsets.UTF_8);
+        snapshotStore.store(contentHash, new SwaggerParser().parse(json));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(workDirectory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Swagger parseJson() {
+        return new SwaggerParser().parse(json);
+    }
+
+    @Benchmark
+    public Swagger parseYaml() {
+        return new SwaggerParser().parse(yaml);
+    }
+
+    @Benchmark
+    public Swagger loadSnapshot() {
+        return snapshotStore.load(contentHash);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Model;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving the properties and computing the fingerprints of all definitions and paths of a synthetic spec
+ * with a fresh {@link SchemaObjectResolver}, i.e. with nothing resolved yet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaResolutionBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    @Param({"0", "2", "8"})
+    public int allOfDepth;
+
+    private Swagger expected;
+    private Swagger actual;
+
+    @Setup
+    public void setUp() {
+        SyntheticSwaggerGenerator generator = new SyntheticSwaggerGenerator().paths(size).definitions(size).allOfDepth(allOfDepth);
+        expected = generator.generate();
+        actual = generator.generate();
+    }
+
+    @Benchmark
+    public void resolveProperties(Blackhole blackhole) {
+        SchemaObjectResolver resolver = new SchemaObjectResolver(expected, actual);
+        for (Model definition : actual.getDefinitions().values()) {
+            blackhole.consume(resolver.resolvePropertiesFromActual(definition));
+        }
+    }
+
+    @Benchmark
+    public void fingerprint(Blackhole blackhole) {
+        SchemaObjectResolver resolver = new SchemaObjectResolver(expected, actual);
+        for (Path path : actual.getPaths().values()) {
+            blackhole.consume(resolver.actualFingerprint(path));
+        }
+        for (Model definition : actual.getDefinitions().values()) {
+            blackhole.consume(resolver.actualFingerprint(definition));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Yaml;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares reading a large YAML spec from disk with what a run does on a snapshot hit: hashing the file and loading
+ * the snapshot of its content from a {@link SwaggerSnapshotStore}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SwaggerSnapshotBenchmark {
+
+    @Param({"1000", "5000"})
+    public int size;
+
+    private Path workDirectory;
+    private File spec;
+    private SwaggerSnapshotStore snapshotStore;
+
+    @Setup
+    public void setUp() throws IOException {
+        workDirectory = Files.createTempDirectory("assertj-swagger-benchmark");
+        spec = workDirectory.resolve("large-swagger.yaml").toFile();
+        Yaml.mapper().writeValue(spec, new SyntheticSwaggerGenerator().paths(size).definitions(size).generate());
+        snapshotStore = new SwaggerSnapshotStore(workDirectory.resolve("snapshots"));
+        snapshotStore.store(SwaggerModelCache.hash(spec), new SwaggerParser().read(spec.getAbsolutePath()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(workDirectory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Swagger coldParse() {
+        return new SwaggerParser().read(spec.getAbsolutePath());
+    }
+
+    @Benchmark
+    public Swagger snapshotLoad() {
+        return snapshotStore.load(SwaggerModelCache.hash(spec));
+    }
+}
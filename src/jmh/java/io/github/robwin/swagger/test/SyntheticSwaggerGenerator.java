@@ -0,0 +1,240 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.ComposedModel;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Info;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.PathParameter;
+import io.swagger.models.parameters.QueryParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.BooleanProperty;
+import io.swagger.models.properties.DateTimeProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.LongProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic specs of a given shape for the benchmarks.
+ * <p>
+ * The generated spec only depends on the settings of the generator, so two specs generated with the same settings are
+ * equal, but don't share any objects. Every path is named {@code /resources<i>/{id}} and has up to five operations,
+ * whose query parameters and response schemas are picked by a {@link Random} seeded with {@link #seed(long)}. Every
+ * definition is named {@code Model<i>}; if the {@link #allOfDepth(int) allOf depth} is positive, definitions are
+ * chained by {@code allOf} references to the previous definition, so that resolving the last definition of a chain
+ * has to resolve {@code allOfDepth} ancestors.
+ * </p>
+ */
+final class SyntheticSwaggerGenerator {
+
+    private static final List<HttpMethod> METHODS = Arrays.asList(HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE, HttpMethod.PATCH);
+
+    private int paths = 100;
+    private int operationsPerPath = 3;
+    private int parametersPerOperation = 4;
+    private int definitions = 100;
+    private int propertiesPerDefinition = 8;
+    private int allOfDepth = 2;
+    private int enumSize = 8;
+    private long seed = 42L;
+
+    SyntheticSwaggerGenerator paths(int paths) {
+        this.paths = paths;
+        return this;
+    }
+
+    /**
+     * @param operationsPerPath the number of operations of every path, at most five
+     */
+    SyntheticSwaggerGenerator operationsPerPath(int operationsPerPath) {
+        if (operationsPerPath < 1 || operationsPerPath > METHODS.size()) {
+            throw new IllegalArgumentException("operationsPerPath must be between 1 and " + METHODS.size());
+        }
+        this.operationsPerPath = operationsPerPath;
+        return this;
+    }
+
+    /**
+     * @param parametersPerOperation the number of query parameters of every operation, in addition to the {@code id}
+     *                               path parameter and the body parameter of {@code POST}, {@code PUT} and {@code PATCH}
+     */
+    SyntheticSwaggerGenerator parametersPerOperation(int parametersPerOperation) {
+        this.parametersPerOperation = parametersPerOperation;
+        return this;
+    }
+
+    SyntheticSwaggerGenerator definitions(int definitions) {
+        this.definitions = definitions;
+        return this;
+    }
+
+    SyntheticSwaggerGenerator propertiesPerDefinition(int propertiesPerDefinition) {
+        this.propertiesPerDefinition = propertiesPerDefinition;
+        return this;
+    }
+
+    /**
+     * @param allOfDepth the number of {@code allOf} ancestors of the last definition of every chain, {@code 0} for no
+     *                   {@code allOf} definitions at all
+     */
+    SyntheticSwaggerGenerator allOfDepth(int allOfDepth) {
+        this.allOfDepth = allOfDepth;
+        return this;
+    }
+
+    /**
+     * @param enumSize the number of values of every enum property and parameter
+     */
+    SyntheticSwaggerGenerator enumSize(int enumSize) {
+        this.enumSize = enumSize;
+        return this;
+    }
+
+    SyntheticSwaggerGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    Swagger generate() {
+        Random random = new Random(seed);
+        Swagger swagger = new Swagger()
+                .info(new Info().title("Synthetic API").version("1.0.0"))
+                .host("localhost")
+                .basePath("/v1")
+                .consumes("application/json")
+                .produces("application/json");
+        for (int i = 0; i < definitions; i++) {
+            swagger.addDefinition(modelName(i), definition(i, random));
+        }
+        for (int i = 0; i < paths; i++) {
+            swagger.path("/resources" + i + "/{id}", path(i, random));
+        }
+        return swagger;
+    }
+
+    private Model definition(int index, Random random) {
+        // the level within the allOf chain, so that every definition of a chain adds properties of its own
+        int level = index % (allOfDepth + 1);
+        ModelImpl model = new ModelImpl().type(ModelImpl.OBJECT);
+        for (int i = 0; i < propertiesPerDefinition; i++) {
+            String propertyName = "level" + level + "Property" + i;
+            model.property(propertyName, property(index, i, random));
+            if (i % 3 == 0) {
+                model.required(propertyName);
+            }
+        }
+        if (level == 0) {
+            return model;
+        }
+        ComposedModel composedModel = new ComposedModel();
+        composedModel.setAllOf(new ArrayList<>(Arrays.asList(new RefModel(modelName(index - 1)), model)));
+        return composedModel;
+    }
+
+    private Property property(int definitionIndex, int propertyIndex, Random random) {
+        switch (random.nextInt(7)) {
+            case 0:
+                return new IntegerProperty();
+            case 1:
+                return new LongProperty();
+            case 2:
+                return new BooleanProperty();
+            case 3:
+                return new DateTimeProperty();
+            case 4:
+                return enumProperty("value" + propertyIndex);
+            case 5:
+                // only refer to earlier definitions, so that there are no cycles
+                return definitionIndex > 0 ? new RefProperty(modelName(random.nextInt(definitionIndex))) : new StringProperty();
+            default:
+                return new ArrayProperty(new StringProperty().maxLength(64));
+        }
+    }
+
+    private StringProperty enumProperty(String prefix) {
+        StringProperty property = new StringProperty();
+        property._enum(enumValues(prefix));
+        return property;
+    }
+
+    private Path path(int index, Random random) {
+        Path path = new Path();
+        for (int i = 0; i < operationsPerPath; i++) {
+            HttpMethod method = METHODS.get(i);
+            path.set(method.name().toLowerCase(), operation(index, method, random));
+        }
+        return path;
+    }
+
+    private Operation operation(int pathIndex, HttpMethod method, Random random) {
+        Operation operation = new Operation()
+                .operationId(method.name().toLowerCase() + "Resources" + pathIndex)
+                .tag("resources" + pathIndex % 10)
+                .summary(method + " resource " + pathIndex)
+                .parameter(new PathParameter().name("id").type("string").required(true));
+        for (int i = 0; i < parametersPerOperation; i++) {
+            QueryParameter parameter = new QueryParameter().name("param" + i);
+            if (random.nextBoolean()) {
+                parameter.setType("string");
+                parameter.setEnum(enumValues("option" + i));
+            } else {
+                parameter.setType("integer");
+                parameter.setFormat("int32");
+            }
+            operation.parameter(parameter);
+        }
+        if (definitions > 0 && (method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH)) {
+            operation.parameter(new BodyParameter().name("body").schema(new RefModel(modelName(random.nextInt(definitions)))));
+        }
+        Response response = new Response().description("Successful operation");
+        if (definitions > 0 && method != HttpMethod.DELETE) {
+            response.schema(new RefProperty(modelName(random.nextInt(definitions))));
+        }
+        return operation
+                .response(200, response)
+                .defaultResponse(new Response().description("Unexpected error"));
+    }
+
+    private List<String> enumValues(String prefix) {
+        List<String> values = new ArrayList<>(enumSize);
+        for (int i = 0; i < enumSize; i++) {
+            values.add(prefix + "_" + i);
+        }
+        return values;
+    }
+
+    private static String modelName(int index) {
+        return "Model" + index;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.StringProperty;
+import org.apache.commons.collections.CollectionUtils;
+import org.assertj.core.api.SoftAssertions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time and, with the {@code gc} profiler, the heap allocated by validating the properties of all
+ * definitions of a synthetic spec against an equal copy of itself, i.e. the cost of the checks when no differences are
+ * found.
+ * <p>
+ * {@link #softAssertions()} is the baseline: it does the checks the way the validators did before they reported to a
+ * {@link ViolationCollector}, with one soft assertion per check. {@link #violationCollector()} does the same checks
+ * through a {@link PropertyValidator}, which only builds an assertion when a comparison fails. The whole validation is
+ * measured by {@link ValidationBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationAllocationBenchmark {
+
+    private static final String[] BASIC_PROPERTIES = {"type", "format", "allowEmptyValue", "name", "required",
+        "readOnly", "access", "vendorExtensions"};
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private Swagger expected;
+    private Swagger actual;
+    private SwaggerAssertionConfig assertionConfig;
+
+    @Setup
+    public void setUp() {
+        // without allOf chains, so that the properties of every definition are its own
+        SyntheticSwaggerGenerator generator = new SyntheticSwaggerGenerator().definitions(size).allOfDepth(0);
+        expected = generator.generate();
+        actual = generator.generate();
+        assertionConfig = new SwaggerAssertionConfig();
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public List<Throwable> softAssertions() {
+        SoftAssertions softAssertions = new SoftAssertions();
+        for (Map.Entry<String, Model> definition : expected.getDefinitions().entrySet()) {
+            Map<String, Property> actualProperties = actual.getDefinitions().get(definition.getKey()).getProperties();
+            for (Map.Entry<String, Property> property : definition.getValue().getProperties().entrySet()) {
+                Property actualProperty = actualProperties.get(property.getKey());
+                Property expectedProperty = property.getValue();
+                String message = String.format("Checking property '%s' of definition '%s'", property.getKey(), definition.getKey());
+                softAssertions.assertThat(actualProperty).as(message).isExactlyInstanceOf(expectedProperty.getClass());
+                softAssertions.assertThat(actualProperty).as(message).isEqualToComparingOnlyGivenFields(expectedProperty, BASIC_PROPERTIES);
+                if (expectedProperty instanceof StringProperty && CollectionUtils.isNotEmpty(((StringProperty) expectedProperty).getEnum())) {
+                    softAssertions.assertThat(((StringProperty) actualProperty).getEnum()).hasSameElementsAs(((StringProperty) expectedProperty).getEnum());
+                }
+            }
+        }
+        return softAssertions.errorsCollected();
+    }
+
+    @Benchmark
+    public int violationCollector() {
+        ViolationCollector violations = new ViolationCollector();
+        PropertyValidator propertyValidator = new PropertyValidator(assertionConfig, violations);
+        for (Map.Entry<String, Model> definition : expected.getDefinitions().entrySet()) {
+            Map<String, Property> actualProperties = actual.getDefinitions().get(definition.getKey()).getProperties();
+            for (Map.Entry<String, Property> property : definition.getValue().getProperties().entrySet()) {
+                propertyValidator.validateProperty(actualProperties.get(property.getKey()), property.getValue(),
+                    CheckDescription.of(SwaggerAssertionType.PROPERTIES, ViolationLocation.ofDefinition(definition.getKey()).withProperty(property.getKey()),
+                        "Checking property '%s' of definition '%s'", property.getKey(), definition.getKey()));
+            }
+        }
+        return violations.getViolationCount();
+    }
+}
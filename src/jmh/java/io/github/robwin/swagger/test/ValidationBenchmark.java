@@ -0,0 +1,79 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures validating a synthetic spec against an equal copy of itself, i.e. the cost of the validation when no
+ * differences are found. With {@code skipIdenticalSubtrees=false} every path and definition is compared, otherwise
+ * they are skipped by their fingerprints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean skipIdenticalSubtrees;
+
+    private Swagger expected;
+    private Swagger actual;
+    private SwaggerAssertionConfig assertionConfig;
+
+    @Setup
+    public void setUp() {
+        SyntheticSwaggerGenerator generator = new SyntheticSwaggerGenerator().paths(size).definitions(size);
+        expected = generator.generate();
+        actual = generator.generate();
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.skipIdenticalSubtrees", String.valueOf(skipIdenticalSubtrees));
+        assertionConfig = new SwaggerAssertionConfig(props);
+    }
+
+    @Benchmark
+    public void documentationDriven() {
+        new DocumentationDrivenValidator(actual, assertionConfig).validateSwagger(expected, new SchemaObjectResolver(expected, actual));
+    }
+
+    @Benchmark
+    public void consumerDriven() {
+        new ConsumerDrivenValidator(actual, assertionConfig).validateSwagger(expected, new SchemaObjectResolver(expected, actual));
+    }
+}
@@ -20,10 +20,12 @@ package io.github.robwin.swagger.test;
 
 import io.swagger.models.Path;
 import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Offers functionality shared across concrete validator implementations.
@@ -40,6 +42,10 @@ public abstract class AbstractContractValidator implements ContractValidator {
      * @return expected paths
      */
     protected Map<String, Path> findExpectedPaths(Swagger expected, SwaggerAssertionConfig assertionConfig) {
+        return expectedPaths(expected, assertionConfig);
+    }
+
+    static Map<String, Path> expectedPaths(Swagger expected, SwaggerAssertionConfig assertionConfig) {
         String pathsPrependExpected = assertionConfig.getPathsPrependExpected();
         String basePath = expected.getBasePath();
         if (StringUtils.isBlank(pathsPrependExpected) && isBlankOrSlash(basePath)) {
@@ -66,19 +72,58 @@ public abstract class AbstractContractValidator implements ContractValidator {
      * @return paths including base path
      */
     protected Map<String, Path> getPathsIncludingBasePath(Swagger actual) {
+        return pathsIncludingBasePath(actual);
+    }
+
+    static Map<String, Path> pathsIncludingBasePath(Swagger actual) {
         String basePath = actual.getBasePath();
         return isBlankOrSlash(basePath) ?
                 actual.getPaths() :
                 getPathsWithPrefix(actual, basePath);
     }
 
-    private Map<String, Path> getPathsWithPrefix(Swagger swagger, String prefix) {
-        return swagger.getPaths().entrySet().stream().collect(Collectors.toMap(
-                e -> prefix + e.getKey(),
-                e -> e.getValue()));
+    /**
+     * Indexes parameters by their {@link #parameterUniqueKey(Parameter) unique key}.
+     *
+     * @param parameters the parameters of an operation
+     * @return a mutable map from unique key to parameter
+     */
+    protected Map<String, Parameter> indexByUniqueKey(List<Parameter> parameters) {
+        Map<String, Parameter> parametersByKey = new HashMap<>();
+        for (final Parameter parameter : parameters) {
+            parametersByKey.put(parameterUniqueKey(parameter), parameter);
+        }
+        return parametersByKey;
+    }
+
+    /**
+     * Generates a unique key for a parameter.
+     * <p>
+     * From <a href="https://github.com/OAI/OpenAPI-Specification/blob/master/versions/2.0.md#parameterObject" target="_top">OpenAPI Specification</a>
+     * "A unique parameter is defined by a combination of a name and location."
+     *
+     * @param parameter the parameter to generate a unique key for
+     * @return a unique key based on name and location ({@link Parameter#getIn()})
+     */
+    protected String parameterUniqueKey(Parameter parameter) {
+        return parameter.getName() + parameter.getIn();
+    }
+
+    /**
+     * @param kind     the kind of the validation
+     * @param expected the expected schema
+     * @return the name of the validation, as passed to {@link ViolationSink#validationStarted(String)}
+     */
+    static String validationName(String kind, Swagger expected) {
+        String title = expected.getInfo() != null ? expected.getInfo().getTitle() : null;
+        return kind + ": " + (StringUtils.isNotBlank(title) ? title : "untitled schema");
+    }
+
+    private static Map<String, Path> getPathsWithPrefix(Swagger swagger, String prefix) {
+        return MapViews.withKeyPrefix(swagger.getPaths(), prefix);
     }
 
-    private boolean isBlankOrSlash(String basePath) {
+    private static boolean isBlankOrSlash(String basePath) {
         return StringUtils.isBlank(basePath) || basePath.equals("/");
     }
 }
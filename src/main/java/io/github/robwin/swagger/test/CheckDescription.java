@@ -0,0 +1,94 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import org.assertj.core.description.Description;
+import org.assertj.core.description.TextDescription;
+
+/**
+ * The description of a check, which also tells the {@link SwaggerAssertionType} of the check and the
+ * {@link ViolationLocation} it applies to, so that a violation can be reported as a structured {@link SwaggerViolation}.
+ * Like a {@link TextDescription}, it is only formatted when a violation is recorded. An
+ * {@link #undescribed(SwaggerAssertionType, ViolationLocation) undescribed} check has no text, so that its violations
+ * keep the plain AssertJ message.
+ */
+final class CheckDescription extends TextDescription {
+
+    private final SwaggerAssertionType assertionType;
+    private final ViolationLocation location;
+    private final String format;
+    private final Object[] args;
+    private final boolean described;
+
+    private CheckDescription(SwaggerAssertionType assertionType, ViolationLocation location, boolean described, String format, Object... args) {
+        super(format, args);
+        this.assertionType = assertionType;
+        this.location = location;
+        this.described = described;
+        this.format = format;
+        this.args = args;
+    }
+
+    static CheckDescription of(SwaggerAssertionType assertionType, ViolationLocation location, String format, Object... args) {
+        return new CheckDescription(assertionType, location, true, format, args);
+    }
+
+    /**
+     * @return the description of a check without text
+     */
+    static CheckDescription undescribed(SwaggerAssertionType assertionType, ViolationLocation location) {
+        return new CheckDescription(assertionType, location, false, "");
+    }
+
+    /**
+     * @return a description without text, but with the location of the given description if it is a
+     * {@code CheckDescription}
+     */
+    static CheckDescription undescribed(Description description, SwaggerAssertionType assertionType) {
+        ViolationLocation location = description instanceof CheckDescription ? ((CheckDescription) description).location : ViolationLocation.NONE;
+        return undescribed(assertionType, location);
+    }
+
+    /**
+     * @return {@code true} if the given description has text
+     */
+    static boolean isDescribed(Description description) {
+        return description != null && (!(description instanceof CheckDescription) || ((CheckDescription) description).described);
+    }
+
+    /**
+     * @return a description with the same text and location, but the given assertion type, or the given description
+     * if it isn't a {@code CheckDescription}
+     */
+    static Description withAssertionType(Description description, SwaggerAssertionType assertionType) {
+        if (!(description instanceof CheckDescription)) {
+            return description;
+        }
+        CheckDescription checkDescription = (CheckDescription) description;
+        return new CheckDescription(assertionType, checkDescription.location, checkDescription.described, checkDescription.format, checkDescription.args);
+    }
+
+    SwaggerAssertionType getAssertionType() {
+        return assertionType;
+    }
+
+    ViolationLocation getLocation() {
+        return location;
+    }
+}
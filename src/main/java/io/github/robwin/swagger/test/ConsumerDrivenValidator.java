@@ -36,197 +36,450 @@ import io.swagger.models.parameters.PathParameter;
 import io.swagger.models.parameters.QueryParameter;
 import io.swagger.models.parameters.RefParameter;
 import io.swagger.models.properties.Property;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
-import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.AssertionErrorCollector;
+import org.assertj.core.description.Description;
 
 /**
  * Created by raceconditions on 3/17/16.
  */
 class ConsumerDrivenValidator extends AbstractContractValidator {
 
+    private static final int DEFINITIONS_PER_TASK = 32;
+
     private SwaggerAssertionConfig assertionConfig;
-    private SoftAssertions softAssertions;
+    private ViolationCollector violations;
     private PropertyValidator propertyValidator;
 
     private Swagger actual;
     private SchemaObjectResolver schemaObjectResolver;   // provide means to fall back from local to global properties
+    private ContractPlan plan;
+    private ValidationBaseline baseline;
+    private IncrementalValidation incrementalValidation;
+    private ValidationMetrics metrics;
 
     ConsumerDrivenValidator(Swagger actual, SwaggerAssertionConfig assertionConfig) {
+        this(actual, assertionConfig, ValidationMetrics.serviceListeners(), Collections.emptyList());
+    }
+
+    ConsumerDrivenValidator(Swagger actual, SwaggerAssertionConfig assertionConfig, List<ValidationListener> listeners, List<ViolationSink> sinks) {
         this.actual = actual;
         this.assertionConfig = assertionConfig;
-        softAssertions = new SoftAssertions();
-        propertyValidator = new PropertyValidator(assertionConfig, softAssertions);
+        metrics = ValidationMetrics.of(listeners);
+        violations = new ViolationCollector(sinks, assertionConfig.getMaxRetainedViolations(), assertionConfig.isFailFast(), metrics);
+        propertyValidator = new PropertyValidator(assertionConfig, violations);
+        baseline = ValidationBaseline.of(assertionConfig);
+    }
+
+    /**
+     * Creates a validator which shares the models and the configuration of the given validator but collects its errors
+     * in the given collector, so that it can be confined to a single worker thread.
+     */
+    private ConsumerDrivenValidator(ConsumerDrivenValidator parent, AssertionErrorCollector errorCollector) {
+        this.actual = parent.actual;
+        this.assertionConfig = parent.assertionConfig;
+        this.schemaObjectResolver = parent.schemaObjectResolver;
+        this.plan = parent.plan;
+        this.incrementalValidation = parent.incrementalValidation;
+        this.metrics = parent.metrics;
+        violations = new ViolationCollector(errorCollector, metrics);
+        propertyValidator = new PropertyValidator(assertionConfig, violations);
+    }
+
+    /**
+     * Validates the actual schema against several contracts at once. The contracts are compiled and validated in
+     * parallel on the given executor, each by its own validator, sharing the index of the actual schema, the baseline
+     * and the listeners. Paths and definitions validated in parallel are split into chunks on the fork/join pool of the
+     * executor, if it is one, and on the common pool otherwise. Each
+     * validator passes its violations to the sinks as soon as they are found, prefixed with the name of its consumer;
+     * the sinks are told once that the validation starts, named after the consumers, and once that it is finished,
+     * after all contracts are validated.
+     *
+     * @param actualIndex        the index of the actual schema
+     * @param expectedByConsumer the contracts by the name of their consumer
+     * @param assertionConfig    assertion configuration
+     * @param listeners          the listeners to report the validation of every contract to
+     * @param sinks              the sinks to pass the violations of every contract to
+     * @param executor           the executor to validate the contracts on
+     * @return the violations of every contract
+     */
+    static ContractReport validateContracts(SchemaIndex actualIndex, Map<String, Swagger> expectedByConsumer, SwaggerAssertionConfig assertionConfig,
+                                            List<ValidationListener> listeners, List<ViolationSink> sinks, Executor executor) {
+        List<Map.Entry<String, Swagger>> contracts = new ArrayList<>(expectedByConsumer.entrySet());
+        List<ConsumerDrivenValidator> validators = new ArrayList<>();
+        for (Map.Entry<String, Swagger> contract : contracts) {
+            validators.add(new ConsumerDrivenValidator(actualIndex.getSwagger(), assertionConfig, listeners, consumerSinks(contract.getKey(), sinks)));
+        }
+        for (ViolationSink sink : sinks) {
+            sink.validationStarted("consumer-driven: " + String.join(", ", expectedByConsumer.keySet()));
+        }
+        List<CompletableFuture<List<AssertionError>>> validations = new ArrayList<>();
+        for (int i = 0; i < contracts.size(); i++) {
+            ConsumerDrivenValidator validator = validators.get(i);
+            Swagger expected = contracts.get(i).getValue();
+            validations.add(CompletableFuture.supplyAsync(() -> validator.validateContract(expected, actualIndex), executor));
+        }
+        List<List<AssertionError>> violationsByContract = new ArrayList<>();
+        for (CompletableFuture<List<AssertionError>> validation : validations) {
+            violationsByContract.add(SwaggerAssertions.join(validation));
+        }
+        ValidationBaseline baseline = ValidationBaseline.of(assertionConfig);
+        if (baseline != null) {
+            baseline.flush();
+        }
+        int violationCount = 0;
+        for (ConsumerDrivenValidator validator : validators) {
+            violationCount += validator.violations.getViolationCount();
+        }
+        for (ViolationSink sink : sinks) {
+            sink.validationFinished(violationCount);
+        }
+        Map<String, List<AssertionError>> report = new LinkedHashMap<>();
+        for (int i = 0; i < contracts.size(); i++) {
+            report.put(contracts.get(i).getKey(), violationsByContract.get(i));
+        }
+        return new ContractReport(report);
     }
 
     @Override
     public void validateSwagger(Swagger expected, SchemaObjectResolver schemaObjectResolver) {
-        this.schemaObjectResolver = schemaObjectResolver;
+        resolveDefinitions(schemaObjectResolver.getExpectedIndex(), schemaObjectResolver.getActualIndex());
+        ContractPlan plan = metrics.measure(ValidationPhase.PLANNING, () -> ContractPlan.compile(schemaObjectResolver.getExpectedIndex(), assertionConfig));
+        validateContract(plan, schemaObjectResolver);
+    }
 
-        validateInfo(actual.getInfo(), expected.getInfo());
+    /**
+     * Validates the actual schema against a compiled contract, which must have been compiled with the configuration of
+     * this validator.
+     *
+     * @param plan        the compiled contract
+     * @param actualIndex the index of the actual schema
+     */
+    void validateContract(ContractPlan plan, SchemaIndex actualIndex) {
+        resolveDefinitions(actualIndex);
+        validateContract(plan, new SchemaObjectResolver(plan.getExpectedIndex(), actualIndex));
+    }
 
-        // Check Paths
-        if (isAssertionEnabled(SwaggerAssertionType.PATHS)) {
-            final Set<String> filter = assertionConfig.getPathsToIgnoreInExpected();
-            final Map<String, Path> expectedPaths = findExpectedPaths(expected, assertionConfig);
-            final Map<String, Path> actualPaths = getPathsIncludingBasePath(actual);
-            validatePaths(actualPaths, removeAllFromMap(expectedPaths, filter));
+    private void validateContract(ContractPlan plan, SchemaObjectResolver schemaObjectResolver) {
+        violations.start(validationName("consumer-driven", plan.getExpected()));
+        collectViolations(plan, schemaObjectResolver);
+        violations.finish();
+        violations.assertAll();
+    }
+
+    /**
+     * Validates a contract of a batch, without failing on its violations. The sinks are not told that the validation
+     * is finished, since the batch is not.
+     *
+     * @return the retained violations, followed by a summary of the others if there are any
+     */
+    private List<AssertionError> validateContract(Swagger expected, SchemaIndex actualIndex) {
+        return collectViolations(expected, actualIndex);
+    }
+
+    /**
+     * @return the message of a violation of the contract of the given consumer
+     */
+    static String consumerMessage(String consumer, String message) {
+        return String.format("[Consumer '%s'] %s", consumer, message);
+    }
+
+    /**
+     * @return sinks which pass the violations of the contract of the given consumer on to the given sinks, prefixed
+     * with the name of the consumer
+     */
+    private static List<ViolationSink> consumerSinks(String consumer, List<ViolationSink> sinks) {
+        List<ViolationSink> consumerSinks = new ArrayList<>();
+        for (ViolationSink sink : sinks) {
+            consumerSinks.add(violation -> sink.violationFound(ViolationCollector.violationOf(
+                    ViolationCollector.withMessage(violation.getError(), consumerMessage(consumer, violation.getMessage())))));
         }
+        return consumerSinks;
+    }
+
+    private List<AssertionError> collectViolations(Swagger expected, SchemaIndex actualIndex) {
+        SchemaIndex expectedIndex = new SchemaIndex(expected);
+        resolveDefinitions(expectedIndex, actualIndex);
+        ContractPlan plan = metrics.measure(ValidationPhase.PLANNING, () -> ContractPlan.compile(expectedIndex, assertionConfig));
+        return collectViolations(plan, new SchemaObjectResolver(plan.getExpectedIndex(), actualIndex));
+    }
+
+    private List<AssertionError> collectViolations(ContractPlan plan, SchemaObjectResolver schemaObjectResolver) {
+        this.plan = plan;
+        this.schemaObjectResolver = schemaObjectResolver;
+        this.incrementalValidation = new IncrementalValidation("consumer-driven", assertionConfig, schemaObjectResolver, baseline);
+        long validationStartTime = metrics.phaseStarted(ValidationPhase.VALIDATION);
+        final Map<String, Path> actualPaths = schemaObjectResolver.getActualPathsIncludingBasePath();
+
+        try {
+            validateInfo(actual.getInfo(), plan.getExpected().getInfo());
+
+            // In fail-fast mode, compare the key sets before validating any path or definition in depth
+            boolean comparePathEntries = false;
+            boolean compareDefinitionEntries = false;
+            if (assertionConfig.isFailFast()) {
+                if (isAssertionEnabled(SwaggerAssertionType.PATHS)) {
+                    comparePathEntries = validatePathKeys(actualPaths, plan.getExpectedPaths());
+                }
+                if (isAssertionEnabled(SwaggerAssertionType.DEFINITIONS)) {
+                    compareDefinitionEntries = validateDefinitionKeys(actual.getDefinitions(), plan.getExpectedDefinitions());
+                }
+            }
+
+            // Check Paths
+            if (isAssertionEnabled(SwaggerAssertionType.PATHS)) {
+                long startTime = metrics.phaseStarted(ValidationPhase.PATHS);
+                if (!assertionConfig.isFailFast()) {
+                    comparePathEntries = validatePathKeys(actualPaths, plan.getExpectedPaths());
+                }
+                if (comparePathEntries) {
+                    validatePaths(actualPaths, plan.getExpectedPaths());
+                }
+                metrics.phaseFinished(ValidationPhase.PATHS, startTime);
+            }
 
-        // Check Definitions
-        if (isAssertionEnabled(SwaggerAssertionType.DEFINITIONS)) {
-            final Set<String> filter = assertionConfig.getDefinitionsToIgnoreInExpected();
-            validateDefinitions(actual.getDefinitions(), removeAllFromMap(expected.getDefinitions(), filter));
+            // Check Definitions
+            if (isAssertionEnabled(SwaggerAssertionType.DEFINITIONS)) {
+                long startTime = metrics.phaseStarted(ValidationPhase.DEFINITIONS);
+                if (!assertionConfig.isFailFast()) {
+                    compareDefinitionEntries = validateDefinitionKeys(actual.getDefinitions(), plan.getExpectedDefinitions());
+                }
+                if (compareDefinitionEntries) {
+                    validateDefinitions(actual.getDefinitions(), plan.getExpectedDefinitions());
+                }
+                metrics.phaseFinished(ValidationPhase.DEFINITIONS, startTime);
+            }
+        } catch (ViolationCollector.ValidationAbortedException e) {
+            // fail-fast: the first violation has been collected
         }
 
-        softAssertions.assertAll();
+        metrics.phaseFinished(ValidationPhase.VALIDATION, validationStartTime);
+        metrics.reportChecks();
+        return violations.assertionErrorsCollected();
     }
 
 
+    /**
+     * Resolves the properties of the definitions as a phase of its own, before they are needed by the planning or the
+     * validation.
+     */
+    private void resolveDefinitions(SchemaIndex... indexes) {
+        if (assertionConfig.swaggerAssertionEnabled(SwaggerAssertionType.DEFINITIONS)) {
+            long startTime = metrics.phaseStarted(ValidationPhase.RESOLUTION);
+            for (SchemaIndex index : indexes) {
+                index.getPropertyResolver().resolve();
+            }
+            metrics.phaseFinished(ValidationPhase.RESOLUTION, startTime);
+        }
+    }
+
     private void validateInfo(Info actualInfo, Info expectedInfo) {
 
         // Version.  OFF by default.
         if (isAssertionEnabled(SwaggerAssertionType.VERSION)) {
-            softAssertions.assertThat(actualInfo.getVersion()).as("Checking Version").isEqualTo(expectedInfo.getVersion());
+            violations.assertEqual(actualInfo.getVersion(), expectedInfo.getVersion(), CheckDescription.of(SwaggerAssertionType.VERSION, ViolationLocation.NONE, "Checking Version"));
         }
 
         // Everything (but potentially brittle, therefore OFF by default)
         if (isAssertionEnabled(SwaggerAssertionType.INFO)) {
-            softAssertions.assertThat(actualInfo).as("Checking Info").isEqualToComparingFieldByField(expectedInfo);
+            violations.assertEqualComparingFieldByField(actualInfo, expectedInfo, CheckDescription.of(SwaggerAssertionType.INFO, ViolationLocation.NONE, "Checking Info"));
         }
     }
 
+    /**
+     * Compares the paths one by one, once their key sets have been checked.
+     */
     private void validatePaths(Map<String, Path> actualPaths, Map<String, Path> expectedPaths) {
+        for (Map.Entry<String, Path> actualPathEntry : actualPaths.entrySet()) {
+            Path expectedPath = expectedPaths.get(actualPathEntry.getKey());
+            Path actualPath = actualPathEntry.getValue();
+            String pathName = actualPathEntry.getKey();
+            validatePath(pathName, actualPath, expectedPath);
+        }
+    }
+
+    /**
+     * @return {@code true} if the paths have to be compared one by one
+     */
+    private boolean validatePathKeys(Map<String, Path> actualPaths, Map<String, Path> expectedPaths) {
         if (MapUtils.isNotEmpty(expectedPaths)) {
-            softAssertions.assertThat(actualPaths).as("Checking Paths").isNotEmpty();
+            violations.assertNotEmpty(actualPaths, CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.NONE, "Checking Paths"));
             if (MapUtils.isNotEmpty(actualPaths)) {
-                softAssertions.assertThat(actualPaths.keySet()).as("Checking Paths").containsAll(expectedPaths.keySet());
-                for (Map.Entry<String, Path> actualPathEntry : actualPaths.entrySet()) {
-                    Path expectedPath = expectedPaths.get(actualPathEntry.getKey());
-                    Path actualPath = actualPathEntry.getValue();
-                    String pathName = actualPathEntry.getKey();
-                    validatePath(pathName, actualPath, expectedPath);
-                }
+                violations.assertContainsKeys(actualPaths.keySet(), expectedPaths.keySet(), CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.NONE, "Checking Paths"));
+                return true;
             }
         } else {
-            softAssertions.assertThat(actualPaths).as("Checking Paths").isNullOrEmpty();
+            violations.assertNullOrEmpty(actualPaths, CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.NONE, "Checking Paths"));
         }
+        return false;
     }
 
+    /**
+     * Compares the definitions one by one, once their key sets have been checked.
+     */
     private void validateDefinitions(Map<String, Model> actualDefinitions, Map<String, Model> expectedDefinitions) {
+        if (assertionConfig.isParallelValidation()) {
+            validateDefinitionsInParallel(actualDefinitions, expectedDefinitions);
+        } else {
+            validateDefinitionEntries(actualDefinitions, expectedDefinitions.entrySet());
+        }
+    }
+
+    /**
+     * @return {@code true} if the definitions have to be compared one by one
+     */
+    private boolean validateDefinitionKeys(Map<String, Model> actualDefinitions, Map<String, Model> expectedDefinitions) {
         if (MapUtils.isNotEmpty(expectedDefinitions)) {
-            softAssertions.assertThat(actualDefinitions).as("Checking Definitions").isNotEmpty();
+            violations.assertNotEmpty(actualDefinitions, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.NONE, "Checking Definitions"));
             if (MapUtils.isNotEmpty(actualDefinitions)) {
-                softAssertions.assertThat(actualDefinitions.keySet()).as("Checking Definitions").containsAll(expectedDefinitions.keySet());
-                for (Map.Entry<String, Model> expectedDefinitionEntry : expectedDefinitions.entrySet()) {
-                    Model expectedDefinition = expectedDefinitionEntry.getValue();
-                    Model actualDefinition = actualDefinitions.get(expectedDefinitionEntry.getKey());
-                    String definitionName = expectedDefinitionEntry.getKey();
-                    validateDefinition(definitionName, actualDefinition, expectedDefinition);
-                }
+                violations.assertContainsKeys(actualDefinitions.keySet(), expectedDefinitions.keySet(), CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.NONE, "Checking Definitions"));
+                return true;
             }
         }
+        return false;
+    }
+
+    private void validateDefinitionEntries(Map<String, Model> actualDefinitions, Iterable<Map.Entry<String, Model>> expectedDefinitionEntries) {
+        for (Map.Entry<String, Model> expectedDefinitionEntry : expectedDefinitionEntries) {
+            Model expectedDefinition = expectedDefinitionEntry.getValue();
+            Model actualDefinition = actualDefinitions.get(expectedDefinitionEntry.getKey());
+            String definitionName = expectedDefinitionEntry.getKey();
+            validateDefinition(definitionName, actualDefinition, expectedDefinition);
+        }
+    }
+
+    private void validateDefinitionsInParallel(Map<String, Model> actualDefinitions, Map<String, Model> expectedDefinitions) {
+        ForkJoinValidationTask.validate(expectedDefinitions.entrySet(), DEFINITIONS_PER_TASK, violations::workerCollector,
+                (chunk, errorCollector) -> new ConsumerDrivenValidator(this, errorCollector).validateDefinitionEntries(actualDefinitions, chunk))
+            .forEach(violations::merge);
     }
 
     private void validatePath(String pathName, Path actualPath, Path expectedPath) {
         if (expectedPath != null) {
-            softAssertions.assertThat(actualPath.getOperations().size()).as("Checking number of operations of path '%s'", pathName).isGreaterThanOrEqualTo(expectedPath.getOperations().size());
-            validateOperation(actualPath.getGet(), expectedPath.getGet(), pathName, "GET");
-            validateOperation(actualPath.getDelete(), expectedPath.getDelete(), pathName, "DELETE");
-            validateOperation(actualPath.getPost(), expectedPath.getPost(), pathName, "POST");
-            validateOperation(actualPath.getPut(), expectedPath.getPut(), pathName, "PUT");
-            validateOperation(actualPath.getPatch(), expectedPath.getPatch(), pathName, "PATCH");
-            validateOperation(actualPath.getOptions(), expectedPath.getOptions(), pathName, "OPTIONS");
+            FlightRecorderEvent event = FlightRecorderEvent.pathValidation(pathName);
+            long startTime = metrics.startTime();
+            int violationCount = violations.getViolationCount();
+            int checks = incrementalValidation.validatePath(pathName, actualPath, expectedPath, violations, errorCollector -> {
+                ConsumerDrivenValidator validator = new ConsumerDrivenValidator(this, errorCollector);
+                validator.validateOperations(pathName, actualPath, expectedPath);
+                return validator.violations.getCheckCount();
+            });
+            metrics.pathValidated(pathName, checks, startTime);
+            event.commitValidated(checks, violations.getViolationCount() - violationCount);
         }
     }
 
+    private void validateOperations(String pathName, Path actualPath, Path expectedPath) {
+        violations.assertGreaterThanOrEqualTo(actualPath.getOperations().size(), expectedPath.getOperations().size(), CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofPath(pathName), "Checking number of operations of path '%s'", pathName));
+        validateOperation(actualPath.getGet(), expectedPath.getGet(), pathName, "GET");
+        validateOperation(actualPath.getDelete(), expectedPath.getDelete(), pathName, "DELETE");
+        validateOperation(actualPath.getPost(), expectedPath.getPost(), pathName, "POST");
+        validateOperation(actualPath.getPut(), expectedPath.getPut(), pathName, "PUT");
+        validateOperation(actualPath.getPatch(), expectedPath.getPatch(), pathName, "PATCH");
+        validateOperation(actualPath.getOptions(), expectedPath.getOptions(), pathName, "OPTIONS");
+    }
+
     private void validateDefinition(String definitionName, Model actualDefinition, Model expectedDefinition) {
         if (expectedDefinition != null && actualDefinition != null) {
-            validateModel(actualDefinition, expectedDefinition, String.format("Checking model of definition '%s", definitionName));
-            validateDefinitionProperties(schemaObjectResolver.resolvePropertiesFromActual(actualDefinition),
-                                         schemaObjectResolver.resolvePropertiesFromExpected(expectedDefinition),
-                                         definitionName);
-
-            if (expectedDefinition instanceof ModelImpl && actualDefinition instanceof ModelImpl) {
-                validateDefinitionRequiredProperties(((ModelImpl) actualDefinition).getRequired(),
-                                                     ((ModelImpl) expectedDefinition).getRequired(),
-                                                       definitionName);
-            }
+            FlightRecorderEvent event = FlightRecorderEvent.definitionValidation(definitionName);
+            long startTime = metrics.startTime();
+            int violationCount = violations.getViolationCount();
+            int checks = incrementalValidation.validateDefinition(definitionName, actualDefinition, expectedDefinition, violations, errorCollector -> {
+                ConsumerDrivenValidator validator = new ConsumerDrivenValidator(this, errorCollector);
+                validator.validateDefinitionContent(definitionName, actualDefinition, expectedDefinition);
+                return validator.violations.getCheckCount();
+            });
+            metrics.definitionValidated(definitionName, checks, startTime);
+            event.commitValidated(checks, violations.getViolationCount() - violationCount);
+        }
+    }
+
+    private void validateDefinitionContent(String definitionName, Model actualDefinition, Model expectedDefinition) {
+        validateModel(actualDefinition, expectedDefinition, CheckDescription.of(SwaggerAssertionType.MODELS, ViolationLocation.ofDefinition(definitionName), "Checking model of definition '%s", definitionName));
+        validateDefinitionProperties(schemaObjectResolver.resolvePropertiesFromActual(actualDefinition),
+                                     plan.getExpectedProperties(definitionName),
+                                     definitionName);
+
+        if (expectedDefinition instanceof ModelImpl && actualDefinition instanceof ModelImpl) {
+            validateDefinitionRequiredProperties(((ModelImpl) actualDefinition).getRequired(), definitionName);
         }
     }
 
-    private void validateDefinitionRequiredProperties(List<String> actualRequiredProperties, List<String> expectedRequiredProperties, String definitionName) {
-        if (CollectionUtils.isNotEmpty(expectedRequiredProperties)) {
-            softAssertions.assertThat(actualRequiredProperties).as("Checking required properties of definition '%s'", definitionName).isNotEmpty();
+    private void validateDefinitionRequiredProperties(List<String> actualRequiredProperties, String definitionName) {
+        final Set<String> filteredExpectedProperties = plan.getCheckedRequiredPropertyNames(definitionName);
+        if (filteredExpectedProperties != null) {
+            violations.assertNotEmpty(actualRequiredProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking required properties of definition '%s'", definitionName));
             if (CollectionUtils.isNotEmpty(actualRequiredProperties)) {
-                final Set<String> filteredExpectedProperties = filterWhitelistedPropertyNames(definitionName, new HashSet<>(expectedRequiredProperties));
-                softAssertions.assertThat(actualRequiredProperties).as("Checking required properties of definition '%s'", definitionName).hasSameElementsAs(filteredExpectedProperties);
+                violations.assertSameKeys(actualRequiredProperties, filteredExpectedProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking required properties of definition '%s'", definitionName));
             }
         } else {
-            softAssertions.assertThat(actualRequiredProperties).as("Checking required properties of definition '%s'", definitionName).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualRequiredProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking required properties of definition '%s'", definitionName));
         }
     }
 
-    private void validateModel(Model actualDefinition, Model expectedDefinition, String message) {
+    private void validateModel(Model actualDefinition, Model expectedDefinition, Description message) {
         if (isAssertionEnabled(SwaggerAssertionType.MODELS)) {
             if (expectedDefinition instanceof ModelImpl) {
                 // TODO Validate ModelImpl
-                softAssertions.assertThat(actualDefinition).as(message).isExactlyInstanceOf(ModelImpl.class);
+                violations.assertExactlyInstanceOf(actualDefinition, ModelImpl.class, message);
             } else if (expectedDefinition instanceof RefModel) {
                 // TODO Validate RefModel
-                softAssertions.assertThat(actualDefinition).as(message).isExactlyInstanceOf(RefModel.class);
+                violations.assertExactlyInstanceOf(actualDefinition, RefModel.class, message);
             } else if (expectedDefinition instanceof ArrayModel) {
                 ArrayModel arrayModel = (ArrayModel) expectedDefinition;
                 // TODO Validate ArrayModel
-                softAssertions.assertThat(actualDefinition).as(message).isExactlyInstanceOf(ArrayModel.class);
+                violations.assertExactlyInstanceOf(actualDefinition, ArrayModel.class, message);
             } else {
                 // TODO Validate all model types
-                softAssertions.assertThat(actualDefinition).isExactlyInstanceOf(expectedDefinition.getClass());
+                violations.assertExactlyInstanceOf(actualDefinition, expectedDefinition.getClass(), CheckDescription.undescribed(message, SwaggerAssertionType.MODELS));
             }
         }
     }
 
     private void validateDefinitionProperties(Map<String, Property> actualDefinitionProperties, Map<String, Property> expectedDefinitionProperties, String definitionName) {
         if (MapUtils.isNotEmpty(expectedDefinitionProperties)) {
-            softAssertions.assertThat(actualDefinitionProperties).as("Checking properties of definition '%s", definitionName).isNotEmpty();
+            violations.assertNotEmpty(actualDefinitionProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking properties of definition '%s", definitionName));
             if (MapUtils.isNotEmpty(actualDefinitionProperties)) {
-                final Set<String> filteredExpectedProperties = filterWhitelistedPropertyNames(definitionName, expectedDefinitionProperties.keySet());
-                softAssertions.assertThat(actualDefinitionProperties.keySet()).as("Checking properties of definition '%s'", definitionName).containsAll(filteredExpectedProperties);
+                final Set<String> filteredExpectedProperties = plan.getCheckedPropertyNames(definitionName);
+                violations.assertContainsKeys(actualDefinitionProperties.keySet(), filteredExpectedProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking properties of definition '%s'", definitionName));
                 for (Map.Entry<String, Property> expectedDefinitionPropertyEntry : expectedDefinitionProperties.entrySet()) {
                     Property expectedDefinitionProperty = expectedDefinitionPropertyEntry.getValue();
                     Property actualDefinitionProperty = actualDefinitionProperties.get(expectedDefinitionPropertyEntry.getKey());
                     String propertyName = expectedDefinitionPropertyEntry.getKey();
-                    validateProperty(actualDefinitionProperty, expectedDefinitionProperty, String.format("Checking property '%s' of definition '%s'", propertyName, definitionName));
+                    validateProperty(actualDefinitionProperty, expectedDefinitionProperty, CheckDescription.of(SwaggerAssertionType.PROPERTIES, ViolationLocation.ofDefinition(definitionName).withProperty(propertyName), "Checking property '%s' of definition '%s'", propertyName, definitionName));
                 }
             }
         } else {
-            softAssertions.assertThat(actualDefinitionProperties).as("Checking properties of definition '%s", definitionName).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualDefinitionProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking properties of definition '%s", definitionName));
         }
     }
 
-    private void validateProperty(Property actualProperty, Property expectedProperty, String message) {
+    private void validateProperty(Property actualProperty, Property expectedProperty, Description message) {
         propertyValidator.validateProperty(actualProperty, expectedProperty, message);
     }
 
     private void validateOperation(Operation actualOperation, Operation expectedOperation, String path, String httpMethod) {
-        String message = String.format("Checking '%s' operation of path '%s'", httpMethod, path);
+        Description message = CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod), "Checking '%s' operation of path '%s'", httpMethod, path);
         if (expectedOperation != null) {
             if (actualOperation != null) {
-                softAssertions.assertThat(actualOperation).as(message).isNotNull();
+                violations.assertNotNull(actualOperation, message);
                 //Validate consumes
                 validateList(schemaObjectResolver.getActualConsumes(actualOperation),
                         schemaObjectResolver.getExpectedConsumes(expectedOperation),
-                        String.format("Checking '%s' of '%s' operation of path '%s'", "consumes", httpMethod, path));
+                        CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod), "Checking '%s' of '%s' operation of path '%s'", "consumes", httpMethod, path));
                 //Validate produces
                 validateList(schemaObjectResolver.getActualProduces(actualOperation),
                         schemaObjectResolver.getExpectedProduces(expectedOperation),
-                        String.format("Checking '%s' of '%s' operation of path '%s'", "produces", httpMethod, path));
+                        CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod), "Checking '%s' of '%s' operation of path '%s'", "produces", httpMethod, path));
                 //Validate parameters
                 validateParameters(actualOperation.getParameters(), expectedOperation.getParameters(), httpMethod, path);
                 //Validate responses
@@ -236,111 +489,96 @@ class ConsumerDrivenValidator extends AbstractContractValidator {
     }
 
     private void validateParameters(List<Parameter> actualOperationParameters,  List<Parameter> expectedOperationParameters, String httpMethod, String path) {
-        String message = String.format("Checking parameters of '%s' operation of path '%s'.", httpMethod, path);
-        Map<String, Parameter> actualParametersMap = new HashMap<>();
-        for (final Parameter parameter : actualOperationParameters) {
-            actualParametersMap.put(parameterUniqueKey(parameter), parameter);
-        }
+        Map<String, Parameter> actualParametersMap = indexByUniqueKey(actualOperationParameters);
         // All expectedParameters must be there and must match.
         for (final Parameter expectedParameter : expectedOperationParameters) {
             final String parameterName = expectedParameter.getName();
             Parameter actualParameter = actualParametersMap.remove(parameterUniqueKey(expectedParameter));
-            String actualParameterNotNullMessage = String.format("%s Expected parameter with name='%s' and in='%s' is missing", message, expectedParameter.getName(), expectedParameter.getIn());
-            softAssertions.assertThat(actualParameter).as(actualParameterNotNullMessage).isNotNull();
+            Description actualParameterNotNullMessage = CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod).withParameter(expectedParameter.getName()), "Checking parameters of '%s' operation of path '%s'. Expected parameter with name='%s' and in='%s' is missing",
+                    httpMethod, path, expectedParameter.getName(), expectedParameter.getIn());
+            violations.assertNotNull(actualParameter, actualParameterNotNullMessage);
             validateParameter(actualParameter, expectedParameter, parameterName, httpMethod, path);
         }
         // If there are any extra parameters, these are OK, as long as they are optional.
         for (final Parameter extraParameter : actualParametersMap.values()) {
-            String extraParameterNotOptionalMessage = String.format("%s Unexpected parameter with name='%s' and in='%s' is missing", message, extraParameter.getName(), extraParameter.getIn());
-            softAssertions.assertThat(extraParameter.getRequired()).as(extraParameterNotOptionalMessage).isFalse();
+            Description extraParameterNotOptionalMessage = CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod).withParameter(extraParameter.getName()), "Checking parameters of '%s' operation of path '%s'. Unexpected parameter with name='%s' and in='%s' is missing",
+                    httpMethod, path, extraParameter.getName(), extraParameter.getIn());
+            violations.assertFalse(extraParameter.getRequired(), extraParameterNotOptionalMessage);
         }
     }
 
-    /**
-     * Generates a unique key for a parameter.
-     * <p>
-     * From <a href="https://github.com/OAI/OpenAPI-Specification/blob/master/versions/2.0.md#parameterObject" target="_top">OpenAPI Specification</a>
-     * "A unique parameter is defined by a combination of a name and location."
-     *
-     * @param parameter the parameter to generate a unique key for
-     * @return a unique key based on name and location ({@link Parameter#getIn()})
-     */
-    private String parameterUniqueKey(Parameter parameter) {
-        return parameter.getName() + parameter.getIn();
-    }
-
     private void validateParameter(Parameter actualParameter, Parameter expectedParameter, String parameterName, String httpMethod, String path) {
         if (expectedParameter != null) {
-            String message = String.format("Checking parameter '%s' of '%s' operation of path '%s'", parameterName, httpMethod, path);
-            softAssertions.assertThat(actualParameter).as(message).isExactlyInstanceOf(expectedParameter.getClass());
+            Description message = CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod).withParameter(parameterName), "Checking parameter '%s' of '%s' operation of path '%s'", parameterName, httpMethod, path);
+            violations.assertExactlyInstanceOf(actualParameter, expectedParameter.getClass(), message);
             if (expectedParameter instanceof BodyParameter && actualParameter instanceof BodyParameter) {
                 BodyParameter actualBodyParameter = (BodyParameter) expectedParameter;
                 BodyParameter expectedBodyParameter = (BodyParameter) expectedParameter;
-                validateModel(actualBodyParameter.getSchema(), expectedBodyParameter.getSchema(), String.format("Checking model of parameter '%s' of '%s' operation of path '%s'", parameterName, httpMethod, path));
+                validateModel(actualBodyParameter.getSchema(), expectedBodyParameter.getSchema(), CheckDescription.of(SwaggerAssertionType.MODELS, ViolationLocation.ofOperation(path, httpMethod).withParameter(parameterName), "Checking model of parameter '%s' of '%s' operation of path '%s'", parameterName, httpMethod, path));
             } else if (expectedParameter instanceof PathParameter && actualParameter instanceof PathParameter) {
                 PathParameter actualPathParameter = (PathParameter) actualParameter;
                 PathParameter expectedPathParameter = (PathParameter) expectedParameter;
-                softAssertions.assertThat(actualPathParameter.getType()).as(message).isEqualTo(expectedPathParameter.getType());
+                violations.assertEqual(actualPathParameter.getType(), expectedPathParameter.getType(), message);
                 List<String> expectedEnums = expectedPathParameter.getEnum();
                 if (CollectionUtils.isNotEmpty(expectedEnums)) {
-                    softAssertions.assertThat(actualPathParameter.getEnum()).as(message).hasSameElementsAs(expectedEnums);
+                    violations.assertSameElements(actualPathParameter.getEnum(), expectedEnums, message);
                 } else {
-                    softAssertions.assertThat(actualPathParameter.getEnum()).as(message).isNullOrEmpty();
+                    violations.assertNullOrEmpty(actualPathParameter.getEnum(), message);
                 }
             } else if (expectedParameter instanceof QueryParameter && actualParameter instanceof QueryParameter) {
                 QueryParameter actualQueryParameter = (QueryParameter) actualParameter;
                 QueryParameter expectedQueryParameter = (QueryParameter) expectedParameter;
-                softAssertions.assertThat(actualQueryParameter.getType()).as(message).isEqualTo(expectedQueryParameter.getType());
+                violations.assertEqual(actualQueryParameter.getType(), expectedQueryParameter.getType(), message);
                 List<String> expectedEnums = expectedQueryParameter.getEnum();
                 if (CollectionUtils.isNotEmpty(expectedEnums)) {
-                    softAssertions.assertThat(actualQueryParameter.getEnum()).as(message).hasSameElementsAs(expectedEnums);
+                    violations.assertSameElements(actualQueryParameter.getEnum(), expectedEnums, message);
                 } else {
-                    softAssertions.assertThat(actualQueryParameter.getEnum()).as(message).isNullOrEmpty();
+                    violations.assertNullOrEmpty(actualQueryParameter.getEnum(), message);
                 }
             } else if (expectedParameter instanceof HeaderParameter && actualParameter instanceof HeaderParameter) {
                 HeaderParameter actualHeaderParameter = (HeaderParameter) actualParameter;
                 HeaderParameter expectedHeaderParameter = (HeaderParameter) expectedParameter;
-                softAssertions.assertThat(actualHeaderParameter.getType()).as(message).isEqualTo(expectedHeaderParameter.getType());
+                violations.assertEqual(actualHeaderParameter.getType(), expectedHeaderParameter.getType(), message);
                 List<String> expectedEnums = expectedHeaderParameter.getEnum();
                 if (CollectionUtils.isNotEmpty(expectedEnums)) {
-                    softAssertions.assertThat(actualHeaderParameter.getEnum()).as(message).hasSameElementsAs(expectedEnums);
+                    violations.assertSameElements(actualHeaderParameter.getEnum(), expectedEnums, message);
                 } else {
-                    softAssertions.assertThat(actualHeaderParameter.getEnum()).as(message).isNullOrEmpty();
+                    violations.assertNullOrEmpty(actualHeaderParameter.getEnum(), message);
                 }
             } else if (expectedParameter instanceof FormParameter && actualParameter instanceof FormParameter) {
                 FormParameter actualFormParameter = (FormParameter) actualParameter;
                 FormParameter expectedFormParameter = (FormParameter) expectedParameter;
-                softAssertions.assertThat(actualFormParameter.getType()).as(message).isEqualTo(expectedFormParameter.getType());
+                violations.assertEqual(actualFormParameter.getType(), expectedFormParameter.getType(), message);
                 List<String> expectedEnums = expectedFormParameter.getEnum();
                 if (CollectionUtils.isNotEmpty(expectedEnums)) {
-                    softAssertions.assertThat(actualFormParameter.getEnum()).as(message).hasSameElementsAs(expectedEnums);
+                    violations.assertSameElements(actualFormParameter.getEnum(), expectedEnums, message);
                 } else {
-                    softAssertions.assertThat(actualFormParameter.getEnum()).as(message).isNullOrEmpty();
+                    violations.assertNullOrEmpty(actualFormParameter.getEnum(), message);
                 }
             } else if (expectedParameter instanceof CookieParameter && actualParameter instanceof CookieParameter) {
                 CookieParameter actualCookieParameter = (CookieParameter) actualParameter;
                 CookieParameter expectedCookieParameter = (CookieParameter) expectedParameter;
-                softAssertions.assertThat(actualCookieParameter.getType()).as(message).isEqualTo(expectedCookieParameter.getType());
+                violations.assertEqual(actualCookieParameter.getType(), expectedCookieParameter.getType(), message);
                 List<String> expectedEnums = expectedCookieParameter.getEnum();
                 if (CollectionUtils.isNotEmpty(expectedEnums)) {
-                    softAssertions.assertThat(actualCookieParameter.getEnum()).as(message).hasSameElementsAs(expectedEnums);
+                    violations.assertSameElements(actualCookieParameter.getEnum(), expectedEnums, message);
                 } else {
-                    softAssertions.assertThat(actualCookieParameter.getEnum()).as(message).isNullOrEmpty();
+                    violations.assertNullOrEmpty(actualCookieParameter.getEnum(), message);
                 }
             } else if (expectedParameter instanceof RefParameter && actualParameter instanceof RefParameter) {
                 RefParameter expectedRefParameter = (RefParameter) expectedParameter;
                 RefParameter actualRefParameter = (RefParameter) actualParameter;
-                softAssertions.assertThat(actualRefParameter.getSimpleRef()).as(message).isEqualTo(expectedRefParameter.getSimpleRef());
+                violations.assertEqual(actualRefParameter.getSimpleRef(), expectedRefParameter.getSimpleRef(), message);
             }
         }
     }
 
     private void validateResponses(Map<String, Response> actualOperationResponses, Map<String, Response> expectedOperationResponses, String httpMethod, String path) {
-        String message = String.format("Checking responses of '%s' operation of path '%s'", httpMethod, path);
+        Description message = CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod), "Checking responses of '%s' operation of path '%s'", httpMethod, path);
         if (MapUtils.isNotEmpty(expectedOperationResponses)) {
-            softAssertions.assertThat(actualOperationResponses).as(message).isNotEmpty();
+            violations.assertNotEmpty(actualOperationResponses, message);
             if (MapUtils.isNotEmpty(actualOperationResponses)) {
-                softAssertions.assertThat(actualOperationResponses.keySet()).as(message).hasSameElementsAs(expectedOperationResponses.keySet());
+                violations.assertSameKeys(actualOperationResponses.keySet(), expectedOperationResponses.keySet(), message);
                 for (Map.Entry<String, Response> actualResponseEntry : actualOperationResponses.entrySet()) {
                     Response expectedResponse = expectedOperationResponses.get(actualResponseEntry.getKey());
                     Response actualResponse = actualResponseEntry.getValue();
@@ -349,64 +587,47 @@ class ConsumerDrivenValidator extends AbstractContractValidator {
                 }
             }
         } else {
-            softAssertions.assertThat(actualOperationResponses).as(message).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualOperationResponses, message);
         }
     }
 
     private void validateResponse(Response actualResponse, Response expectedResponse, String responseName, String httpMethod, String path) {
         if (expectedResponse != null) {
-            validateProperty(actualResponse.getSchema(), expectedResponse.getSchema(), String.format("Checking response schema of response '%s' of '%s' operation of path '%s'", responseName, httpMethod, path));
+            validateProperty(actualResponse.getSchema(), expectedResponse.getSchema(), CheckDescription.of(SwaggerAssertionType.PROPERTIES, ViolationLocation.ofOperation(path, httpMethod).withResponse(responseName), "Checking response schema of response '%s' of '%s' operation of path '%s'", responseName, httpMethod, path));
             validateResponseHeaders(actualResponse.getHeaders(), expectedResponse.getHeaders(), responseName, httpMethod, path);
         }
     }
 
     private void validateResponseHeaders(Map<String, Property> actualResponseHeaders, Map<String, Property> expectedResponseHeaders, String responseName, String httpMethod, String path) {
-        String message = String.format("Checking response headers of response '%s' of '%s' operation of path '%s'", responseName, httpMethod, path);
+        Description message = CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod).withResponse(responseName), "Checking response headers of response '%s' of '%s' operation of path '%s'", responseName, httpMethod, path);
         if (MapUtils.isNotEmpty(expectedResponseHeaders)) {
-            softAssertions.assertThat(actualResponseHeaders).as(message).isNotEmpty();
+            violations.assertNotEmpty(actualResponseHeaders, message);
             if (MapUtils.isNotEmpty(actualResponseHeaders)) {
-                softAssertions.assertThat(actualResponseHeaders.keySet()).as(message).containsAll(expectedResponseHeaders.keySet());
+                violations.assertContainsKeys(actualResponseHeaders.keySet(), expectedResponseHeaders.keySet(), message);
                 for (Map.Entry<String, Property> expectedResponseHeaderEntry : expectedResponseHeaders.entrySet()) {
                     Property expectedResponseHeader = expectedResponseHeaderEntry.getValue();
                     Property actualResponseHeader = actualResponseHeaders.get(expectedResponseHeaderEntry.getKey());
                     String responseHeaderName = expectedResponseHeaderEntry.getKey();
-                    validateProperty(actualResponseHeader, expectedResponseHeader, String.format("Checking response header '%s' of response '%s' of '%s' operation of path '%s'", responseHeaderName, responseName, httpMethod, path));
+                    validateProperty(actualResponseHeader, expectedResponseHeader, CheckDescription.of(SwaggerAssertionType.PROPERTIES, ViolationLocation.ofOperation(path, httpMethod).withResponse(responseName).withProperty(responseHeaderName), "Checking response header '%s' of response '%s' of '%s' operation of path '%s'", responseHeaderName, responseName, httpMethod, path));
                 }
             }
         } else {
-            softAssertions.assertThat(actualResponseHeaders).as(message).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualResponseHeaders, message);
         }
     }
 
-    private void validateList(List<String> actualList, List<String> expectedList, String message) {
+    private void validateList(List<String> actualList, List<String> expectedList, Description message) {
         if (CollectionUtils.isNotEmpty(expectedList)) {
-            softAssertions.assertThat(actualList).as(message).isNotEmpty();
+            violations.assertNotEmpty(actualList, message);
             if (CollectionUtils.isNotEmpty(actualList)) {
-                softAssertions.assertThat(actualList).as(message).containsAll(expectedList);
+                violations.assertContainsKeys(actualList, expectedList, message);
             }
         } else {
-            softAssertions.assertThat(actualList).as(message).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualList, message);
         }
     }
 
     private boolean isAssertionEnabled(final SwaggerAssertionType assertionType) {
         return assertionConfig.swaggerAssertionEnabled(assertionType);
     }
-
-    private Set<String> filterWhitelistedPropertyNames(String definitionName, Set<String> expectedPropertyNames) {
-        Set<String> result = new HashSet<>(expectedPropertyNames.size());
-        final Set<String> ignoredPropertyNames = assertionConfig.getPropertiesToIgnoreInExpected();
-        for (String property : expectedPropertyNames) {
-            if (!ignoredPropertyNames.contains(definitionName + '.' + property)) {
-                result.add(property);
-            }
-        }
-        return result;
-    }
-
-    private <K, V> Map<K, V> removeAllFromMap(Map<K, V> map, Set<K> keysToExclude) {
-        final LinkedHashMap<K, V> result = new LinkedHashMap<>(map);
-        result.keySet().removeAll(keysToExclude);
-        return result;
-    }
 }
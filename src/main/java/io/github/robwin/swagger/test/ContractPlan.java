@@ -0,0 +1,185 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A consumer contract compiled for validation. Everything the consumer-driven validation derives from the expected
+ * schema and the configuration is computed once: the expected paths with the configured prefix, the paths and
+ * definitions which are not ignored, the resolved properties of every definition and the property names which are
+ * checked. The fingerprints of the expected paths and definitions are only computed when a validation compares them,
+ * and are then kept by the plan's {@link SchemaIndex} for all further validations.
+ * <p>
+ * A plan is immutable and can be validated against any number of actual schemas, also concurrently, with
+ * {@link SwaggerAssert#satisfiesContract(ContractPlan)}. The maps of the expected paths, definitions and resolved
+ * properties are copied when the plan is compiled, so adding or removing paths, definitions or properties of the
+ * expected schema afterwards doesn't change the plan. The plan is not compiled into a flat list of checks, though: the
+ * validation still walks the expected path, operation, model and property objects, which are shared with the expected
+ * schema and must not be modified while the plan is in use.
+ * </p>
+ */
+public final class ContractPlan {
+
+    private final SwaggerAssertionConfig assertionConfig;
+    private final SchemaIndex expectedIndex;
+    private final Map<String, Path> expectedPaths;
+    private final Map<String, Model> expectedDefinitions;
+    private final Map<String, Map<String, Property>> expectedProperties;
+    private final Map<String, Set<String>> checkedPropertyNames;
+    private final Map<String, Set<String>> checkedRequiredPropertyNames;
+
+    private ContractPlan(SwaggerAssertionConfig assertionConfig, SchemaIndex expectedIndex) {
+        this.assertionConfig = assertionConfig;
+        this.expectedIndex = expectedIndex;
+        Swagger expected = expectedIndex.getSwagger();
+        this.expectedPaths = assertionConfig.swaggerAssertionEnabled(SwaggerAssertionType.PATHS) ?
+                copyOf(MapViews.withoutKeys(AbstractContractValidator.expectedPaths(expected, assertionConfig), assertionConfig.getPathsToIgnoreMatcher())) :
+                null;
+        this.expectedDefinitions = assertionConfig.swaggerAssertionEnabled(SwaggerAssertionType.DEFINITIONS) ?
+                copyOf(MapViews.withoutKeys(expected.getDefinitions(), assertionConfig.getDefinitionsToIgnoreMatcher())) :
+                null;
+        Map<String, Map<String, Property>> properties = new LinkedHashMap<>();
+        Map<String, Set<String>> propertyNames = new LinkedHashMap<>();
+        Map<String, Set<String>> requiredPropertyNames = new LinkedHashMap<>();
+        if (expectedDefinitions != null) {
+            for (Map.Entry<String, Model> definition : expectedDefinitions.entrySet()) {
+                String definitionName = definition.getKey();
+                Model expectedDefinition = definition.getValue();
+                Map<String, Property> resolvedProperties = copyOf(expectedIndex.getPropertyResolver().resolveProperties(expectedDefinition));
+                properties.put(definitionName, resolvedProperties);
+                propertyNames.put(definitionName, Collections.unmodifiableSet(
+                        filterWhitelistedPropertyNames(definitionName, resolvedProperties.keySet())));
+                if (expectedDefinition instanceof ModelImpl && CollectionUtils.isNotEmpty(((ModelImpl) expectedDefinition).getRequired())) {
+                    requiredPropertyNames.put(definitionName, Collections.unmodifiableSet(
+                            filterWhitelistedPropertyNames(definitionName, new HashSet<>(((ModelImpl) expectedDefinition).getRequired()))));
+                }
+            }
+        }
+        this.expectedProperties = Collections.unmodifiableMap(properties);
+        this.checkedPropertyNames = Collections.unmodifiableMap(propertyNames);
+        this.checkedRequiredPropertyNames = Collections.unmodifiableMap(requiredPropertyNames);
+    }
+
+    /**
+     * Compiles a contract with the configuration in {@code /assertj-swagger.properties}.
+     *
+     * @param expected the expected Swagger value
+     * @return the compiled contract
+     */
+    public static ContractPlan compile(Swagger expected) {
+        return compile(expected, SwaggerAssert.loadSwaggerAssertionFlagsConfiguration(SwaggerAssert.ASSERTION_ENABLED_CONFIG_PATH));
+    }
+
+    /**
+     * Compiles a contract. The configuration is part of the plan and is used whenever the plan is validated.
+     *
+     * @param expected        the expected Swagger value
+     * @param assertionConfig assertion configuration
+     * @return the compiled contract
+     */
+    public static ContractPlan compile(Swagger expected, SwaggerAssertionConfig assertionConfig) {
+        Validate.notNull(expected, "expected must not be null!");
+        Validate.notNull(assertionConfig, "assertionConfig must not be null!");
+        return new ContractPlan(assertionConfig, new SchemaIndex(expected));
+    }
+
+    /**
+     * Compiles a contract whose expected schema is already indexed.
+     */
+    static ContractPlan compile(SchemaIndex expectedIndex, SwaggerAssertionConfig assertionConfig) {
+        return new ContractPlan(assertionConfig, expectedIndex);
+    }
+
+    SwaggerAssertionConfig getAssertionConfig() {
+        return assertionConfig;
+    }
+
+    SchemaIndex getExpectedIndex() {
+        return expectedIndex;
+    }
+
+    Swagger getExpected() {
+        return expectedIndex.getSwagger();
+    }
+
+    /**
+     * @return the expected paths which are not ignored, or {@code null} if paths are not checked or there are none
+     */
+    Map<String, Path> getExpectedPaths() {
+        return expectedPaths;
+    }
+
+    /**
+     * @return the expected definitions which are not ignored, or {@code null} if definitions are not checked or there
+     * are none
+     */
+    Map<String, Model> getExpectedDefinitions() {
+        return expectedDefinitions;
+    }
+
+    /**
+     * @return the resolved properties of the expected definition, including inherited ones
+     */
+    Map<String, Property> getExpectedProperties(String definitionName) {
+        return expectedProperties.get(definitionName);
+    }
+
+    /**
+     * @return the names of the properties of the definition which are not ignored
+     */
+    Set<String> getCheckedPropertyNames(String definitionName) {
+        return checkedPropertyNames.getOrDefault(definitionName, Collections.emptySet());
+    }
+
+    /**
+     * @return the names of the required properties of the definition which are not ignored, or {@code null} if the
+     * definition doesn't require any properties
+     */
+    Set<String> getCheckedRequiredPropertyNames(String definitionName) {
+        return checkedRequiredPropertyNames.get(definitionName);
+    }
+
+    private static <V> Map<String, V> copyOf(Map<String, V> map) {
+        return map != null ? Collections.unmodifiableMap(new LinkedHashMap<>(map)) : null;
+    }
+
+    private Set<String> filterWhitelistedPropertyNames(String definitionName, Set<String> expectedPropertyNames) {
+        Set<String> result = new HashSet<>(expectedPropertyNames.size());
+        final GlobMatcher ignoredPropertyNames = assertionConfig.getPropertiesToIgnoreMatcher();
+        for (String property : expectedPropertyNames) {
+            if (!ignoredPropertyNames.matches(definitionName, property)) {
+                result.add(property);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The result of validating an actual schema against the contracts of several consumers, as returned by
+ * {@link SwaggerAssert#validateContracts(Map)}. The consumers are kept in the order they were passed in.
+ */
+public final class ContractReport {
+
+    private final Map<String, List<AssertionError>> violationsByConsumer;
+
+    ContractReport(Map<String, List<AssertionError>> violationsByConsumer) {
+        Map<String, List<AssertionError>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, List<AssertionError>> entry : violationsByConsumer.entrySet()) {
+            copy.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+        }
+        this.violationsByConsumer = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * @return the names of all validated consumers
+     */
+    public Set<String> getConsumers() {
+        return violationsByConsumer.keySet();
+    }
+
+    /**
+     * @return the names of the consumers whose contract is violated
+     */
+    public Set<String> getFailedConsumers() {
+        Set<String> failedConsumers = new LinkedHashSet<>();
+        for (Map.Entry<String, List<AssertionError>> entry : violationsByConsumer.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                failedConsumers.add(entry.getKey());
+            }
+        }
+        return Collections.unmodifiableSet(failedConsumers);
+    }
+
+    /**
+     * @return {@code true} if the contracts of all consumers are satisfied
+     */
+    public boolean isSatisfied() {
+        return getFailedConsumers().isEmpty();
+    }
+
+    /**
+     * @param consumer the name of a consumer
+     * @return {@code true} if the contract of the consumer is satisfied
+     * @throws IllegalArgumentException if the consumer wasn't validated
+     */
+    public boolean isSatisfied(String consumer) {
+        return getViolations(consumer).isEmpty();
+    }
+
+    /**
+     * @param consumer the name of a consumer
+     * @return the violations of the contract of the consumer, empty if it is satisfied
+     * @throws IllegalArgumentException if the consumer wasn't validated
+     */
+    public List<AssertionError> getViolations(String consumer) {
+        List<AssertionError> violations = violationsByConsumer.get(consumer);
+        if (violations == null) {
+            throw new IllegalArgumentException("No contract validated for consumer '" + consumer + "'");
+        }
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("ContractReport{");
+        String separator = "";
+        for (Map.Entry<String, List<AssertionError>> entry : violationsByConsumer.entrySet()) {
+            result.append(separator).append(entry.getKey()).append('=').append(entry.getValue().size()).append(" violation(s)");
+            separator = ", ";
+        }
+        return result.append('}').toString();
+    }
+}
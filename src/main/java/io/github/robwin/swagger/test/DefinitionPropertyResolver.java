@@ -0,0 +1,258 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.MapMaker;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the properties of the definitions of a single schema, following {@code $ref}-erences and {@code allOf}
+ * compositions.
+ * <p>
+ * On first use, a dependency graph of all definitions is built and split into strongly connected components, which are
+ * resolved bottom-up in topological order. Every definition is therefore flattened exactly once and no recursion over
+ * the hierarchy is needed. All definitions of a reference cycle resolve to the union of the properties of its members,
+ * regardless of which member is looked up first. References to unknown definitions resolve to no properties.
+ * </p>
+ * <p>
+ * Inline models, which are not definitions of the schema, are flattened on first use as well. Their properties are kept
+ * as long as the models are referenced elsewhere, looked up by identity.
+ * </p>
+ * <p>
+ * The resolver is thread-safe and returns unmodifiable maps.
+ * </p>
+ */
+class DefinitionPropertyResolver {
+
+    private final Swagger owningSchema;
+    private final Supplier<ResolvedDefinitions> resolvedDefinitions;
+    // weak keys are compared by identity
+    private final Map<Model, Map<String, Property>> resolvedInlineModels = new MapMaker().weakKeys().makeMap();
+
+    DefinitionPropertyResolver(Swagger owningSchema) {
+        this.owningSchema = owningSchema;
+        this.resolvedDefinitions = Suppliers.memoize(this::resolveDefinitions);
+    }
+
+    /**
+     * Resolves all definitions of the schema, unless they are already resolved.
+     */
+    void resolve() {
+        resolvedDefinitions.get();
+    }
+
+    /**
+     * @param definition a definition of the schema, a reference to one or an inline model
+     * @return the properties of the definition including all inherited properties
+     */
+    Map<String, Property> resolveProperties(Model definition) {
+        if (definition == null) {
+            return Collections.emptyMap();
+        }
+        ResolvedDefinitions resolved = resolvedDefinitions.get();
+        if (definition instanceof RefModel) {
+            return resolved.byName.getOrDefault(((RefModel) definition).getSimpleRef(), Collections.emptyMap());
+        }
+        Map<String, Property> properties = resolved.byModel.get(definition);
+        if (properties == null) {
+            // an inline model, which only depends on already resolved definitions
+            properties = resolvedInlineModels.computeIfAbsent(definition,
+                    model -> Collections.unmodifiableMap(flatten(model, resolved.byName, Collections.emptySet())));
+        }
+        return properties;
+    }
+
+    private ResolvedDefinitions resolveDefinitions() {
+        FlightRecorderEvent event = FlightRecorderEvent.resolution(owningSchema.getInfo() != null ? owningSchema.getInfo().getTitle() : null);
+        Map<String, Model> definitions = owningSchema.getDefinitions() != null ? owningSchema.getDefinitions() : Collections.emptyMap();
+        List<String> names = new ArrayList<>(definitions.keySet());
+        Map<String, Integer> indexByName = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            indexByName.put(names.get(i), i);
+        }
+        int[][] dependencies = new int[names.size()][];
+        for (int i = 0; i < names.size(); i++) {
+            Set<String> refs = new LinkedHashSet<>();
+            collectRefs(definitions.get(names.get(i)), refs);
+            dependencies[i] = refs.stream().filter(indexByName::containsKey).mapToInt(indexByName::get).toArray();
+        }
+
+        Map<String, Map<String, Property>> byName = new HashMap<>();
+        Map<Model, Map<String, Property>> byModel = new IdentityHashMap<>();
+        for (int[] component : stronglyConnectedComponents(dependencies)) {
+            Map<String, Property> properties;
+            if (component.length == 1 && !dependsOnItself(dependencies, component[0])) {
+                properties = flatten(definitions.get(names.get(component[0])), byName, Collections.emptySet());
+            } else {
+                // all members of a cycle inherit from each other, so they share the same properties
+                Arrays.sort(component);
+                Set<String> cycle = new HashSet<>();
+                for (int member : component) {
+                    cycle.add(names.get(member));
+                }
+                Map<String, Property> union = new HashMap<>();
+                for (int member : component) {
+                    union.putAll(flatten(definitions.get(names.get(member)), byName, cycle));
+                }
+                properties = Collections.unmodifiableMap(union);
+            }
+            for (int member : component) {
+                byName.put(names.get(member), properties);
+                byModel.put(definitions.get(names.get(member)), properties);
+            }
+        }
+        event.commitResolved(names.size());
+        return new ResolvedDefinitions(byName, byModel);
+    }
+
+    /**
+     * Flattens a model whose referenced definitions are either already resolved or members of {@code skippedRefs}.
+     */
+    private static Map<String, Property> flatten(Model definition, Map<String, Map<String, Property>> resolvedByName, Set<String> skippedRefs) {
+        if (definition == null) {
+            return Collections.emptyMap();
+        }
+        if (definition instanceof RefModel) {
+            String ref = ((RefModel) definition).getSimpleRef();
+            return skippedRefs.contains(ref) ? Collections.emptyMap() : resolvedByName.getOrDefault(ref, Collections.emptyMap());
+        } else if (definition instanceof ComposedModel) {
+            Map<String, Property> allProperties = new HashMap<>();
+            if (definition.getProperties() != null) {
+                allProperties.putAll(definition.getProperties());
+            }
+            for (final Model childDefinition : ((ComposedModel) definition).getAllOf()) {
+                allProperties.putAll(flatten(childDefinition, resolvedByName, skippedRefs));
+            }
+            return Collections.unmodifiableMap(allProperties);
+        } else {
+            // if the definition does not contain any property, then the model will return null instead of an empty map
+            return definition.getProperties() != null ? Collections.unmodifiableMap(definition.getProperties()) : Collections.emptyMap();
+        }
+    }
+
+    private static void collectRefs(Model definition, Set<String> refs) {
+        if (definition instanceof RefModel) {
+            refs.add(((RefModel) definition).getSimpleRef());
+        } else if (definition instanceof ComposedModel) {
+            for (Model childDefinition : ((ComposedModel) definition).getAllOf()) {
+                collectRefs(childDefinition, refs);
+            }
+        }
+    }
+
+    private static boolean dependsOnItself(int[][] dependencies, int node) {
+        for (int dependency : dependencies[node]) {
+            if (dependency == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Iterative variant of Tarjan's algorithm.
+     *
+     * @param dependencies the dependencies of each node
+     * @return the strongly connected components, each one after all components it depends on
+     */
+    static List<int[]> stronglyConnectedComponents(int[][] dependencies) {
+        int nodeCount = dependencies.length;
+        int[] index = new int[nodeCount];
+        int[] lowLink = new int[nodeCount];
+        int[] nextDependency = new int[nodeCount];
+        boolean[] onStack = new boolean[nodeCount];
+        Arrays.fill(index, -1);
+        Deque<Integer> componentStack = new ArrayDeque<>();
+        Deque<Integer> callStack = new ArrayDeque<>();
+        List<int[]> components = new ArrayList<>();
+        int nextIndex = 0;
+
+        for (int root = 0; root < nodeCount; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            callStack.push(root);
+            while (!callStack.isEmpty()) {
+                int node = callStack.peek();
+                if (index[node] == -1) {
+                    index[node] = nextIndex;
+                    lowLink[node] = nextIndex;
+                    nextIndex++;
+                    componentStack.push(node);
+                    onStack[node] = true;
+                }
+                if (nextDependency[node] < dependencies[node].length) {
+                    int dependency = dependencies[node][nextDependency[node]++];
+                    if (index[dependency] == -1) {
+                        callStack.push(dependency);
+                    } else if (onStack[dependency]) {
+                        lowLink[node] = Math.min(lowLink[node], index[dependency]);
+                    }
+                    continue;
+                }
+                callStack.pop();
+                if (!callStack.isEmpty()) {
+                    int parent = callStack.peek();
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+                if (lowLink[node] == index[node]) {
+                    List<Integer> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = componentStack.pop();
+                        onStack[member] = false;
+                        component.add(member);
+                    } while (member != node);
+                    components.add(component.stream().mapToInt(Integer::intValue).toArray());
+                }
+            }
+        }
+        return components;
+    }
+
+    private static class ResolvedDefinitions {
+
+        private final Map<String, Map<String, Property>> byName;
+        private final Map<Model, Map<String, Property>> byModel;
+
+        ResolvedDefinitions(Map<String, Map<String, Property>> byName, Map<Model, Map<String, Property>> byModel) {
+            this.byName = byName;
+            this.byModel = byModel;
+        }
+    }
+}
@@ -37,323 +37,464 @@ import io.swagger.models.parameters.PathParameter;
 import io.swagger.models.parameters.QueryParameter;
 import io.swagger.models.parameters.RefParameter;
 import io.swagger.models.properties.Property;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
-import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.AssertionErrorCollector;
+import org.assertj.core.description.Description;
+
+import static io.github.robwin.swagger.test.FieldsComparator.field;
 
 class DocumentationDrivenValidator extends AbstractContractValidator {
 
-    private static final String[] TYPE_DEFINING_PROPERTIES = {"type", "format"};
+    private static final FieldsComparator<ModelImpl> TYPE_DEFINING_PROPERTIES = FieldsComparator.of(
+            field("type", ModelImpl::getType),
+            field("format", ModelImpl::getFormat));
+    private static final FieldsComparator<Parameter> PARAMETER_FIELDS = FieldsComparator.of(
+            field("in", Parameter::getIn),
+            field("name", Parameter::getName),
+            field("required", Parameter::getRequired));
+    private static final int PATHS_PER_TASK = 16;
 
     private SwaggerAssertionConfig assertionConfig;
-    private SoftAssertions softAssertions;
+    private ViolationCollector violations;
     private PropertyValidator propertyValidator;
 
     private Swagger actual;
     private SchemaObjectResolver schemaObjectResolver;   // provide means to fall back from local to global properties
+    private ValidationBaseline baseline;
+    private IncrementalValidation incrementalValidation;
+    private ValidationMetrics metrics;
 
     DocumentationDrivenValidator(Swagger actual, SwaggerAssertionConfig assertionConfig) {
+        this(actual, assertionConfig, ValidationMetrics.serviceListeners(), Collections.emptyList());
+    }
+
+    DocumentationDrivenValidator(Swagger actual, SwaggerAssertionConfig assertionConfig, List<ValidationListener> listeners, List<ViolationSink> sinks) {
         this.actual = actual;
         this.assertionConfig = assertionConfig;
-        softAssertions = new SoftAssertions();
-        propertyValidator = new PropertyValidator(assertionConfig, softAssertions);
+        metrics = ValidationMetrics.of(listeners);
+        violations = new ViolationCollector(sinks, assertionConfig.getMaxRetainedViolations(), assertionConfig.isFailFast(), metrics);
+        propertyValidator = new PropertyValidator(assertionConfig, violations);
+        baseline = ValidationBaseline.of(assertionConfig);
+    }
+
+    /**
+     * Creates a validator which shares the models and the configuration of the given validator but collects its errors
+     * in the given collector, so that it can be confined to a single worker thread.
+     */
+    private DocumentationDrivenValidator(DocumentationDrivenValidator parent, AssertionErrorCollector errorCollector) {
+        this.actual = parent.actual;
+        this.assertionConfig = parent.assertionConfig;
+        this.schemaObjectResolver = parent.schemaObjectResolver;
+        this.incrementalValidation = parent.incrementalValidation;
+        this.metrics = parent.metrics;
+        violations = new ViolationCollector(errorCollector, metrics);
+        propertyValidator = new PropertyValidator(assertionConfig, violations);
     }
 
     @Override
     public void validateSwagger(Swagger expected, SchemaObjectResolver schemaObjectResolver) {
         this.schemaObjectResolver = schemaObjectResolver;
+        this.incrementalValidation = new IncrementalValidation("documentation-driven", assertionConfig, schemaObjectResolver, baseline);
+        violations.start(validationName("documentation-driven", expected));
+        resolveDefinitions(schemaObjectResolver.getExpectedIndex(), schemaObjectResolver.getActualIndex());
+        long validationStartTime = metrics.phaseStarted(ValidationPhase.VALIDATION);
+        final Map<String, Path> actualPaths = schemaObjectResolver.getActualPathsIncludingBasePath();
+        final Map<String, Path> expectedPaths = MapViews.withoutKeys(findExpectedPaths(expected, assertionConfig), assertionConfig.getPathsToIgnoreMatcher());
+        final Map<String, Model> expectedDefinitions = MapViews.withoutKeys(expected.getDefinitions(), assertionConfig.getDefinitionsToIgnoreMatcher());
+
+        try {
+            validateInfo(actual.getInfo(), expected.getInfo());
+
+            // In fail-fast mode, compare the key sets before validating any path or definition in depth
+            boolean comparePathEntries = false;
+            boolean compareDefinitionEntries = false;
+            if (assertionConfig.isFailFast()) {
+                if (isAssertionEnabled(SwaggerAssertionType.PATHS)) {
+                    comparePathEntries = validatePathKeys(actualPaths, expectedPaths);
+                }
+                if (isAssertionEnabled(SwaggerAssertionType.DEFINITIONS)) {
+                    compareDefinitionEntries = validateDefinitionKeys(actual.getDefinitions(), expectedDefinitions);
+                }
+            }
 
-        validateInfo(actual.getInfo(), expected.getInfo());
+            // Check Paths
+            if (isAssertionEnabled(SwaggerAssertionType.PATHS)) {
+                long startTime = metrics.phaseStarted(ValidationPhase.PATHS);
+                if (!assertionConfig.isFailFast()) {
+                    comparePathEntries = validatePathKeys(actualPaths, expectedPaths);
+                }
+                if (comparePathEntries) {
+                    validatePaths(actualPaths, expectedPaths);
+                }
+                metrics.phaseFinished(ValidationPhase.PATHS, startTime);
+            }
 
-        // Check Paths
-        if (isAssertionEnabled(SwaggerAssertionType.PATHS)) {
-            final Set<String> filter = assertionConfig.getPathsToIgnoreInExpected();
-            final Map<String, Path> expectedPaths = findExpectedPaths(expected, assertionConfig);
-            final Map<String, Path> actualPaths = getPathsIncludingBasePath(actual);
-            validatePaths(actualPaths, removeAllFromMap(expectedPaths, filter));
+            // Check Definitions
+            if (isAssertionEnabled(SwaggerAssertionType.DEFINITIONS)) {
+                long startTime = metrics.phaseStarted(ValidationPhase.DEFINITIONS);
+                if (!assertionConfig.isFailFast()) {
+                    compareDefinitionEntries = validateDefinitionKeys(actual.getDefinitions(), expectedDefinitions);
+                }
+                if (compareDefinitionEntries) {
+                    validateDefinitions(actual.getDefinitions(), expectedDefinitions);
+                }
+                metrics.phaseFinished(ValidationPhase.DEFINITIONS, startTime);
+            }
+        } catch (ViolationCollector.ValidationAbortedException e) {
+            // fail-fast: the first violation has been collected
         }
 
-        // Check Definitions
-        if (isAssertionEnabled(SwaggerAssertionType.DEFINITIONS)) {
-            final Set<String> filter = assertionConfig.getDefinitionsToIgnoreInExpected();
-            validateDefinitions(actual.getDefinitions(), removeAllFromMap(expected.getDefinitions(), filter));
-        }
+        metrics.phaseFinished(ValidationPhase.VALIDATION, validationStartTime);
+        metrics.reportChecks();
+        violations.finish();
+        violations.assertAll();
+    }
 
-        softAssertions.assertAll();
+    /**
+     * Resolves the properties of the definitions as a phase of its own, before they are needed by the validation.
+     */
+    private void resolveDefinitions(SchemaIndex... indexes) {
+        if (assertionConfig.swaggerAssertionEnabled(SwaggerAssertionType.DEFINITIONS)) {
+            long startTime = metrics.phaseStarted(ValidationPhase.RESOLUTION);
+            for (SchemaIndex index : indexes) {
+                index.getPropertyResolver().resolve();
+            }
+            metrics.phaseFinished(ValidationPhase.RESOLUTION, startTime);
+        }
     }
 
     private void validateInfo(Info actualInfo, Info expectedInfo) {
 
         // Version.  OFF by default.
         if (isAssertionEnabled(SwaggerAssertionType.VERSION)) {
-            softAssertions.assertThat(actualInfo.getVersion()).as("Checking Version").isEqualTo(expectedInfo.getVersion());
+            violations.assertEqual(actualInfo.getVersion(), expectedInfo.getVersion(), CheckDescription.of(SwaggerAssertionType.VERSION, ViolationLocation.NONE, "Checking Version"));
         }
 
         // Everything (but potentially brittle, therefore OFF by default)
         if (isAssertionEnabled(SwaggerAssertionType.INFO)) {
-            softAssertions.assertThat(actualInfo).as("Checking Info").isEqualToComparingFieldByField(expectedInfo);
+            violations.assertEqualComparingFieldByField(actualInfo, expectedInfo, CheckDescription.of(SwaggerAssertionType.INFO, ViolationLocation.NONE, "Checking Info"));
         }
     }
 
+    /**
+     * Compares the paths one by one, once their key sets have been checked.
+     */
     private void validatePaths(Map<String, Path> actualPaths, Map<String, Path> expectedPaths) {
+        if (assertionConfig.isParallelValidation()) {
+            validatePathsInParallel(actualPaths, expectedPaths);
+        } else {
+            validatePathEntries(actualPaths.entrySet(), expectedPaths);
+        }
+    }
+
+    /**
+     * @return {@code true} if the paths have to be compared one by one
+     */
+    private boolean validatePathKeys(Map<String, Path> actualPaths, Map<String, Path> expectedPaths) {
         if (MapUtils.isNotEmpty(expectedPaths)) {
-            softAssertions.assertThat(actualPaths).as("Checking Paths").isNotEmpty();
+            violations.assertNotEmpty(actualPaths, CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.NONE, "Checking Paths"));
             if (MapUtils.isNotEmpty(actualPaths)) {
-                softAssertions.assertThat(actualPaths.keySet()).as("Checking Paths").hasSameElementsAs(expectedPaths.keySet());
-                for (Map.Entry<String, Path> actualPathEntry : actualPaths.entrySet()) {
-                    Path expectedPath = expectedPaths.get(actualPathEntry.getKey());
-                    Path actualPath = actualPathEntry.getValue();
-                    String pathName = actualPathEntry.getKey();
-                    validatePath(pathName, actualPath, expectedPath);
-                }
+                violations.assertSameKeys(actualPaths.keySet(), expectedPaths.keySet(), CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.NONE, "Checking Paths"));
+                return true;
             }
         } else {
-            softAssertions.assertThat(actualPaths).as("Checking Paths").isNullOrEmpty();
+            violations.assertNullOrEmpty(actualPaths, CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.NONE, "Checking Paths"));
+        }
+        return false;
+    }
+
+    private void validatePathEntries(Iterable<Map.Entry<String, Path>> actualPathEntries, Map<String, Path> expectedPaths) {
+        for (Map.Entry<String, Path> actualPathEntry : actualPathEntries) {
+            Path expectedPath = expectedPaths.get(actualPathEntry.getKey());
+            Path actualPath = actualPathEntry.getValue();
+            String pathName = actualPathEntry.getKey();
+            validatePath(pathName, actualPath, expectedPath);
         }
     }
 
+    private void validatePathsInParallel(Map<String, Path> actualPaths, Map<String, Path> expectedPaths) {
+        ForkJoinValidationTask.validate(actualPaths.entrySet(), PATHS_PER_TASK, violations::workerCollector,
+                (chunk, errorCollector) -> new DocumentationDrivenValidator(this, errorCollector).validatePathEntries(chunk, expectedPaths))
+            .forEach(violations::merge);
+    }
+
+    /**
+     * Compares the definitions one by one, once their key sets have been checked.
+     */
     private void validateDefinitions(Map<String, Model> actualDefinitions, Map<String, Model> expectedDefinitions) {
+        for (Map.Entry<String, Model> actualDefinitionEntry : actualDefinitions.entrySet()) {
+            Model expectedDefinition = expectedDefinitions.get(actualDefinitionEntry.getKey());
+            Model actualDefinition = actualDefinitionEntry.getValue();
+            String definitionName = actualDefinitionEntry.getKey();
+            validateDefinition(definitionName, actualDefinition, expectedDefinition);
+        }
+    }
+
+    /**
+     * @return {@code true} if the definitions have to be compared one by one
+     */
+    private boolean validateDefinitionKeys(Map<String, Model> actualDefinitions, Map<String, Model> expectedDefinitions) {
         if (MapUtils.isNotEmpty(expectedDefinitions)) {
-            softAssertions.assertThat(actualDefinitions).as("Checking Definitions").isNotEmpty();
+            violations.assertNotEmpty(actualDefinitions, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.NONE, "Checking Definitions"));
             if (MapUtils.isNotEmpty(actualDefinitions)) {
-                softAssertions.assertThat(actualDefinitions.keySet()).as("Checking Definitions").hasSameElementsAs(expectedDefinitions.keySet());
-                for (Map.Entry<String, Model> actualDefinitionEntry : actualDefinitions.entrySet()) {
-                    Model expectedDefinition = expectedDefinitions.get(actualDefinitionEntry.getKey());
-                    Model actualDefinition = actualDefinitionEntry.getValue();
-                    String definitionName = actualDefinitionEntry.getKey();
-                    validateDefinition(definitionName, actualDefinition, expectedDefinition);
-                }
+                violations.assertSameKeys(actualDefinitions.keySet(), expectedDefinitions.keySet(), CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.NONE, "Checking Definitions"));
+                return true;
             }
         } else {
-            softAssertions.assertThat(actualDefinitions).as("Checking Definitions").isNullOrEmpty();
+            violations.assertNullOrEmpty(actualDefinitions, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.NONE, "Checking Definitions"));
         }
+        return false;
     }
 
     private void validatePath(String pathName, Path actualPath, Path expectedPath) {
         if (expectedPath != null) {
-            softAssertions.assertThat(actualPath.getOperations()).as("Checking number of operations of path '%s'", pathName).hasSameSizeAs(actualPath.getOperations());
-            validateOperation(actualPath.getGet(), expectedPath.getGet(), pathName, "GET");
-            validateOperation(actualPath.getDelete(), expectedPath.getDelete(), pathName, "DELETE");
-            validateOperation(actualPath.getPost(), expectedPath.getPost(), pathName, "POST");
-            validateOperation(actualPath.getPut(), expectedPath.getPut(), pathName, "PUT");
-            validateOperation(actualPath.getPatch(), expectedPath.getPatch(), pathName, "PATCH");
-            validateOperation(actualPath.getOptions(), expectedPath.getOptions(), pathName, "OPTIONS");
+            FlightRecorderEvent event = FlightRecorderEvent.pathValidation(pathName);
+            long startTime = metrics.startTime();
+            int violationCount = violations.getViolationCount();
+            int checks = incrementalValidation.validatePath(pathName, actualPath, expectedPath, violations, errorCollector -> {
+                DocumentationDrivenValidator validator = new DocumentationDrivenValidator(this, errorCollector);
+                validator.validateOperations(pathName, actualPath, expectedPath);
+                return validator.violations.getCheckCount();
+            });
+            metrics.pathValidated(pathName, checks, startTime);
+            event.commitValidated(checks, violations.getViolationCount() - violationCount);
         }
     }
 
+    private void validateOperations(String pathName, Path actualPath, Path expectedPath) {
+        violations.assertSameSize(actualPath.getOperations(), actualPath.getOperations(), CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofPath(pathName), "Checking number of operations of path '%s'", pathName));
+        validateOperation(actualPath.getGet(), expectedPath.getGet(), pathName, "GET");
+        validateOperation(actualPath.getDelete(), expectedPath.getDelete(), pathName, "DELETE");
+        validateOperation(actualPath.getPost(), expectedPath.getPost(), pathName, "POST");
+        validateOperation(actualPath.getPut(), expectedPath.getPut(), pathName, "PUT");
+        validateOperation(actualPath.getPatch(), expectedPath.getPatch(), pathName, "PATCH");
+        validateOperation(actualPath.getOptions(), expectedPath.getOptions(), pathName, "OPTIONS");
+    }
+
     private void validateDefinition(String definitionName, Model actualDefinition, Model expectedDefinition) {
         if (expectedDefinition != null && actualDefinition != null) {
-            validateModel(actualDefinition, expectedDefinition, String.format("Checking model of definition '%s", definitionName));
-            validateDefinitionProperties(schemaObjectResolver.resolvePropertiesFromActual(actualDefinition),
-                                         schemaObjectResolver.resolvePropertiesFromExpected(expectedDefinition),
-                                         definitionName);
-
-            if (expectedDefinition instanceof ModelImpl && actualDefinition instanceof ModelImpl) {
-                validateTypeDefinition(actualDefinition, expectedDefinition);
-                validateDefinitionEnum(actualDefinition, expectedDefinition);
-                validateDefinitionRequiredProperties(((ModelImpl) actualDefinition).getRequired(),
-                                                     ((ModelImpl) expectedDefinition).getRequired(),
-                                                       definitionName);
-            }
+            FlightRecorderEvent event = FlightRecorderEvent.definitionValidation(definitionName);
+            long startTime = metrics.startTime();
+            int violationCount = violations.getViolationCount();
+            int checks = incrementalValidation.validateDefinition(definitionName, actualDefinition, expectedDefinition, violations, errorCollector -> {
+                DocumentationDrivenValidator validator = new DocumentationDrivenValidator(this, errorCollector);
+                validator.validateDefinitionContent(definitionName, actualDefinition, expectedDefinition);
+                return validator.violations.getCheckCount();
+            });
+            metrics.definitionValidated(definitionName, checks, startTime);
+            event.commitValidated(checks, violations.getViolationCount() - violationCount);
+        }
+    }
+
+    private void validateDefinitionContent(String definitionName, Model actualDefinition, Model expectedDefinition) {
+        validateModel(actualDefinition, expectedDefinition, CheckDescription.of(SwaggerAssertionType.MODELS, ViolationLocation.ofDefinition(definitionName), "Checking model of definition '%s", definitionName));
+        validateDefinitionProperties(schemaObjectResolver.resolvePropertiesFromActual(actualDefinition),
+                                     schemaObjectResolver.resolvePropertiesFromExpected(expectedDefinition),
+                                     definitionName);
+
+        if (expectedDefinition instanceof ModelImpl && actualDefinition instanceof ModelImpl) {
+            validateTypeDefinition(actualDefinition, expectedDefinition, definitionName);
+            validateDefinitionEnum(actualDefinition, expectedDefinition, definitionName);
+            validateDefinitionRequiredProperties(((ModelImpl) actualDefinition).getRequired(),
+                                                 ((ModelImpl) expectedDefinition).getRequired(),
+                                                   definitionName);
         }
     }
 
-    private void validateTypeDefinition(Model actualDefinition, Model expectedDefinition) {
+    private void validateTypeDefinition(Model actualDefinition, Model expectedDefinition, String definitionName) {
         ModelImpl expectedDefModelImpl = (ModelImpl) expectedDefinition;
         ModelImpl actualDefModelImpl = (ModelImpl) actualDefinition;
-        softAssertions.assertThat(actualDefModelImpl)
-            .isEqualToComparingOnlyGivenFields(expectedDefModelImpl, TYPE_DEFINING_PROPERTIES);
+        violations.assertEqualComparingOnlyGivenFields(actualDefModelImpl, expectedDefModelImpl, TYPE_DEFINING_PROPERTIES,
+                CheckDescription.undescribed(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName)));
     }
 
-    private void validateDefinitionEnum(Model actualDefinition, Model expectedDefinition) {
+    private void validateDefinitionEnum(Model actualDefinition, Model expectedDefinition, String definitionName) {
         ModelImpl expectedDefModelImpl = (ModelImpl) expectedDefinition;
         ModelImpl actualDefModelImpl = (ModelImpl) actualDefinition;
         List<String> actualEnums = actualDefModelImpl.getEnum();
         List<String> expectedEnums = expectedDefModelImpl.getEnum();
+        Description description = CheckDescription.undescribed(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName));
         if (CollectionUtils.isNotEmpty(expectedEnums)) {
-            softAssertions.assertThat(actualEnums).hasSameElementsAs(expectedEnums);
+            violations.assertSameElements(actualEnums, expectedEnums, description);
         } else {
-            softAssertions.assertThat(actualEnums).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualEnums, description);
         }
     }
 
     private void validateDefinitionRequiredProperties(List<String> actualRequiredProperties, List<String> expectedRequiredProperties, String definitionName) {
         if (CollectionUtils.isNotEmpty(expectedRequiredProperties)) {
-            softAssertions.assertThat(actualRequiredProperties).as("Checking required properties of definition '%s'", definitionName).isNotEmpty();
+            violations.assertNotEmpty(actualRequiredProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking required properties of definition '%s'", definitionName));
             if (CollectionUtils.isNotEmpty(actualRequiredProperties)) {
                 final Set<String> filteredExpectedProperties = filterWhitelistedPropertyNames(definitionName, new HashSet<>(expectedRequiredProperties));
-                softAssertions.assertThat(actualRequiredProperties).as("Checking required properties of definition '%s'", definitionName).hasSameElementsAs(filteredExpectedProperties);
+                violations.assertSameKeys(actualRequiredProperties, filteredExpectedProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking required properties of definition '%s'", definitionName));
             }
         } else {
-            softAssertions.assertThat(actualRequiredProperties).as("Checking required properties of definition '%s'", definitionName).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualRequiredProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking required properties of definition '%s'", definitionName));
         }
     }
 
-    private void validateModel(Model actualDefinition, Model expectedDefinition, String message) {
+    private void validateModel(Model actualDefinition, Model expectedDefinition, Description message) {
         if (isAssertionEnabled(SwaggerAssertionType.MODELS)) {
             if (expectedDefinition instanceof ModelImpl) {
                 // TODO Validate ModelImpl
-                softAssertions.assertThat(actualDefinition).as(message).isExactlyInstanceOf(ModelImpl.class);
+                violations.assertExactlyInstanceOf(actualDefinition, ModelImpl.class, message);
             } else if (expectedDefinition instanceof RefModel) {
                 // TODO Validate RefModel
-                softAssertions.assertThat(actualDefinition).as(message).isExactlyInstanceOf(RefModel.class);
+                violations.assertExactlyInstanceOf(actualDefinition, RefModel.class, message);
             } else if (expectedDefinition instanceof ArrayModel) {
                 ArrayModel arrayModel = (ArrayModel) expectedDefinition;
                 // TODO Validate ArrayModel
-                softAssertions.assertThat(actualDefinition).as(message).isExactlyInstanceOf(ArrayModel.class);
+                violations.assertExactlyInstanceOf(actualDefinition, ArrayModel.class, message);
             } else if (expectedDefinition instanceof ComposedModel) {
                 ComposedModel composedModel = (ComposedModel) expectedDefinition;
-                softAssertions.assertThat(actualDefinition).as(message).isInstanceOfAny(ComposedModel.class, ModelImpl.class);
+                violations.assertInstanceOfAny(actualDefinition, new Class<?>[]{ComposedModel.class, ModelImpl.class}, message);
             } else {
                 // TODO Validate all model types
-                softAssertions.assertThat(actualDefinition).isExactlyInstanceOf(expectedDefinition.getClass());
+                violations.assertExactlyInstanceOf(actualDefinition, expectedDefinition.getClass(), CheckDescription.undescribed(message, SwaggerAssertionType.MODELS));
             }
         }
     }
 
     private void validateDefinitionProperties(Map<String, Property> actualDefinitionProperties, Map<String, Property> expectedDefinitionProperties, String definitionName) {
         if (MapUtils.isNotEmpty(expectedDefinitionProperties)) {
-            softAssertions.assertThat(actualDefinitionProperties).as("Checking properties of definition '%s", definitionName).isNotEmpty();
+            violations.assertNotEmpty(actualDefinitionProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking properties of definition '%s", definitionName));
             if (MapUtils.isNotEmpty(actualDefinitionProperties)) {
                 final Set<String> filteredExpectedProperties = filterWhitelistedPropertyNames(definitionName, expectedDefinitionProperties.keySet());
-                softAssertions.assertThat(actualDefinitionProperties.keySet()).as("Checking properties of definition '%s'", definitionName).hasSameElementsAs(filteredExpectedProperties);
+                violations.assertSameKeys(actualDefinitionProperties.keySet(), filteredExpectedProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking properties of definition '%s'", definitionName));
                 for (Map.Entry<String, Property> actualDefinitionPropertyEntry : actualDefinitionProperties.entrySet()) {
                     Property expectedDefinitionProperty = expectedDefinitionProperties.get(actualDefinitionPropertyEntry.getKey());
                     Property actualDefinitionProperty = actualDefinitionPropertyEntry.getValue();
                     String propertyName = actualDefinitionPropertyEntry.getKey();
-                    validateProperty(actualDefinitionProperty, expectedDefinitionProperty, String.format("Checking property '%s' of definition '%s'", propertyName, definitionName));
+                    validateProperty(actualDefinitionProperty, expectedDefinitionProperty, CheckDescription.of(SwaggerAssertionType.PROPERTIES, ViolationLocation.ofDefinition(definitionName).withProperty(propertyName), "Checking property '%s' of definition '%s'", propertyName, definitionName));
                 }
             }
         } else {
-            softAssertions.assertThat(actualDefinitionProperties).as("Checking properties of definition '%s", definitionName).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualDefinitionProperties, CheckDescription.of(SwaggerAssertionType.DEFINITIONS, ViolationLocation.ofDefinition(definitionName), "Checking properties of definition '%s", definitionName));
         }
     }
 
-    private void validateProperty(Property actualProperty, Property expectedProperty, String message) {
+    private void validateProperty(Property actualProperty, Property expectedProperty, Description message) {
         propertyValidator.validateProperty(actualProperty, expectedProperty, message);
     }
 
     private void validateOperation(Operation actualOperation, Operation expectedOperation, String path, String httpMethod) {
-        String message = String.format("Checking '%s' operation of path '%s'", httpMethod, path);
+        Description message = CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod), "Checking '%s' operation of path '%s'", httpMethod, path);
         if (expectedOperation != null) {
-            softAssertions.assertThat(actualOperation).as(message).isNotNull();
+            violations.assertNotNull(actualOperation, message);
             if (actualOperation != null) {
                 //Validate consumes
                 validateList(schemaObjectResolver.getActualConsumes(actualOperation),
                         schemaObjectResolver.getExpectedConsumes(expectedOperation),
-                        String.format("Checking '%s' of '%s' operation of path '%s'", "consumes", httpMethod, path));
+                        CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod), "Checking '%s' of '%s' operation of path '%s'", "consumes", httpMethod, path));
                 //Validate produces
                 validateList(schemaObjectResolver.getActualProduces(actualOperation),
                         schemaObjectResolver.getExpectedProduces(expectedOperation),
-                        String.format("Checking '%s' of '%s' operation of path '%s'", "produces", httpMethod, path));
+                        CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod), "Checking '%s' of '%s' operation of path '%s'", "produces", httpMethod, path));
                 //Validate parameters
                 validateParameters(actualOperation.getParameters(), expectedOperation.getParameters(), httpMethod, path);
                 //Validate responses
                 validateResponses(actualOperation.getResponses(), expectedOperation.getResponses(), httpMethod, path);
             }
         } else {
-            softAssertions.assertThat(actualOperation).as(message).isNull();
+            violations.assertNull(actualOperation, message);
         }
     }
 
     private void validateParameters(List<Parameter> actualOperationParameters,  List<Parameter> expectedOperationParameters, String httpMethod, String path) {
-        String message = String.format("Checking parameters of '%s' operation of path '%s'", httpMethod, path);
+        Description message = CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod), "Checking parameters of '%s' operation of path '%s'", httpMethod, path);
         if (CollectionUtils.isNotEmpty(expectedOperationParameters)) {
-            softAssertions.assertThat(actualOperationParameters).as(message).isNotEmpty();
+            violations.assertNotEmpty(actualOperationParameters, message);
             if (CollectionUtils.isNotEmpty(actualOperationParameters)) {
-                softAssertions.assertThat(actualOperationParameters).as(message).hasSameSizeAs(expectedOperationParameters);
-                softAssertions.assertThat(actualOperationParameters).as(message).usingElementComparatorOnFields("in", "name", "required").hasSameElementsAs(expectedOperationParameters);
-                Map<String, Parameter> expectedParametersAsMap = new HashMap<>();
-                for (Parameter expectedParameter : expectedOperationParameters) {
-                    expectedParametersAsMap.put(expectedParameter.getName(), expectedParameter);
-                }
+                violations.assertSameSize(actualOperationParameters, expectedOperationParameters, message);
+                violations.assertSameElementsComparingFields(actualOperationParameters, expectedOperationParameters, PARAMETER_FIELDS, message);
+                Map<String, Parameter> expectedParametersAsMap = indexByUniqueKey(expectedOperationParameters);
                 for (Parameter actualParameter : actualOperationParameters) {
                     String parameterName = actualParameter.getName();
-                    Parameter expectedParameter = expectedParametersAsMap.get(parameterName);
+                    Parameter expectedParameter = expectedParametersAsMap.get(parameterUniqueKey(actualParameter));
                     validateParameter(actualParameter, expectedParameter, parameterName, httpMethod, path);
                 }
             }
         } else {
-            softAssertions.assertThat(actualOperationParameters).as(message).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualOperationParameters, message);
         }
     }
 
     private void validateParameter(Parameter actualParameter, Parameter expectedParameter, String parameterName, String httpMethod, String path) {
         if (expectedParameter != null) {
-            String message = String.format("Checking parameter '%s' of '%s' operation of path '%s'", parameterName, httpMethod, path);
-            softAssertions.assertThat(actualParameter).as(message).isExactlyInstanceOf(expectedParameter.getClass());
+            Description message = CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod).withParameter(parameterName), "Checking parameter '%s' of '%s' operation of path '%s'", parameterName, httpMethod, path);
+            violations.assertExactlyInstanceOf(actualParameter, expectedParameter.getClass(), message);
             if (expectedParameter instanceof BodyParameter && actualParameter instanceof BodyParameter) {
                 BodyParameter actualBodyParameter = (BodyParameter) expectedParameter;
                 BodyParameter expectedBodyParameter = (BodyParameter) expectedParameter;
-                validateModel(actualBodyParameter.getSchema(), expectedBodyParameter.getSchema(), String.format("Checking model of parameter '%s' of '%s' operation of path '%s'", parameterName, httpMethod, path));
+                validateModel(actualBodyParameter.getSchema(), expectedBodyParameter.getSchema(), CheckDescription.of(SwaggerAssertionType.MODELS, ViolationLocation.ofOperation(path, httpMethod).withParameter(parameterName), "Checking model of parameter '%s' of '%s' operation of path '%s'", parameterName, httpMethod, path));
             } else if (expectedParameter instanceof PathParameter && actualParameter instanceof PathParameter) {
                 PathParameter actualPathParameter = (PathParameter) actualParameter;
                 PathParameter expectedPathParameter = (PathParameter) expectedParameter;
-                softAssertions.assertThat(actualPathParameter.getType()).as(message).isEqualTo(expectedPathParameter.getType());
+                violations.assertEqual(actualPathParameter.getType(), expectedPathParameter.getType(), message);
                 List<String> expectedEnums = expectedPathParameter.getEnum();
                 if (CollectionUtils.isNotEmpty(expectedEnums)) {
-                    softAssertions.assertThat(actualPathParameter.getEnum()).as(message).hasSameElementsAs(expectedEnums);
+                    violations.assertSameElements(actualPathParameter.getEnum(), expectedEnums, message);
                 } else {
-                    softAssertions.assertThat(actualPathParameter.getEnum()).as(message).isNullOrEmpty();
+                    violations.assertNullOrEmpty(actualPathParameter.getEnum(), message);
                 }
             } else if (expectedParameter instanceof QueryParameter && actualParameter instanceof QueryParameter) {
                 QueryParameter actualQueryParameter = (QueryParameter) actualParameter;
                 QueryParameter expectedQueryParameter = (QueryParameter) expectedParameter;
-                softAssertions.assertThat(actualQueryParameter.getType()).as(message).isEqualTo(expectedQueryParameter.getType());
+                violations.assertEqual(actualQueryParameter.getType(), expectedQueryParameter.getType(), message);
                 List<String> expectedEnums = expectedQueryParameter.getEnum();
                 if (CollectionUtils.isNotEmpty(expectedEnums)) {
-                    softAssertions.assertThat(actualQueryParameter.getEnum()).as(message).hasSameElementsAs(expectedEnums);
+                    violations.assertSameElements(actualQueryParameter.getEnum(), expectedEnums, message);
                 } else {
-                    softAssertions.assertThat(actualQueryParameter.getEnum()).as(message).isNullOrEmpty();
+                    violations.assertNullOrEmpty(actualQueryParameter.getEnum(), message);
                 }
             } else if (expectedParameter instanceof HeaderParameter && actualParameter instanceof HeaderParameter) {
                 HeaderParameter actualHeaderParameter = (HeaderParameter) actualParameter;
                 HeaderParameter expectedHeaderParameter = (HeaderParameter) expectedParameter;
-                softAssertions.assertThat(actualHeaderParameter.getType()).as(message).isEqualTo(expectedHeaderParameter.getType());
+                violations.assertEqual(actualHeaderParameter.getType(), expectedHeaderParameter.getType(), message);
                 List<String> expectedEnums = expectedHeaderParameter.getEnum();
                 if (CollectionUtils.isNotEmpty(expectedEnums)) {
-                    softAssertions.assertThat(actualHeaderParameter.getEnum()).as(message).hasSameElementsAs(expectedEnums);
+                    violations.assertSameElements(actualHeaderParameter.getEnum(), expectedEnums, message);
                 } else {
-                    softAssertions.assertThat(actualHeaderParameter.getEnum()).as(message).isNullOrEmpty();
+                    violations.assertNullOrEmpty(actualHeaderParameter.getEnum(), message);
                 }
             } else if (expectedParameter instanceof FormParameter && actualParameter instanceof FormParameter) {
                 FormParameter actualFormParameter = (FormParameter) actualParameter;
                 FormParameter expectedFormParameter = (FormParameter) expectedParameter;
-                softAssertions.assertThat(actualFormParameter.getType()).as(message).isEqualTo(expectedFormParameter.getType());
+                violations.assertEqual(actualFormParameter.getType(), expectedFormParameter.getType(), message);
                 List<String> expectedEnums = expectedFormParameter.getEnum();
                 if (CollectionUtils.isNotEmpty(expectedEnums)) {
-                    softAssertions.assertThat(actualFormParameter.getEnum()).as(message).hasSameElementsAs(expectedEnums);
+                    violations.assertSameElements(actualFormParameter.getEnum(), expectedEnums, message);
                 } else {
-                    softAssertions.assertThat(actualFormParameter.getEnum()).as(message).isNullOrEmpty();
+                    violations.assertNullOrEmpty(actualFormParameter.getEnum(), message);
                 }
             } else if (expectedParameter instanceof CookieParameter && actualParameter instanceof CookieParameter) {
                 CookieParameter actualCookieParameter = (CookieParameter) actualParameter;
                 CookieParameter expectedCookieParameter = (CookieParameter) expectedParameter;
-                softAssertions.assertThat(actualCookieParameter.getType()).as(message).isEqualTo(expectedCookieParameter.getType());
+                violations.assertEqual(actualCookieParameter.getType(), expectedCookieParameter.getType(), message);
                 List<String> expectedEnums = expectedCookieParameter.getEnum();
                 if (CollectionUtils.isNotEmpty(expectedEnums)) {
-                    softAssertions.assertThat(actualCookieParameter.getEnum()).as(message).hasSameElementsAs(expectedEnums);
+                    violations.assertSameElements(actualCookieParameter.getEnum(), expectedEnums, message);
                 } else {
-                    softAssertions.assertThat(actualCookieParameter.getEnum()).as(message).isNullOrEmpty();
+                    violations.assertNullOrEmpty(actualCookieParameter.getEnum(), message);
                 }
             } else if (expectedParameter instanceof RefParameter && actualParameter instanceof RefParameter) {
                 RefParameter expectedRefParameter = (RefParameter) expectedParameter;
                 RefParameter actualRefParameter = (RefParameter) actualParameter;
-                softAssertions.assertThat(actualRefParameter.getSimpleRef()).as(message).isEqualTo(expectedRefParameter.getSimpleRef());
+                violations.assertEqual(actualRefParameter.getSimpleRef(), expectedRefParameter.getSimpleRef(), message);
             }
         }
     }
 
     private void validateResponses(Map<String, Response> actualOperationResponses, Map<String, Response> expectedOperationResponses, String httpMethod, String path) {
-        String message = String.format("Checking responses of '%s' operation of path '%s'", httpMethod, path);
+        Description message = CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod), "Checking responses of '%s' operation of path '%s'", httpMethod, path);
         if (MapUtils.isNotEmpty(expectedOperationResponses)) {
-            softAssertions.assertThat(actualOperationResponses).as(message).isNotEmpty();
+            violations.assertNotEmpty(actualOperationResponses, message);
             if (MapUtils.isNotEmpty(actualOperationResponses)) {
                 validateResponseByConfig(actualOperationResponses, expectedOperationResponses, message);
                 for (Map.Entry<String, Response> actualResponseEntry : actualOperationResponses.entrySet()) {
@@ -364,51 +505,52 @@ class DocumentationDrivenValidator extends AbstractContractValidator {
                 }
             }
         } else {
-            softAssertions.assertThat(actualOperationResponses).as(message).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualOperationResponses, message);
         }
     }
 
-    private void validateResponseByConfig(Map<String, Response> actualOperationResponses, Map<String, Response> expectedOperationResponses, String message) {
+    private void validateResponseByConfig(Map<String, Response> actualOperationResponses, Map<String, Response> expectedOperationResponses, Description message) {
         if(isAssertionEnabled(SwaggerAssertionType.STRICT_VALIDATION_ON_PATH)) {
-            softAssertions.assertThat(actualOperationResponses.keySet()).as(message).hasSameElementsAs(expectedOperationResponses.keySet());
+            violations.assertSameKeys(actualOperationResponses.keySet(), expectedOperationResponses.keySet(),
+                    CheckDescription.withAssertionType(message, SwaggerAssertionType.STRICT_VALIDATION_ON_PATH));
         } else {
-            softAssertions.assertThat(actualOperationResponses.keySet()).as(message).containsAll(expectedOperationResponses.keySet());
+            violations.assertContainsKeys(actualOperationResponses.keySet(), expectedOperationResponses.keySet(), message);
         }
     }
 
     private void validateResponse(Response actualResponse, Response expectedResponse, String responseName, String httpMethod, String path) {
         if (expectedResponse != null) {
-            validateProperty(actualResponse.getSchema(), expectedResponse.getSchema(), String.format("Checking response schema of response '%s' of '%s' operation of path '%s'", responseName, httpMethod, path));
+            validateProperty(actualResponse.getSchema(), expectedResponse.getSchema(), CheckDescription.of(SwaggerAssertionType.PROPERTIES, ViolationLocation.ofOperation(path, httpMethod).withResponse(responseName), "Checking response schema of response '%s' of '%s' operation of path '%s'", responseName, httpMethod, path));
             validateResponseHeaders(actualResponse.getHeaders(), expectedResponse.getHeaders(), responseName, httpMethod, path);
         }
     }
 
     private void validateResponseHeaders(Map<String, Property> actualResponseHeaders, Map<String, Property> expectedResponseHeaders, String responseName, String httpMethod, String path) {
-        String message = String.format("Checking response headers of response '%s' of '%s' operation of path '%s'", responseName, httpMethod, path);
+        Description message = CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofOperation(path, httpMethod).withResponse(responseName), "Checking response headers of response '%s' of '%s' operation of path '%s'", responseName, httpMethod, path);
         if (MapUtils.isNotEmpty(expectedResponseHeaders)) {
-            softAssertions.assertThat(actualResponseHeaders).as(message).isNotEmpty();
+            violations.assertNotEmpty(actualResponseHeaders, message);
             if (MapUtils.isNotEmpty(actualResponseHeaders)) {
-                softAssertions.assertThat(actualResponseHeaders.keySet()).as(message).hasSameElementsAs(expectedResponseHeaders.keySet());
+                violations.assertSameKeys(actualResponseHeaders.keySet(), expectedResponseHeaders.keySet(), message);
                 for (Map.Entry<String, Property> actualResponseHeaderEntry : actualResponseHeaders.entrySet()) {
                     Property expectedResponseHeader = expectedResponseHeaders.get(actualResponseHeaderEntry.getKey());
                     Property actualResponseHeader = actualResponseHeaderEntry.getValue();
                     String responseHeaderName = actualResponseHeaderEntry.getKey();
-                    validateProperty(actualResponseHeader, expectedResponseHeader, String.format("Checking response header '%s' of response '%s' of '%s' operation of path '%s'", responseHeaderName, responseName, httpMethod, path));
+                    validateProperty(actualResponseHeader, expectedResponseHeader, CheckDescription.of(SwaggerAssertionType.PROPERTIES, ViolationLocation.ofOperation(path, httpMethod).withResponse(responseName).withProperty(responseHeaderName), "Checking response header '%s' of response '%s' of '%s' operation of path '%s'", responseHeaderName, responseName, httpMethod, path));
                 }
             }
         } else {
-            softAssertions.assertThat(actualResponseHeaders).as(message).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualResponseHeaders, message);
         }
     }
 
-    private void validateList(List<String> actualList, List<String> expectedList, String message) {
+    private void validateList(List<String> actualList, List<String> expectedList, Description message) {
         if (CollectionUtils.isNotEmpty(expectedList)) {
-            softAssertions.assertThat(actualList).as(message).isNotEmpty();
+            violations.assertNotEmpty(actualList, message);
             if (CollectionUtils.isNotEmpty(actualList)) {
-                softAssertions.assertThat(actualList).as(message).hasSameElementsAs(expectedList);
+                violations.assertSameKeys(actualList, expectedList, message);
             }
         } else {
-            softAssertions.assertThat(actualList).as(message).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualList, message);
         }
     }
 
@@ -418,18 +560,12 @@ class DocumentationDrivenValidator extends AbstractContractValidator {
 
     private Set<String> filterWhitelistedPropertyNames(String definitionName, Set<String> expectedPropertyNames) {
         Set<String> result = new HashSet<>(expectedPropertyNames.size());
-        final Set<String> ignoredPropertyNames = assertionConfig.getPropertiesToIgnoreInExpected();
+        final GlobMatcher ignoredPropertyNames = assertionConfig.getPropertiesToIgnoreMatcher();
         for (String property : expectedPropertyNames) {
-            if (!ignoredPropertyNames.contains(definitionName + '.' + property)) {
+            if (!ignoredPropertyNames.matches(definitionName, property)) {
                 result.add(property);
             }
         }
         return result;
     }
-
-    private <K, V> Map<K, V> removeAllFromMap(Map<K, V> map, Set<K> keysToExclude) {
-        final LinkedHashMap<K, V> result = new LinkedHashMap<>(map);
-        result.keySet().removeAll(keysToExclude);
-        return result;
-    }
 }
@@ -0,0 +1,100 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Compares two objects by a fixed set of fields, which are read with plain accessors instead of reflection. The field
+ * names are the ones AssertJ uses for {@code isEqualToComparingOnlyGivenFields} and
+ * {@code usingElementComparatorOnFields}, so that a mismatch can be reported with AssertJ's message.
+ *
+ * @param <T> the type of the compared objects
+ */
+final class FieldsComparator<T> {
+
+    private final String[] fieldNames;
+    private final Function<? super T, ?>[] accessors;
+
+    private FieldsComparator(String[] fieldNames, Function<? super T, ?>[] accessors) {
+        this.fieldNames = fieldNames;
+        this.accessors = accessors;
+    }
+
+    @SafeVarargs
+    static <T> FieldsComparator<T> of(Field<T>... fields) {
+        String[] fieldNames = new String[fields.length];
+        @SuppressWarnings("unchecked")
+        Function<? super T, ?>[] accessors = new Function[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            fieldNames[i] = fields[i].name;
+            accessors[i] = fields[i].accessor;
+        }
+        return new FieldsComparator<>(fieldNames, accessors);
+    }
+
+    static <T> Field<T> field(String name, Function<? super T, ?> accessor) {
+        return new Field<>(name, accessor);
+    }
+
+    /**
+     * @return {@code true} if all fields of both objects are equal, comparing arrays by their content
+     */
+    boolean fieldsEqual(T actual, T expected) {
+        for (Function<? super T, ?> accessor : accessors) {
+            if (!Objects.deepEquals(accessor.apply(actual), accessor.apply(expected))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the values of the compared fields, which can serve as a hash key. Two keys are equal if the fields are
+     * equal, unless a field holds an array.
+     *
+     * @param object the object to get the key of
+     * @return the field values in field order
+     */
+    List<Object> key(T object) {
+        Object[] values = new Object[accessors.length];
+        for (int i = 0; i < accessors.length; i++) {
+            values[i] = accessors[i].apply(object);
+        }
+        return Arrays.asList(values);
+    }
+
+    String[] fieldNames() {
+        return fieldNames.clone();
+    }
+
+    static final class Field<T> {
+
+        private final String name;
+        private final Function<? super T, ?> accessor;
+
+        private Field(String name, Function<? super T, ?> accessor) {
+            this.name = name;
+            this.accessor = accessor;
+        }
+    }
+}
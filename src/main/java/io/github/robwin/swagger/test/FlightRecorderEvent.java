@@ -0,0 +1,84 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+/**
+ * A JDK Flight Recorder event for the parsing of a Swagger file, the resolution of the definitions of a schema or the
+ * validation of a single path or definition.
+ * <p>
+ * This class is used on Java 8 and records nothing. On Java 11 and later, the variant in {@code src/main/java11}, which
+ * is packaged under {@code META-INF/versions/11} of the multi-release jar, commits {@code jdk.jfr} events in the
+ * {@code assertj-swagger} category while a recording is running.
+ * </p>
+ */
+class FlightRecorderEvent {
+
+    private static final FlightRecorderEvent DISABLED = new FlightRecorderEvent();
+
+    private FlightRecorderEvent() {
+    }
+
+    /**
+     * @param location the location of the parsed Swagger file
+     * @return the started event, to be committed with {@link #commit()}
+     */
+    static FlightRecorderEvent parsing(String location) {
+        return DISABLED;
+    }
+
+    /**
+     * @param schemaTitle the title of the schema whose definitions are resolved
+     * @return the started event, to be committed with {@link #commitResolved(int)}
+     */
+    static FlightRecorderEvent resolution(String schemaTitle) {
+        return DISABLED;
+    }
+
+    /**
+     * @param pathName the name of the validated path, including the base path
+     * @return the started event, to be committed with {@link #commitValidated(int, int)}
+     */
+    static FlightRecorderEvent pathValidation(String pathName) {
+        return DISABLED;
+    }
+
+    /**
+     * @param definitionName the name of the validated definition
+     * @return the started event, to be committed with {@link #commitValidated(int, int)}
+     */
+    static FlightRecorderEvent definitionValidation(String definitionName) {
+        return DISABLED;
+    }
+
+    void commit() {
+    }
+
+    /**
+     * @param definitionCount the number of resolved definitions
+     */
+    void commitResolved(int definitionCount) {
+    }
+
+    /**
+     * @param checks     the number of checks made
+     * @param violations the number of violations found
+     */
+    void commitValidated(int checks, int violations) {
+    }
+}
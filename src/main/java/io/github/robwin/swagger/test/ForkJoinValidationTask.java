@@ -0,0 +1,93 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import org.assertj.core.api.AssertionErrorCollector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Validates a list of elements on a fork/join pool. The list is split in halves until a chunk contains at most
+ * {@code threshold} elements; each chunk is validated with its own {@link ViolationCollector}. The collectors of all
+ * chunks are returned in list order, so that merging them does not depend on thread scheduling.
+ *
+ * @param <E> the type of the validated elements
+ */
+class ForkJoinValidationTask<E> extends RecursiveTask<List<ViolationCollector>> {
+
+    private final List<E> elements;
+    private final int threshold;
+    private final Supplier<ViolationCollector> collectorFactory;
+    private final BiConsumer<List<E>, AssertionErrorCollector> chunkValidator;
+
+    /**
+     * @param elements         the elements to validate
+     * @param threshold        the maximum number of elements validated by a single task
+     * @param collectorFactory creates the collector of a chunk
+     * @param chunkValidator   validates a chunk of elements and reports the errors found to the given collector
+     */
+    ForkJoinValidationTask(List<E> elements, int threshold, Supplier<ViolationCollector> collectorFactory,
+                           BiConsumer<List<E>, AssertionErrorCollector> chunkValidator) {
+        this.elements = elements;
+        this.threshold = Math.max(1, threshold);
+        this.collectorFactory = collectorFactory;
+        this.chunkValidator = chunkValidator;
+    }
+
+    /**
+     * Validates the given elements on the fork/join pool of the calling thread, or on the common pool if the calling
+     * thread doesn't belong to one.
+     *
+     * @param elements         the elements to validate
+     * @param threshold        the maximum number of elements validated by a single task
+     * @param collectorFactory creates the collector of a chunk
+     * @param chunkValidator   validates a chunk of elements and reports the errors found to the given collector
+     * @param <E>              the type of the validated elements
+     * @return the collectors of all chunks, in the order of the elements
+     */
+    static <E> List<ViolationCollector> validate(Collection<E> elements, int threshold, Supplier<ViolationCollector> collectorFactory,
+                                                 BiConsumer<List<E>, AssertionErrorCollector> chunkValidator) {
+        ForkJoinValidationTask<E> task = new ForkJoinValidationTask<>(new ArrayList<>(elements), threshold, collectorFactory, chunkValidator);
+        return ForkJoinTask.inForkJoinPool() ? task.invoke() : ForkJoinPool.commonPool().invoke(task);
+    }
+
+    @Override
+    protected List<ViolationCollector> compute() {
+        if (elements.size() <= threshold) {
+            ViolationCollector collector = collectorFactory.get();
+            chunkValidator.accept(elements, collector.errorCollector());
+            return Collections.singletonList(collector);
+        }
+        int middle = elements.size() / 2;
+        ForkJoinValidationTask<E> left = new ForkJoinValidationTask<>(elements.subList(0, middle), threshold, collectorFactory, chunkValidator);
+        ForkJoinValidationTask<E> right = new ForkJoinValidationTask<>(elements.subList(middle, elements.size()), threshold, collectorFactory, chunkValidator);
+        right.fork();
+        List<ViolationCollector> collectors = new ArrayList<>(left.compute());
+        collectors.addAll(right.join());
+        return collectors;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches keys against a set of glob patterns. A {@code *} matches any characters except the separator, a {@code **}
+ * matches any characters including the separator, every other character matches itself. A backslash makes the
+ * following character, e.g. a {@code *}, match itself. A pattern ending with the separator followed by {@code **}, like
+ * {@code /internal/**}, also matches the key without this suffix.
+ * <p>
+ * All patterns are compiled into a single trie, which is run as a nondeterministic automaton. Patterns without
+ * wildcards are therefore matched by a single walk down the trie, so a lookup takes time linear in the length of the
+ * key regardless of the number of patterns. Keys consisting of two parts are matched without concatenating them.
+ * Matchers are immutable and thread-safe.
+ * </p>
+ */
+final class GlobMatcher {
+
+    /**
+     * The separator of matchers whose {@code *} matches any characters.
+     */
+    static final char NO_SEPARATOR = '\0';
+
+    private static final int LITERAL = 0;
+    private static final int STAR = 1;
+    private static final int DOUBLE_STAR = 2;
+
+    private final Node root = new Node(LITERAL);
+    private final char separator;
+    private final boolean empty;
+    private final boolean literalOnly;
+
+    private GlobMatcher(Collection<String> patterns, char separator) {
+        this.separator = separator;
+        this.empty = patterns.isEmpty();
+        String doubleStarSuffix = separator + "**";
+        boolean wildcards = false;
+        for (String pattern : patterns) {
+            wildcards |= add(pattern);
+            if (separator != NO_SEPARATOR && pattern.endsWith(doubleStarSuffix)) {
+                wildcards |= add(pattern.substring(0, pattern.length() - doubleStarSuffix.length()));
+            }
+        }
+        this.literalOnly = !wildcards;
+    }
+
+    /**
+     * @param patterns  the glob patterns
+     * @param separator the character which {@code *} doesn't match, or {@link #NO_SEPARATOR}
+     * @return a matcher for the patterns
+     */
+    static GlobMatcher compile(Collection<String> patterns, char separator) {
+        return new GlobMatcher(patterns, separator);
+    }
+
+    /**
+     * @return {@code true} if there are no patterns, so nothing matches
+     */
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @param key the key to match
+     * @return {@code true} if any pattern matches the key
+     */
+    boolean matches(String key) {
+        if (literalOnly) {
+            Node node = walk(root, key);
+            return node != null && node.terminal;
+        }
+        return isTerminal(feed(start(), key));
+    }
+
+    /**
+     * Matches the key {@code first + separator + second} without building it.
+     *
+     * @param first  the first part of the key
+     * @param second the second part of the key
+     * @return {@code true} if any pattern matches the key
+     */
+    boolean matches(String first, String second) {
+        if (literalOnly) {
+            Node node = walk(root, first);
+            node = node != null ? node.children.get(separator) : null;
+            node = node != null ? walk(node, second) : null;
+            return node != null && node.terminal;
+        }
+        return isTerminal(feed(step(feed(start(), first), separator), second));
+    }
+
+    /**
+     * @param first the first part of a key
+     * @return {@code true} if any pattern can match a key starting with {@code first + separator}
+     */
+    boolean matchesAnyStartingWith(String first) {
+        if (literalOnly) {
+            Node node = walk(root, first);
+            return node != null && node.children.containsKey(separator);
+        }
+        return !step(feed(start(), first), separator).isEmpty();
+    }
+
+    /**
+     * @return {@code true} if the pattern contains wildcards
+     */
+    private boolean add(String pattern) {
+        boolean wildcards = false;
+        Node node = root;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length()) {
+                i++;
+                node = node.children.computeIfAbsent(pattern.charAt(i), k -> new Node(LITERAL));
+            } else if (c != '*') {
+                node = node.children.computeIfAbsent(c, k -> new Node(LITERAL));
+            } else if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+                if (node.doubleStar == null) {
+                    node.doubleStar = new Node(DOUBLE_STAR);
+                }
+                node = node.doubleStar;
+                wildcards = true;
+                i++;
+            } else {
+                if (node.star == null) {
+                    node.star = new Node(STAR);
+                }
+                node = node.star;
+                wildcards = true;
+            }
+        }
+        node.terminal = true;
+        return wildcards;
+    }
+
+    private static Node walk(Node node, String key) {
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    private Set<Node> start() {
+        Set<Node> states = new HashSet<>();
+        addWithClosure(states, root);
+        return states;
+    }
+
+    private Set<Node> feed(Set<Node> states, String key) {
+        for (int i = 0; i < key.length() && !states.isEmpty(); i++) {
+            states = step(states, key.charAt(i));
+        }
+        return states;
+    }
+
+    private Set<Node> step(Set<Node> states, char c) {
+        Set<Node> next = new HashSet<>();
+        for (Node state : states) {
+            Node child = state.children.get(c);
+            if (child != null) {
+                addWithClosure(next, child);
+            }
+            if (state.loop == DOUBLE_STAR || (state.loop == STAR && c != separator)) {
+                addWithClosure(next, state);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Adds the node and the wildcard nodes reachable from it without consuming a character. Nodes are compared by
+     * identity, so every node is added in constant time.
+     */
+    private static void addWithClosure(Set<Node> states, Node node) {
+        if (!states.add(node)) {
+            return;
+        }
+        if (node.star != null) {
+            addWithClosure(states, node.star);
+        }
+        if (node.doubleStar != null) {
+            addWithClosure(states, node.doubleStar);
+        }
+    }
+
+    private static boolean isTerminal(Set<Node> states) {
+        for (Node state : states) {
+            if (state.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // compared by identity
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private final int loop;
+        private Node star;
+        private Node doubleStar;
+        private boolean terminal;
+
+        Node(int loop) {
+            this.loop = loop;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.models.Model;
+import io.swagger.models.Path;
+import org.assertj.core.api.AssertionErrorCollector;
+import org.assertj.core.api.DefaultAssertionErrorCollector;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.ToIntFunction;
+
+/**
+ * Decides for every path and definition of a single validation whether it has to be validated.
+ * <p>
+ * Paths and definitions whose {@link StructuralFingerprint}s are the same on both sides are skipped. If a
+ * {@link ValidationBaseline} is configured, the verdicts of all other paths and definitions are looked up in the
+ * baseline and replayed if both fingerprints are unchanged since they were stored; otherwise they are validated and the
+ * verdict is stored. With {@code fullValidation}, everything is validated and the baseline is only updated.
+ * </p>
+ */
+class IncrementalValidation {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final SwaggerAssertionConfig assertionConfig;
+    private final SchemaObjectResolver schemaObjectResolver;
+    private final ValidationBaseline baseline;
+    private final HashCode validationFingerprint;
+
+    /**
+     * @param validationName       the name of the validation, which distinguishes the verdicts of different validators
+     * @param assertionConfig      assertion configuration
+     * @param schemaObjectResolver the resolver of the validated schemas
+     * @param baseline             the baseline or {@code null}
+     */
+    IncrementalValidation(String validationName, SwaggerAssertionConfig assertionConfig, SchemaObjectResolver schemaObjectResolver, ValidationBaseline baseline) {
+        this.assertionConfig = assertionConfig;
+        this.schemaObjectResolver = schemaObjectResolver;
+        this.baseline = baseline;
+        this.validationFingerprint = baseline != null ? fingerprintOf(validationName, assertionConfig) : null;
+    }
+
+    /**
+     * Validates a path unless it can be skipped or its verdict can be replayed.
+     *
+     * @param pathName     the name of the path
+     * @param actualPath   the actual path
+     * @param expectedPath the expected path
+     * @param violations   the collector to report the violations of the path to
+     * @param validation   validates the path, reports its violations to the given collector and returns the number of
+     *                     checks made
+     * @return the number of checks made, {@code 0} if the path was skipped or its verdict was replayed
+     */
+    int validatePath(String pathName, Path actualPath, Path expectedPath, ViolationCollector violations, ToIntFunction<AssertionErrorCollector> validation) {
+        if (!assertionConfig.isSkipIdenticalSubtrees() && baseline == null) {
+            return validation.applyAsInt(violations.errorCollector());
+        }
+        return validate("path", pathName, schemaObjectResolver.actualFingerprint(actualPath), schemaObjectResolver.expectedFingerprint(expectedPath),
+                true, violations, validation);
+    }
+
+    /**
+     * Validates a definition unless it can be skipped or its verdict can be replayed. Identical definitions are only
+     * skipped if none of their properties are ignored, because ignoring a property in the expected definition makes it
+     * unexpected in the actual one.
+     *
+     * @param definitionName     the name of the definition
+     * @param actualDefinition   the actual definition
+     * @param expectedDefinition the expected definition
+     * @param violations         the collector to report the violations of the definition to
+     * @param validation         validates the definition, reports its violations to the given collector and returns the
+     *                           number of checks made
+     * @return the number of checks made, {@code 0} if the definition was skipped or its verdict was replayed
+     */
+    int validateDefinition(String definitionName, Model actualDefinition, Model expectedDefinition, ViolationCollector violations, ToIntFunction<AssertionErrorCollector> validation) {
+        if (!assertionConfig.isSkipIdenticalSubtrees() && baseline == null) {
+            return validation.applyAsInt(violations.errorCollector());
+        }
+        return validate("definition", definitionName, schemaObjectResolver.actualFingerprint(actualDefinition), schemaObjectResolver.expectedFingerprint(expectedDefinition),
+                !hasIgnoredProperties(definitionName), violations, validation);
+    }
+
+    private int validate(String kind, String name, HashCode actualFingerprint, HashCode expectedFingerprint, boolean skipIfIdentical,
+                         ViolationCollector violations, ToIntFunction<AssertionErrorCollector> validation) {
+        if (skipIfIdentical && assertionConfig.isSkipIdenticalSubtrees() && actualFingerprint.equals(expectedFingerprint)) {
+            return 0;
+        }
+        if (baseline == null) {
+            return validation.applyAsInt(violations.errorCollector());
+        }
+        HashCode key = HASH_FUNCTION.newHasher()
+                .putBytes(validationFingerprint.asBytes())
+                .putString(kind, StandardCharsets.UTF_8)
+                .putString(name, StandardCharsets.UTF_8)
+                .putBytes(actualFingerprint.asBytes())
+                .putBytes(expectedFingerprint.asBytes())
+                .hash();
+        List<ValidationBaseline.Violation> verdict = assertionConfig.isFullValidation() ? null : baseline.verdict(key);
+        if (verdict != null) {
+            for (ValidationBaseline.Violation violation : verdict) {
+                violations.collectAssertionError(violation.toAssertionError());
+            }
+            return 0;
+        }
+        // the violations are passed on as they are found, so that only their details are kept for the verdict
+        List<ValidationBaseline.Violation> verdictToStore = new ArrayList<>();
+        int checks = validation.applyAsInt(new DefaultAssertionErrorCollector() {
+            @Override
+            public void collectAssertionError(AssertionError error) {
+                verdictToStore.add(ValidationBaseline.Violation.of(error));
+                violations.collectAssertionError(error);
+            }
+        });
+        baseline.record(key, verdictToStore);
+        return checks;
+    }
+
+    private boolean hasIgnoredProperties(String definitionName) {
+        return assertionConfig.getPropertiesToIgnoreMatcher().matchesAnyStartingWith(definitionName);
+    }
+
+    /**
+     * Hashes everything a verdict depends on besides the validated path or definition itself.
+     */
+    private static HashCode fingerprintOf(String validationName, SwaggerAssertionConfig assertionConfig) {
+        Hasher hasher = HASH_FUNCTION.newHasher().putString(validationName, StandardCharsets.UTF_8);
+        for (SwaggerAssertionType assertionType : SwaggerAssertionType.values()) {
+            hasher.putString(assertionType.name(), StandardCharsets.UTF_8)
+                  .putBoolean(assertionConfig.swaggerAssertionEnabled(assertionType));
+        }
+        for (String ignoredPropertyName : new TreeSet<>(assertionConfig.getPropertiesToIgnoreInExpected())) {
+            hasher.putString(ignoredPropertyName, StandardCharsets.UTF_8).putChar(',');
+        }
+        return hasher.hash();
+    }
+}
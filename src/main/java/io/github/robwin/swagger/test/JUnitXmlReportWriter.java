@@ -0,0 +1,200 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.google.common.io.CharStreams;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A {@link ViolationSink} which writes the violations as a JUnit XML report to a file, as soon as they are found, so
+ * that CI servers can show them like failed tests.
+ * <p>
+ * Every validation becomes a {@code testsuite} named after the validation, like
+ * {@code documentation-driven: Swagger Petstore}, and every violation a failed {@code testcase} named after its
+ * {@link ViolationLocation}, whose {@code failure} has the {@link SwaggerAssertionType} as type and the expected and
+ * actual values as text. A validation without violations is reported as a single passed {@code testcase}, so the
+ * {@code tests} count of a suite is always the number of its {@code testcase} elements and {@code failures} the number
+ * of those which failed. The test cases of a suite are written to a temporary file until its validation is finished,
+ * so that the {@code testsuite} element can carry the counts, while the memory used doesn't depend on the number of
+ * violations.
+ * </p>
+ * <p>
+ * A writer can be registered with any number of assertions and must be closed afterwards, which completes the report.
+ * It is thread-safe, but assertions sharing a writer must not run concurrently, as their test suites would be mixed.
+ * </p>
+ */
+public class JUnitXmlReportWriter implements ViolationSink, Closeable {
+
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+    private final Writer out;
+    private final XMLStreamWriter xml;
+    private final String suiteName;
+    private final Path testCasesFile;
+    private String validationName;
+    private Writer testCasesOut;
+    private XMLStreamWriter testCases;
+    private int failureCount;
+
+    /**
+     * Creates the given file, or truncates it if it exists.
+     *
+     * @param file      the file to write the report to
+     * @param suiteName the name of the test suites of validations which don't {@link #validationStarted(String) tell}
+     *                  their name
+     * @throws IOException if the file cannot be opened
+     */
+    public JUnitXmlReportWriter(Path file, String suiteName) throws IOException {
+        this.testCasesFile = Files.createTempFile("assertj-swagger-testcases", ".xml");
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        this.suiteName = suiteName;
+        try {
+            this.xml = xmlOutputFactory.createXMLStreamWriter(out);
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            xml.writeStartElement("testsuites");
+        } catch (XMLStreamException e) {
+            out.close();
+            Files.deleteIfExists(testCasesFile);
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void validationStarted(String validationName) {
+        this.validationName = validationName;
+    }
+
+    @Override
+    public synchronized void violationFound(SwaggerViolation violation) {
+        try {
+            startSuite();
+            String location = violation.getLocation().toString();
+            testCases.writeStartElement("testcase");
+            testCases.writeAttribute("classname", currentSuiteName());
+            testCases.writeAttribute("name", location.isEmpty() ? violation.getMessage() : location);
+            testCases.writeStartElement("failure");
+            testCases.writeAttribute("message", violation.getMessage());
+            if (violation.getAssertionType() != null) {
+                testCases.writeAttribute("type", violation.getAssertionType().name());
+            }
+            testCases.writeCharacters(failureText(violation));
+            testCases.writeEndElement();
+            testCases.writeEndElement();
+            failureCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            throw new UncheckedIOException(new IOException(e));
+        }
+    }
+
+    @Override
+    public synchronized void validationFinished(int violationCount) {
+        try {
+            writeSuite();
+            xml.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            throw new UncheckedIOException(new IOException(e));
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (testCases != null) {
+                writeSuite();
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            out.close();
+            Files.deleteIfExists(testCasesFile);
+        }
+    }
+
+    private void startSuite() throws IOException, XMLStreamException {
+        if (testCases == null) {
+            testCasesOut = Files.newBufferedWriter(testCasesFile, StandardCharsets.UTF_8);
+            testCases = xmlOutputFactory.createXMLStreamWriter(testCasesOut);
+            failureCount = 0;
+        }
+    }
+
+    private String currentSuiteName() {
+        return validationName != null ? validationName : suiteName;
+    }
+
+    /**
+     * Writes the {@code testsuite} element with its counts, followed by the test cases written so far.
+     */
+    private void writeSuite() throws IOException, XMLStreamException {
+        String name = currentSuiteName();
+        validationName = null;
+        xml.writeStartElement("testsuite");
+        xml.writeAttribute("name", name);
+        if (testCases == null) {
+            // a single passed test case
+            xml.writeAttribute("tests", "1");
+            xml.writeAttribute("failures", "0");
+            xml.writeAttribute("errors", "0");
+            xml.writeEmptyElement("testcase");
+            xml.writeAttribute("classname", name);
+            xml.writeAttribute("name", name);
+        } else {
+            // every test case written for a violation failed
+            xml.writeAttribute("tests", String.valueOf(failureCount));
+            xml.writeAttribute("failures", String.valueOf(failureCount));
+            xml.writeAttribute("errors", "0");
+            testCases.flush();
+            testCases.close();
+            testCasesOut.close();
+            testCases = null;
+            failureCount = 0;
+            // complete the start tag, so that the test cases can be copied behind it
+            xml.writeCharacters("");
+            xml.flush();
+            try (Reader in = Files.newBufferedReader(testCasesFile, StandardCharsets.UTF_8)) {
+                CharStreams.copy(in, out);
+            }
+        }
+        xml.writeEndElement();
+    }
+
+    private static String failureText(SwaggerViolation violation) {
+        if (violation.getExpected() == null && violation.getActual() == null) {
+            return violation.getMessage();
+        }
+        return String.format("expected: %s%nactual: %s", violation.getExpected(), violation.getActual());
+    }
+}
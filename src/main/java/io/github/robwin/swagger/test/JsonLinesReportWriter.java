@@ -0,0 +1,102 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import io.swagger.util.Json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A {@link ViolationSink} which writes every violation as a single line of JSON to a file, as soon as it is found.
+ * <p>
+ * Each line is an object with the {@code message} of the violation and, as far as they are known, its
+ * {@code assertionType}, the {@code path}, {@code httpMethod}, {@code parameter}, {@code response}, {@code definition}
+ * and {@code property} it was found in, and the {@code expected} and {@code actual} values. Unknown fields are omitted.
+ * The violations are written through a buffered writer, so the memory used doesn't depend on their number; the writer
+ * is flushed when a validation is finished.
+ * </p>
+ * <p>
+ * A writer can be registered with any number of assertions and must be closed afterwards. It is thread-safe.
+ * </p>
+ */
+public class JsonLinesReportWriter implements ViolationSink, Closeable {
+
+    private final JsonGenerator generator;
+
+    /**
+     * Creates the given file, or truncates it if it exists.
+     *
+     * @param file the file to write the report to
+     * @throws IOException if the file cannot be opened
+     */
+    public JsonLinesReportWriter(Path file) throws IOException {
+        this.generator = Json.mapper().getFactory().createGenerator(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+        // every object ends its own line, so the objects need no separator
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+    }
+
+    @Override
+    public synchronized void violationFound(SwaggerViolation violation) {
+        try {
+            ViolationLocation location = violation.getLocation();
+            generator.writeStartObject();
+            generator.writeStringField("message", violation.getMessage());
+            writeField("assertionType", violation.getAssertionType() != null ? violation.getAssertionType().name() : null);
+            writeField("path", location.getPath());
+            writeField("httpMethod", location.getHttpMethod());
+            writeField("parameter", location.getParameter());
+            writeField("response", location.getResponse());
+            writeField("definition", location.getDefinition());
+            writeField("property", location.getProperty());
+            writeField("expected", violation.getExpected());
+            writeField("actual", violation.getActual());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void validationFinished(int violationCount) {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        generator.close();
+    }
+
+    private void writeField(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+}
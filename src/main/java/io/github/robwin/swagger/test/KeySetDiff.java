@@ -0,0 +1,141 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import org.assertj.core.description.Description;
+import org.assertj.core.presentation.StandardRepresentation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.error.DescriptionFormatter.*;
+
+/**
+ * The difference between an actual and an expected set of keys, e.g. the paths, definitions, responses or response
+ * headers of two Swagger models. The difference is computed in linear time using hash sets, and at most
+ * {@link #MAX_REPORTED_KEYS} keys of each kind are reported in failure messages.
+ */
+final class KeySetDiff {
+
+    static final int MAX_REPORTED_KEYS = 10;
+
+    private final int actualSize;
+    private final int expectedSize;
+    private final List<Object> missing;
+    private final List<Object> unexpected;
+
+    private KeySetDiff(int actualSize, int expectedSize, List<Object> missing, List<Object> unexpected) {
+        this.actualSize = actualSize;
+        this.expectedSize = expectedSize;
+        this.missing = missing;
+        this.unexpected = unexpected;
+    }
+
+    /**
+     * Computes the difference between two collections of keys. Duplicate keys are ignored.
+     *
+     * @param actual   the actual keys, {@code null} is treated as no keys
+     * @param expected the expected keys, {@code null} is treated as no keys
+     * @return the difference
+     */
+    static KeySetDiff of(Collection<?> actual, Collection<?> expected) {
+        Collection<?> actualKeys = actual != null ? actual : Collections.emptySet();
+        Collection<?> expectedKeys = expected != null ? expected : Collections.emptySet();
+        return new KeySetDiff(actualKeys.size(), expectedKeys.size(), difference(expectedKeys, asSet(actualKeys)), difference(actualKeys, asSet(expectedKeys)));
+    }
+
+    /**
+     * @return the expected keys which are not actual keys, in the order of the expected keys
+     */
+    List<Object> missing() {
+        return Collections.unmodifiableList(missing);
+    }
+
+    /**
+     * @return the actual keys which are not expected keys, in the order of the actual keys
+     */
+    List<Object> unexpected() {
+        return Collections.unmodifiableList(unexpected);
+    }
+
+    boolean hasMissing() {
+        return !missing.isEmpty();
+    }
+
+    boolean isEmpty() {
+        return missing.isEmpty() && unexpected.isEmpty();
+    }
+
+    /**
+     * Describes the keys which differ, for a check that the actual keys are the same as the expected keys.
+     *
+     * @param description the description of the check, may be {@code null}
+     * @return the failure message
+     */
+    String sameKeysMessage(Description description) {
+        StringBuilder message = new StringBuilder(instance().format(description))
+                .append(String.format("%nExpected and actual keys differ (%d expected, %d actual)", expectedSize, actualSize));
+        appendKeys(message, "missing", missing);
+        appendKeys(message, "unexpected", unexpected);
+        return message.toString();
+    }
+
+    /**
+     * Describes the missing keys, for a check that the actual keys contain all expected keys.
+     *
+     * @param description the description of the check, may be {@code null}
+     * @return the failure message
+     */
+    String containsKeysMessage(Description description) {
+        StringBuilder message = new StringBuilder(instance().format(description))
+                .append(String.format("%nExpected keys are missing (%d expected, %d actual)", expectedSize, actualSize));
+        appendKeys(message, "missing", missing);
+        return message.toString();
+    }
+
+    private static void appendKeys(StringBuilder message, String kind, List<Object> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        message.append(String.format("%n%s (%d):%n  ", kind, keys.size()))
+               .append(StandardRepresentation.STANDARD_REPRESENTATION.toStringOf(keys.subList(0, Math.min(keys.size(), MAX_REPORTED_KEYS))));
+        if (keys.size() > MAX_REPORTED_KEYS) {
+            message.append(" and ").append(keys.size() - MAX_REPORTED_KEYS).append(" more");
+        }
+    }
+
+    private static List<Object> difference(Collection<?> keys, Set<?> keysToExclude) {
+        List<Object> difference = new ArrayList<>();
+        Set<Object> seen = new HashSet<>();
+        for (Object key : keys) {
+            if (!keysToExclude.contains(key) && seen.add(key)) {
+                difference.add(key);
+            }
+        }
+        return difference;
+    }
+
+    private static Set<?> asSet(Collection<?> keys) {
+        return keys instanceof Set ? (Set<?>) keys : new HashSet<>(keys);
+    }
+}
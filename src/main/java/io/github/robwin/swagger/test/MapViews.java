@@ -0,0 +1,154 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Read-only views of the path and definition maps of a schema, which keep the iteration order of the underlying map.
+ * Prefixed views don't copy the underlying map but apply the prefix on every access, so they reflect later changes of
+ * the underlying map. Ignored keys are left out of a copy instead, so that the patterns are matched only once per key
+ * rather than on every {@code size()}, {@code isEmpty()} or {@code equals()} call.
+ */
+final class MapViews {
+
+    private MapViews() {
+    }
+
+    /**
+     * Returns a view in which every key is prefixed. Lookups strip the prefix, so only the iterated keys are built.
+     *
+     * @param map    the underlying map
+     * @param prefix the prefix of every key
+     * @param <V>    the type of the values
+     * @return the prefixed view or {@code null} if the map is {@code null}
+     */
+    static <V> Map<String, V> withKeyPrefix(Map<String, V> map, String prefix) {
+        if (map == null) {
+            return null;
+        }
+        return prefix.isEmpty() ? Collections.unmodifiableMap(map) : new PrefixedKeyMap<>(map, prefix);
+    }
+
+    /**
+     * Returns the map without the keys matched by the given patterns. Unless there are no patterns, the remaining
+     * entries are copied, so the result doesn't reflect later changes of the underlying map.
+     *
+     * @param map           the underlying map
+     * @param keysToExclude the patterns of the keys to leave out
+     * @param <V>           the type of the values
+     * @return the filtered map or {@code null} if the map is {@code null}
+     */
+    static <V> Map<String, V> withoutKeys(Map<String, V> map, GlobMatcher keysToExclude) {
+        if (map == null) {
+            return null;
+        }
+        if (keysToExclude.isEmpty()) {
+            return Collections.unmodifiableMap(map);
+        }
+        Map<String, V> filtered = new LinkedHashMap<>();
+        for (Map.Entry<String, V> entry : map.entrySet()) {
+            if (!keysToExclude.matches(entry.getKey())) {
+                filtered.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(filtered);
+    }
+
+    private static final class PrefixedKeyMap<V> extends AbstractMap<String, V> {
+
+        private final Map<String, V> map;
+        private final String prefix;
+        private final Set<Entry<String, V>> entrySet = new AbstractSet<Entry<String, V>>() {
+
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                Iterator<Entry<String, V>> entries = map.entrySet().iterator();
+                return new Iterator<Entry<String, V>>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, V> next() {
+                        Entry<String, V> entry = entries.next();
+                        return new SimpleImmutableEntry<>(prefix + entry.getKey(), entry.getValue());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                Entry<?, ?> entry = (Entry<?, ?>) o;
+                return containsKey(entry.getKey()) && Objects.equals(get(entry.getKey()), entry.getValue());
+            }
+        };
+
+        PrefixedKeyMap(Map<String, V> map, String prefix) {
+            this.map = map;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return hasPrefix(key) && map.containsKey(((String) key).substring(prefix.length()));
+        }
+
+        @Override
+        public V get(Object key) {
+            return hasPrefix(key) ? map.get(((String) key).substring(prefix.length())) : null;
+        }
+
+        @Override
+        public Set<Entry<String, V>> entrySet() {
+            return entrySet;
+        }
+
+        private boolean hasPrefix(Object key) {
+            return key instanceof String && ((String) key).startsWith(prefix);
+        }
+    }
+}
@@ -8,44 +8,67 @@ import io.swagger.models.properties.StringProperty;
 import java.util.List;
 import org.apache.commons.collections.CollectionUtils;
 import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.description.Description;
+
+import static io.github.robwin.swagger.test.FieldsComparator.field;
 
 public class PropertyValidator {
 
     /**
      * Basic properties that impacts swagger contract.
      */
-    private static final String[] BASIC_PROPERTIES = {"type", "format", "allowEmptyValue", "name", "required",
-        "readOnly", "access", "vendorExtensions"};
+    private static final FieldsComparator<Property> BASIC_PROPERTIES = FieldsComparator.of(
+        field("type", Property::getType),
+        field("format", Property::getFormat),
+        field("allowEmptyValue", Property::getAllowEmptyValue),
+        field("name", Property::getName),
+        field("required", Property::getRequired),
+        field("readOnly", Property::getReadOnly),
+        field("access", Property::getAccess),
+        field("vendorExtensions", Property::getVendorExtensions));
 
     private SwaggerAssertionConfig assertionConfig;
-    private SoftAssertions softAssertions;
+    private ViolationCollector violations;
 
+    /**
+     * Creates a validator which reports its violations to the given soft assertions.
+     *
+     * @param assertionConfig the configuration of the enabled assertion types
+     * @param softAssertions  the soft assertions to report violations to
+     * @deprecated the validators report to a {@link ViolationCollector}, which is cheaper than soft assertions; this
+     * constructor only remains for callers which created property validators themselves
+     */
+    @Deprecated
     public PropertyValidator(SwaggerAssertionConfig assertionConfig, SoftAssertions softAssertions) {
+        this(assertionConfig, new ViolationCollector(softAssertions));
+    }
+
+    PropertyValidator(SwaggerAssertionConfig assertionConfig, ViolationCollector violations) {
         this.assertionConfig = assertionConfig;
-        this.softAssertions = softAssertions;
+        this.violations = violations;
     }
 
-    void validateProperty(Property actualProperty, Property expectedProperty, String message) {
+    void validateProperty(Property actualProperty, Property expectedProperty, Description message) {
         if (expectedProperty == null || !isAssertionEnabled(SwaggerAssertionType.PROPERTIES)) {
             return;
         }
 
         // TODO Validate Property schema
         if (shouldValidateRefProperty(expectedProperty)) {
-            validateBasicPropertyFeatures(actualProperty, expectedProperty, message);
+            validateBasicPropertyFeatures(actualProperty, expectedProperty, CheckDescription.withAssertionType(message, SwaggerAssertionType.REF_PROPERTIES));
             // TODO improve validation by verifying property based on RefProperty type
         } else if (shouldValidateArrayProperty(expectedProperty)) {
-            validateBasicPropertyFeatures(actualProperty, expectedProperty, message);
+            validateBasicPropertyFeatures(actualProperty, expectedProperty, CheckDescription.withAssertionType(message, SwaggerAssertionType.ARRAY_PROPERTIES));
             // TODO improve validation by verifying property based on ArrayProperty type
         } else if (shouldValidateByteArrayProperty(expectedProperty)) {
-            validateBasicPropertyFeatures(actualProperty, expectedProperty, message);
+            validateBasicPropertyFeatures(actualProperty, expectedProperty, CheckDescription.withAssertionType(message, SwaggerAssertionType.BYTE_ARRAY_PROPERTIES));
             // TODO improve validation by verifying property based on ByteArrayProperty type
         } else if (shouldValidateStringProperty(expectedProperty)) {
             StringProperty expectedStringProperty = (StringProperty) expectedProperty;
-            validateBasicPropertyFeatures(actualProperty, expectedProperty, message);
+            validateBasicPropertyFeatures(actualProperty, expectedProperty, CheckDescription.withAssertionType(message, SwaggerAssertionType.STRING_PROPERTIES));
             if (isPropertyOfEnumType(actualProperty)) {
                 StringProperty actualStringProperty = (StringProperty) actualProperty;
-                validateEnumPropertyFeatures(actualStringProperty, expectedStringProperty);
+                validateEnumPropertyFeatures(actualStringProperty, expectedStringProperty, message);
             }
         } else {
             validateBasicPropertyFeatures(actualProperty, expectedProperty, message);
@@ -76,10 +99,9 @@ public class PropertyValidator {
         return assertionConfig.swaggerAssertionEnabled(assertionType);
     }
 
-    private void validateBasicPropertyFeatures(Property actualProperty, Property expectedProperty, String message) {
-        softAssertions.assertThat(actualProperty).as(message).isExactlyInstanceOf(expectedProperty.getClass());
-        softAssertions.assertThat(actualProperty).as(message)
-            .isEqualToComparingOnlyGivenFields(expectedProperty, BASIC_PROPERTIES);
+    private void validateBasicPropertyFeatures(Property actualProperty, Property expectedProperty, Description message) {
+        violations.assertExactlyInstanceOf(actualProperty, expectedProperty.getClass(), message);
+        violations.assertEqualComparingOnlyGivenFields(actualProperty, expectedProperty, BASIC_PROPERTIES, message);
     }
 
     private boolean isPropertyOfEnumType(Property property) {
@@ -88,12 +110,13 @@ public class PropertyValidator {
     }
 
     private void validateEnumPropertyFeatures(StringProperty actualStringProperty,
-        StringProperty expectedStringProperty) {
+        StringProperty expectedStringProperty, Description message) {
         List<String> expectedEnums = expectedStringProperty.getEnum();
+        Description description = CheckDescription.undescribed(message, SwaggerAssertionType.STRING_PROPERTIES);
         if (CollectionUtils.isNotEmpty(expectedEnums)) {
-            softAssertions.assertThat(actualStringProperty.getEnum()).hasSameElementsAs(expectedEnums);
+            violations.assertSameElements(actualStringProperty.getEnum(), expectedEnums, description);
         } else {
-            softAssertions.assertThat(actualStringProperty.getEnum()).isNullOrEmpty();
+            violations.assertNullOrEmpty(actualStringProperty.getEnum(), description);
         }
     }
 
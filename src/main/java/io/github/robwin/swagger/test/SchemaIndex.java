@@ -0,0 +1,83 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.MapMaker;
+import com.google.common.hash.HashCode;
+import io.swagger.models.Model;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Everything derived from a single schema alone: its paths including the base path, the resolved properties of its
+ * definitions and the {@link StructuralFingerprint}s of its paths and definitions. An index can be shared by any
+ * number of {@link SchemaObjectResolver}s, so that validating many contracts against the same actual schema, or the
+ * same {@link ContractPlan} against many actual schemas, derives all of this only once. The index is thread-safe.
+ */
+class SchemaIndex {
+
+    private final Swagger swagger;
+    private final Supplier<Map<String, Path>> pathsIncludingBasePath;
+    private final DefinitionPropertyResolver propertyResolver;
+    private final StructuralFingerprint fingerprint;
+    private final ConcurrentMap<Object, HashCode> fingerprints = new MapMaker().weakKeys().makeMap();
+
+    SchemaIndex(Swagger swagger) {
+        this.swagger = swagger;
+        this.pathsIncludingBasePath = Suppliers.memoize(() -> swagger.getPaths() != null ?
+                Collections.unmodifiableMap(AbstractContractValidator.pathsIncludingBasePath(swagger)) : null);
+        this.propertyResolver = new DefinitionPropertyResolver(swagger);
+        this.fingerprint = new StructuralFingerprint(swagger, propertyResolver);
+    }
+
+    Swagger getSwagger() {
+        return swagger;
+    }
+
+    /**
+     * @return the unmodifiable paths of the schema, each prefixed with its base path, or {@code null}
+     */
+    Map<String, Path> getPathsIncludingBasePath() {
+        return pathsIncludingBasePath.get();
+    }
+
+    DefinitionPropertyResolver getPropertyResolver() {
+        return propertyResolver;
+    }
+
+    /**
+     * @return the fingerprint of the path, computed once per path instance
+     */
+    HashCode fingerprint(Path path) {
+        return fingerprints.computeIfAbsent(path, p -> fingerprint.ofPath((Path) p));
+    }
+
+    /**
+     * @return the fingerprint of the definition, computed once per definition instance
+     */
+    HashCode fingerprint(Model definition) {
+        return fingerprints.computeIfAbsent(definition, d -> fingerprint.ofDefinition((Model) d));
+    }
+}
@@ -18,34 +18,63 @@
  */
 package io.github.robwin.swagger.test;
 
-import io.swagger.models.ComposedModel;
+import com.google.common.hash.HashCode;
 import io.swagger.models.Model;
 import io.swagger.models.Operation;
-import io.swagger.models.RefModel;
+import io.swagger.models.Path;
 import io.swagger.models.Swagger;
 import io.swagger.models.properties.Property;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 
 /**
  * Provide a means to retrieve values from various objects in the schema.  Provides a means of falling back to 'global'
  * settings if they're not defined locally in a definition or path object.  Also permits resolving local
  * {@code $ref}-erences and types making use of {@code allOf}-style inheritance.
+ * <p>
+ * Properties are resolved separately for the expected and the actual schema by a {@link DefinitionPropertyResolver}, so
+ * every definition is only resolved once. The resolver is thread-safe.
+ * </p>
+ * <p>
+ * Paths and definitions can be compared by their {@link StructuralFingerprint}s, so that validators can skip subtrees
+ * which are identical on both sides or reuse a verdict stored in a {@link ValidationBaseline}.
+ * </p>
+ * <p>
+ * Everything derived from either schema alone is kept in a {@link SchemaIndex} per side, which may be shared by
+ * several resolvers.
+ * </p>
  */
 class SchemaObjectResolver {
 
     private Swagger expected;
     private Swagger actual;
+    private SchemaIndex expectedIndex;
+    private SchemaIndex actualIndex;
 
     SchemaObjectResolver(Swagger expected, Swagger actual) {
-        this.expected = expected;
-        this.actual = actual;
+        this(new SchemaIndex(expected), new SchemaIndex(actual));
+    }
+
+    SchemaObjectResolver(SchemaIndex expectedIndex, SchemaIndex actualIndex) {
+        this.expected = expectedIndex.getSwagger();
+        this.actual = actualIndex.getSwagger();
+        this.expectedIndex = expectedIndex;
+        this.actualIndex = actualIndex;
+    }
+
+    SchemaIndex getExpectedIndex() {
+        return expectedIndex;
+    }
+
+    SchemaIndex getActualIndex() {
+        return actualIndex;
+    }
+
+    Map<String, Path> getActualPathsIncludingBasePath() {
+        return actualIndex.getPathsIncludingBasePath();
     }
 
     List<String> getExpectedConsumes(Operation op) {
@@ -65,47 +94,27 @@ class SchemaObjectResolver {
     }
 
     Map<String, Property> resolvePropertiesFromExpected(Model definition) {
-        return resolveProperties(definition, expected, new HashSet<String>());
+        return expectedIndex.getPropertyResolver().resolveProperties(definition);
     }
 
     Map<String, Property> resolvePropertiesFromActual(Model definition) {
-        return resolveProperties(definition, actual, new HashSet<String>());
-    }
-
-    private Map<String, Property> resolveProperties(Model definition, Swagger owningSchema, Set<String> seenRefs) {
-        Map<String, Property> result;
-
-        // if the definition does not contain any property, then the model will return null instead of an empty map
-        final Map<String, Property> definitionProperties = definition.getProperties() != null ? definition.getProperties() : Collections.emptyMap();
-
-        if (definition instanceof RefModel) {
-            // Don't navigate ref-def cycles infinitely
-            final RefModel refDef = (RefModel) definition;
-
-            if (seenRefs.contains(refDef.getSimpleRef())) {
-                return Collections.emptyMap();
-            } else {
-                seenRefs.add(refDef.getSimpleRef());
-            }
-            result = resolveProperties(findDefinition(owningSchema.getDefinitions(), refDef), owningSchema, seenRefs);
-        } else if (definition instanceof ComposedModel) {
-            Map<String, Property> allProperties = new HashMap<>();
-            if (definitionProperties != null) {
-                allProperties.putAll(definitionProperties);
-            }
-            for (final Model childDefinition : ((ComposedModel) definition).getAllOf()) {
-                allProperties.putAll(resolveProperties(childDefinition, owningSchema, seenRefs));
-            }
-            result = allProperties;
-        } else {
-            result = definitionProperties;
-        }
+        return actualIndex.getPropertyResolver().resolveProperties(definition);
+    }
 
-        return result;
+    HashCode expectedFingerprint(Path path) {
+        return expectedIndex.fingerprint(path);
+    }
+
+    HashCode actualFingerprint(Path path) {
+        return actualIndex.fingerprint(path);
     }
 
-    private Model findDefinition(Map<String, Model> defs, RefModel refModel) {
-        return defs.get(refModel.getSimpleRef());
+    HashCode expectedFingerprint(Model definition) {
+        return expectedIndex.fingerprint(definition);
+    }
+
+    HashCode actualFingerprint(Model definition) {
+        return actualIndex.fingerprint(definition);
     }
 
     private <A> List<A> getListWithFallback(List<A> localDefn, List<A> globalDefn) {
@@ -119,6 +128,4 @@ class SchemaObjectResolver {
         }
         return result;
     }
-
 }
-
@@ -0,0 +1,288 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.AbstractSerializableParameter;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.RefParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes structural fingerprints of the paths and definitions of a single schema.
+ * <p>
+ * Fingerprints are built bottom-up like a Merkle tree: a path is hashed from its operations, an operation from its
+ * parameters and responses, and so on down to the properties. They cover every field the validators compare, so two
+ * subtrees with the same fingerprint pass validation without reporting any difference. Map entries are hashed in the
+ * order of their keys, so the iteration order of a map doesn't matter. The fingerprint of a path includes the global
+ * {@code consumes} and {@code produces} it falls back to, and the fingerprint of a definition includes all properties
+ * it inherits.
+ * </p>
+ * <p>
+ * Every fingerprint is computed by streaming its subtree into a single hasher. The fingerprints are stable across JVMs.
+ * Instances are thread-safe.
+ * </p>
+ */
+class StructuralFingerprint {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final int NULL = -1;
+
+    private final Swagger owningSchema;
+    private final DefinitionPropertyResolver propertyResolver;
+
+    StructuralFingerprint(Swagger owningSchema, DefinitionPropertyResolver propertyResolver) {
+        this.owningSchema = owningSchema;
+        this.propertyResolver = propertyResolver;
+    }
+
+    /**
+     * @param path a path of the schema
+     * @return the fingerprint of all operations of the path
+     */
+    HashCode ofPath(Path path) {
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        putOperation(hasher, path.getGet());
+        putOperation(hasher, path.getHead());
+        putOperation(hasher, path.getPost());
+        putOperation(hasher, path.getPut());
+        putOperation(hasher, path.getDelete());
+        putOperation(hasher, path.getPatch());
+        putOperation(hasher, path.getOptions());
+        return hasher.hash();
+    }
+
+    /**
+     * @param definition a definition of the schema
+     * @return the fingerprint of the definition and of all properties it inherits
+     */
+    HashCode ofDefinition(Model definition) {
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        putModel(hasher, definition);
+        putProperties(hasher, propertyResolver.resolveProperties(definition));
+        return hasher.hash();
+    }
+
+    private void putOperation(Hasher hasher, Operation operation) {
+        if (operation == null) {
+            hasher.putInt(NULL);
+            return;
+        }
+        putValue(hasher, effectiveList(operation.getConsumes(), owningSchema.getConsumes()));
+        putValue(hasher, effectiveList(operation.getProduces(), owningSchema.getProduces()));
+        List<Parameter> parameters = operation.getParameters();
+        if (parameters == null) {
+            hasher.putInt(NULL);
+        } else {
+            hasher.putInt(parameters.size());
+            for (Parameter parameter : parameters) {
+                putParameter(hasher, parameter);
+            }
+        }
+        Map<String, Response> responses = operation.getResponses();
+        if (responses == null) {
+            hasher.putInt(NULL);
+        } else {
+            hasher.putInt(responses.size());
+            for (String responseName : sortedKeys(responses)) {
+                putString(hasher, responseName);
+                putResponse(hasher, responses.get(responseName));
+            }
+        }
+    }
+
+    private static void putParameter(Hasher hasher, Parameter parameter) {
+        if (parameter == null) {
+            hasher.putInt(NULL);
+            return;
+        }
+        putString(hasher, parameter.getClass().getName());
+        putString(hasher, parameter.getIn());
+        putString(hasher, parameter.getName());
+        hasher.putBoolean(parameter.getRequired());
+        if (parameter instanceof AbstractSerializableParameter) {
+            AbstractSerializableParameter<?> serializableParameter = (AbstractSerializableParameter<?>) parameter;
+            putString(hasher, serializableParameter.getType());
+            putValue(hasher, serializableParameter.getEnum());
+        } else if (parameter instanceof BodyParameter) {
+            putModel(hasher, ((BodyParameter) parameter).getSchema());
+        } else if (parameter instanceof RefParameter) {
+            putString(hasher, ((RefParameter) parameter).getSimpleRef());
+        }
+    }
+
+    private static void putResponse(Hasher hasher, Response response) {
+        if (response == null) {
+            hasher.putInt(NULL);
+            return;
+        }
+        putProperty(hasher, response.getSchema());
+        putProperties(hasher, response.getHeaders());
+    }
+
+    /**
+     * Hashes the model itself, without following references.
+     */
+    private static void putModel(Hasher hasher, Model model) {
+        if (model == null) {
+            hasher.putInt(NULL);
+            return;
+        }
+        putString(hasher, model.getClass().getName());
+        if (model instanceof ModelImpl) {
+            ModelImpl modelImpl = (ModelImpl) model;
+            putString(hasher, modelImpl.getType());
+            putString(hasher, modelImpl.getFormat());
+            putValue(hasher, modelImpl.getEnum());
+            putValue(hasher, modelImpl.getRequired());
+        } else if (model instanceof RefModel) {
+            putString(hasher, ((RefModel) model).getSimpleRef());
+        } else if (model instanceof ArrayModel) {
+            putProperty(hasher, ((ArrayModel) model).getItems());
+        } else if (model instanceof ComposedModel) {
+            List<Model> allOf = ((ComposedModel) model).getAllOf();
+            hasher.putInt(allOf.size());
+            for (Model childModel : allOf) {
+                putModel(hasher, childModel);
+            }
+        }
+        putProperties(hasher, model.getProperties());
+    }
+
+    private static void putProperties(Hasher hasher, Map<String, Property> properties) {
+        if (properties == null) {
+            hasher.putInt(NULL);
+            return;
+        }
+        hasher.putInt(properties.size());
+        for (String propertyName : sortedKeys(properties)) {
+            putString(hasher, propertyName);
+            putProperty(hasher, properties.get(propertyName));
+        }
+    }
+
+    private static void putProperty(Hasher hasher, Property property) {
+        if (property == null) {
+            hasher.putInt(NULL);
+            return;
+        }
+        putString(hasher, property.getClass().getName());
+        putString(hasher, property.getType());
+        putString(hasher, property.getFormat());
+        putValue(hasher, property.getAllowEmptyValue());
+        putString(hasher, property.getName());
+        hasher.putBoolean(property.getRequired());
+        putValue(hasher, property.getReadOnly());
+        putString(hasher, property.getAccess());
+        putValue(hasher, property.getVendorExtensions());
+        if (property instanceof StringProperty) {
+            putValue(hasher, ((StringProperty) property).getEnum());
+        } else if (property instanceof RefProperty) {
+            putString(hasher, ((RefProperty) property).getSimpleRef());
+        } else if (property instanceof ArrayProperty) {
+            putProperty(hasher, ((ArrayProperty) property).getItems());
+        } else if (property instanceof MapProperty) {
+            putProperty(hasher, ((MapProperty) property).getAdditionalProperties());
+        } else if (property instanceof ObjectProperty) {
+            putProperties(hasher, ((ObjectProperty) property).getProperties());
+        }
+    }
+
+    private static List<String> effectiveList(List<String> localDefn, List<String> globalDefn) {
+        return localDefn != null && !localDefn.isEmpty() ? localDefn : globalDefn;
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(NULL);
+        } else {
+            hasher.putInt(value.length()).putUnencodedChars(value);
+        }
+    }
+
+    /**
+     * Hashes an arbitrary value such as an enum constant or a vendor extension. Lists are hashed in order, maps and
+     * other collections in the order of the string representations of their keys and elements, and all other values by
+     * their type and string representation.
+     */
+    private static void putValue(Hasher hasher, Object value) {
+        if (value == null) {
+            hasher.putInt(NULL);
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            hasher.putChar('{').putInt(map.size());
+            for (Object key : sortedByString(map.keySet())) {
+                putValue(hasher, key);
+                putValue(hasher, map.get(key));
+            }
+        } else if (value instanceof List) {
+            List<?> elements = (List<?>) value;
+            hasher.putChar('[').putInt(elements.size());
+            for (Object element : elements) {
+                putValue(hasher, element);
+            }
+        } else if (value instanceof Collection) {
+            Collection<?> elements = (Collection<?>) value;
+            hasher.putChar('(').putInt(elements.size());
+            for (Object element : sortedByString(elements)) {
+                putValue(hasher, element);
+            }
+        } else {
+            hasher.putChar('=');
+            putString(hasher, value.getClass().getName());
+            putString(hasher, value.toString());
+        }
+    }
+
+    private static String[] sortedKeys(Map<String, ?> map) {
+        String[] keys = map.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static Object[] sortedByString(Collection<?> elements) {
+        Object[] sorted = elements.toArray();
+        Arrays.sort(sorted, Comparator.comparing(String::valueOf));
+        return sorted;
+    }
+}
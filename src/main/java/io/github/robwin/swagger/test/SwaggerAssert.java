@@ -21,12 +21,21 @@ package io.github.robwin.swagger.test;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.parser.SwaggerParser;
+import org.apache.commons.lang3.Validate;
 import org.assertj.core.api.AbstractAssert;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 
 /**
@@ -40,27 +49,55 @@ import java.util.Properties;
 
 public class SwaggerAssert extends AbstractAssert<SwaggerAssert, Swagger> {
 
-    private static final String ASSERTION_ENABLED_CONFIG_PATH = "/assertj-swagger.properties";
-    private DocumentationDrivenValidator documentationDrivenValidator;
-    private ConsumerDrivenValidator consumerDrivenValidator;
+    static final String ASSERTION_ENABLED_CONFIG_PATH = "/assertj-swagger.properties";
+    private static final ConcurrentMap<String, SwaggerAssertionConfig> CONFIGURATIONS = new ConcurrentHashMap<>();
+    private SwaggerAssertionConfig assertionConfig;
+    private SwaggerSnapshotStore snapshotStore;
+    private SchemaIndex actualIndex;
+    private List<ValidationListener> listeners;
+    private List<ViolationSink> sinks;
 
 
     public SwaggerAssert(Swagger actual) {
-        super(actual, SwaggerAssert.class);
-        documentationDrivenValidator = new DocumentationDrivenValidator(actual, loadSwaggerAssertionFlagsConfiguration(ASSERTION_ENABLED_CONFIG_PATH));
-        consumerDrivenValidator = new ConsumerDrivenValidator(actual, loadSwaggerAssertionFlagsConfiguration(ASSERTION_ENABLED_CONFIG_PATH));
+        this(actual, loadSwaggerAssertionFlagsConfiguration(ASSERTION_ENABLED_CONFIG_PATH));
     }
 
     public SwaggerAssert(Swagger actual, SwaggerAssertionConfig assertionConfig) {
         super(actual, SwaggerAssert.class);
-        documentationDrivenValidator = new DocumentationDrivenValidator(actual, assertionConfig);
-        consumerDrivenValidator = new ConsumerDrivenValidator(actual, assertionConfig);
+        this.assertionConfig = assertionConfig;
+        snapshotStore = SwaggerSnapshotStore.of(assertionConfig);
+        actualIndex = new SchemaIndex(actual);
+        listeners = new ArrayList<>(ValidationMetrics.serviceListeners());
+        sinks = new ArrayList<>();
     }
 
     public SwaggerAssert(Swagger actual, String configurationResourceLocation) {
-        super(actual, SwaggerAssert.class);
-        documentationDrivenValidator = new DocumentationDrivenValidator(actual, loadSwaggerAssertionFlagsConfiguration(configurationResourceLocation));
-        consumerDrivenValidator = new ConsumerDrivenValidator(actual, loadSwaggerAssertionFlagsConfiguration(configurationResourceLocation));
+        this(actual, loadSwaggerAssertionFlagsConfiguration(configurationResourceLocation));
+    }
+
+    /**
+     * Registers a listener which is notified of the timings and check counts of the following assertions, in addition to
+     * the listeners registered via {@link java.util.ServiceLoader}.
+     *
+     * @param listener the listener to register.
+     * @return {@code this} assertion object.
+     */
+    public SwaggerAssert withListener(ValidationListener listener) {
+        Validate.notNull(listener, "listener must not be null!");
+        listeners.add(listener);
+        return myself;
+    }
+
+    /**
+     * Registers a sink which receives the violations of the following assertions as soon as they are found.
+     *
+     * @param sink the sink to register.
+     * @return {@code this} assertion object.
+     */
+    public SwaggerAssert withViolationSink(ViolationSink sink) {
+        Validate.notNull(sink, "sink must not be null!");
+        sinks.add(sink);
+        return myself;
     }
 
     /**
@@ -71,8 +108,8 @@ public class SwaggerAssert extends AbstractAssert<SwaggerAssert, Swagger> {
      * @throws AssertionError if the actual value is not equal to the given one or if the actual value is {@code null}..
      */
     public SwaggerAssert isEqualTo(Swagger expected) {
-        SchemaObjectResolver schemaObjectResolver = new SchemaObjectResolver(expected, actual);
-        documentationDrivenValidator.validateSwagger(expected, schemaObjectResolver);
+        SchemaObjectResolver schemaObjectResolver = new SchemaObjectResolver(new SchemaIndex(expected), actualIndex);
+        new DocumentationDrivenValidator(actual, assertionConfig, listeners, sinks).validateSwagger(expected, schemaObjectResolver);
         return myself;
     }
 
@@ -84,7 +121,7 @@ public class SwaggerAssert extends AbstractAssert<SwaggerAssert, Swagger> {
      * @throws AssertionError if the actual value is not equal to the given one or if the actual value is {@code null}..
      */
     public SwaggerAssert isEqualTo(String expectedLocation) {
-        return isEqualTo(new SwaggerParser().read(expectedLocation));
+        return isEqualTo(parse(expectedLocation, () -> SwaggerModelCache.read(expectedLocation, snapshotStore)));
     }
 
     /**
@@ -96,7 +133,7 @@ public class SwaggerAssert extends AbstractAssert<SwaggerAssert, Swagger> {
      * @throws AssertionError if the actual value is not equal to the given one or if the actual value is {@code null}..
      */
     public SwaggerAssert isEqualTo(String expectedLocation, List<AuthorizationValue> auths) {
-        return isEqualTo(new SwaggerParser().read(expectedLocation, auths, true));
+        return isEqualTo(parse(expectedLocation, () -> new SwaggerParser().read(expectedLocation, auths, true)));
     }
 
     /**
@@ -107,8 +144,22 @@ public class SwaggerAssert extends AbstractAssert<SwaggerAssert, Swagger> {
      * @throws AssertionError if the actual value is not equal to the given one or if the actual value is {@code null}..
      */
     public SwaggerAssert satisfiesContract(Swagger expected) {
-        SchemaObjectResolver schemaObjectResolver = new SchemaObjectResolver(expected, actual);
-        consumerDrivenValidator.validateSwagger(expected, schemaObjectResolver);
+        SchemaObjectResolver schemaObjectResolver = new SchemaObjectResolver(new SchemaIndex(expected), actualIndex);
+        new ConsumerDrivenValidator(actual, assertionConfig, listeners, sinks).validateSwagger(expected, schemaObjectResolver);
+        return myself;
+    }
+
+    /**
+     * Verifies that the actual value satisfies a compiled contract. The contract is validated with the configuration
+     * it was compiled with.
+     *
+     * @param plan the compiled contract to validate the actual value against.
+     * @return {@code this} assertion object.
+     * @throws AssertionError if the actual value does not satisfy the contract.
+     */
+    public SwaggerAssert satisfiesContract(ContractPlan plan) {
+        Validate.notNull(plan, "plan must not be null!");
+        new ConsumerDrivenValidator(actual, plan.getAssertionConfig(), listeners, sinks).validateContract(plan, actualIndex);
         return myself;
     }
 
@@ -120,7 +171,7 @@ public class SwaggerAssert extends AbstractAssert<SwaggerAssert, Swagger> {
      * @throws AssertionError if the actual value is not equal to the given one or if the actual value is {@code null}..
      */
     public SwaggerAssert satisfiesContract(String expectedLocation) {
-        return satisfiesContract(new SwaggerParser().read(expectedLocation));
+        return satisfiesContract(parse(expectedLocation, () -> SwaggerModelCache.read(expectedLocation, snapshotStore)));
     }
 
     /**
@@ -132,12 +183,90 @@ public class SwaggerAssert extends AbstractAssert<SwaggerAssert, Swagger> {
      * @throws AssertionError if the actual value is not equal to the given one or if the actual value is {@code null}..
      */
     public SwaggerAssert satisfiesContract(String expectedLocation, List<AuthorizationValue> auths) {
-        return satisfiesContract(new SwaggerParser().read(expectedLocation, auths, true));
+        return satisfiesContract(parse(expectedLocation, () -> new SwaggerParser().read(expectedLocation, auths, true)));
+    }
+
+    /**
+     * Verifies that the actual value satisfies the contracts of all given consumers. The actual value is indexed only
+     * once and the contracts are validated in parallel. The violations of all contracts are reported together, each
+     * prefixed with the name of its consumer. The registered sinks receive the violations while the contracts are
+     * validated, so they have to be thread-safe.
+     *
+     * @param expectedByConsumer the contracts by the name of their consumer
+     * @return {@code this} assertion object.
+     * @throws AssertionError if the actual value does not satisfy any of the given contracts.
+     */
+    public SwaggerAssert satisfiesContracts(Map<String, Swagger> expectedByConsumer) {
+        return satisfiesContracts(expectedByConsumer, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Verifies that the actual value satisfies the contracts of all given consumers, which are validated in parallel
+     * on the given executor. Otherwise equivalent to {@link #satisfiesContracts(Map)}.
+     *
+     * @param expectedByConsumer the contracts by the name of their consumer
+     * @param executor           the executor used for validating the contracts.
+     * @return {@code this} assertion object.
+     * @throws AssertionError if the actual value does not satisfy any of the given contracts.
+     */
+    public SwaggerAssert satisfiesContracts(Map<String, Swagger> expectedByConsumer, Executor executor) {
+        ContractReport report = validateContracts(expectedByConsumer, executor);
+        // the sinks already received the violations, so they are only collected for the assertion error
+        ViolationCollector violations = new ViolationCollector(Collections.emptyList(), assertionConfig.getMaxRetainedViolations());
+        for (String consumer : report.getFailedConsumers()) {
+            for (AssertionError violation : report.getViolations(consumer)) {
+                violations.collectAssertionError(ViolationCollector.withMessage(violation,
+                        ConsumerDrivenValidator.consumerMessage(consumer, violation.getMessage())));
+            }
+        }
+        violations.assertAll();
+        return myself;
+    }
+
+    /**
+     * Validates the actual value against the contracts of all given consumers without failing. The actual value is
+     * indexed only once and the contracts are validated in parallel. The registered sinks receive the violations while
+     * the contracts are validated, prefixed with the name of their consumer, so they have to be thread-safe.
+     *
+     * @param expectedByConsumer the contracts by the name of their consumer
+     * @return the violations of every contract
+     */
+    public ContractReport validateContracts(Map<String, Swagger> expectedByConsumer) {
+        return validateContracts(expectedByConsumer, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Validates the actual value against the contracts of all given consumers without failing. The contracts are
+     * validated in parallel on the given executor. Otherwise equivalent to {@link #validateContracts(Map)}.
+     *
+     * @param expectedByConsumer the contracts by the name of their consumer
+     * @param executor           the executor used for validating the contracts.
+     * @return the violations of every contract
+     */
+    public ContractReport validateContracts(Map<String, Swagger> expectedByConsumer, Executor executor) {
+        Validate.notNull(expectedByConsumer, "expectedByConsumer must not be null!");
+        Validate.notNull(executor, "executor must not be null!");
+        return ConsumerDrivenValidator.validateContracts(actualIndex, expectedByConsumer, assertionConfig, listeners, sinks, executor);
+    }
+
+    private Swagger parse(String location, Supplier<Swagger> parser) {
+        FlightRecorderEvent event = FlightRecorderEvent.parsing(location);
+        Swagger swagger = ValidationMetrics.of(listeners).measure(ValidationPhase.PARSING, parser);
+        event.commit();
+        return swagger;
+    }
+
+    /**
+     * Returns the configuration in the given classpath resource. Every resource is read only once per JVM, since
+     * configurations are immutable.
+     */
+    static SwaggerAssertionConfig loadSwaggerAssertionFlagsConfiguration(String configurationResourceLocation) {
+        return CONFIGURATIONS.computeIfAbsent(configurationResourceLocation, SwaggerAssert::readSwaggerAssertionFlagsConfiguration);
     }
 
-    private SwaggerAssertionConfig loadSwaggerAssertionFlagsConfiguration(String configurationResourceLocation) {
+    private static SwaggerAssertionConfig readSwaggerAssertionFlagsConfiguration(String configurationResourceLocation) {
         final Properties props = new Properties();
-        try (InputStream is = this.getClass().getResourceAsStream(configurationResourceLocation)) {
+        try (InputStream is = SwaggerAssert.class.getResourceAsStream(configurationResourceLocation)) {
             if (is != null) {
                 props.load(is);
             }
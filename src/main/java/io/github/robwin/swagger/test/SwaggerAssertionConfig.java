@@ -22,12 +22,15 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.EnumSet;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
+/**
+ * The configuration of the assertions. A configuration is immutable; the enabled assertion types are resolved against
+ * their {@link SwaggerAssertionType#getParent() parents} and the ignore settings are compiled when it is created.
+ */
 public class SwaggerAssertionConfig {
 
     private static final String PREFIX = "assertj.swagger.";
@@ -35,26 +38,50 @@ public class SwaggerAssertionConfig {
     private static final String IGNORE_MISSING_DEFINITIONS = "definitionsToIgnoreInExpected";
     private static final String IGNORE_MISSING_PROPERTIES = "propertiesToIgnoreInExpected";
     private static final String PATHS_PREPEND_EXPECTED = "pathsPrependExpected";
+    private static final String SNAPSHOT_DIRECTORY = "snapshotDirectory";
+    private static final String PARALLEL_VALIDATION = "parallelValidation";
+    private static final String SKIP_IDENTICAL_SUBTREES = "skipIdenticalSubtrees";
+    private static final String BASELINE_FILE = "baselineFile";
+    private static final String FULL_VALIDATION = "fullValidation";
+    private static final String MAX_RETAINED_VIOLATIONS = "maxRetainedViolations";
+    private static final String FAIL_FAST = "failFast";
+
+    private final Set<SwaggerAssertionType> enabledAssertionTypes;
+
+    private final Set<String> pathsToIgnoreInExpected;
+
+    private final Set<String> propertiesToIgnoreInExpected;
+
+    private final Set<String> definitionsToIgnoreInExpected;
+
+    private final GlobMatcher pathsToIgnoreMatcher;
+
+    private final GlobMatcher definitionsToIgnoreMatcher;
+
+    private final GlobMatcher propertiesToIgnoreMatcher;
 
-    private Map<SwaggerAssertionType, Boolean> swaggerAssertionFlags = new HashMap<>();
+    private final String pathsPrependExpected;
 
-    private Set<String> pathsToIgnoreInExpected = Collections.emptySet();
+    private final String snapshotDirectory;
 
-    private Set<String> propertiesToIgnoreInExpected = Collections.emptySet();
+    private final boolean parallelValidation;
 
-    private Set<String> definitionsToIgnoreInExpected = Collections.emptySet();
+    private final boolean skipIdenticalSubtrees;
 
-    private String pathsPrependExpected;
+    private final String baselineFile;
+
+    private final String fullValidation;
+
+    private final int maxRetainedViolations;
+
+    private final boolean failFast;
 
 
     /**
      * Construct a {@link SwaggerAssertionConfig}.
      */
     public SwaggerAssertionConfig() {
-        final SwaggerAssertionType[] assertionTypes = SwaggerAssertionType.values();
-        for (final SwaggerAssertionType assertionType : assertionTypes) {
-            swaggerAssertionFlags.put(assertionType, assertionType.isEnabledByDefault());
-        }
+        this(new Properties());
     }
 
     /**
@@ -63,38 +90,40 @@ public class SwaggerAssertionConfig {
      * @param props properties.  Typically sourced from root of classpath
      */
     public SwaggerAssertionConfig(final Properties props) {
-        this();
-        final SwaggerAssertionType[] assertionTypes = SwaggerAssertionType.values();
-        for (final SwaggerAssertionType assertionType : assertionTypes) {
+        final Set<SwaggerAssertionType> enabled = EnumSet.noneOf(SwaggerAssertionType.class);
+        // parents are declared before their children, so they are already resolved
+        for (final SwaggerAssertionType assertionType : SwaggerAssertionType.values()) {
             final String value = props.getProperty(PREFIX + assertionType.getBarePropertyName());
-            if (value != null) {
-                swaggerAssertionFlags.put(assertionType, Boolean.TRUE.toString().equals(value));
-            } else {
-                swaggerAssertionFlags.put(assertionType, assertionType.isEnabledByDefault());
+            final boolean flag = value != null ? Boolean.TRUE.toString().equals(value) : assertionType.isEnabledByDefault();
+            if (flag && (assertionType.getParent() == null || enabled.contains(assertionType.getParent()))) {
+                enabled.add(assertionType);
             }
         }
+        enabledAssertionTypes = Collections.unmodifiableSet(enabled);
 
-        final String ignoreMissingPathsStr = props.getProperty(PREFIX + IGNORE_MISSING_PATHS);
-        if (!StringUtils.isBlank(ignoreMissingPathsStr)) {
-            pathsToIgnoreInExpected = splitCommaDelimStrIntoSet(ignoreMissingPathsStr);
-        }
-
-        final String ignoreMissingDefinitionsStr = props.getProperty(PREFIX + IGNORE_MISSING_DEFINITIONS);
-        if (!StringUtils.isBlank(ignoreMissingDefinitionsStr)) {
-            definitionsToIgnoreInExpected = splitCommaDelimStrIntoSet(ignoreMissingDefinitionsStr);
-        }
-
-        final String ignoreMissingPropertiesStr = props.getProperty(PREFIX + IGNORE_MISSING_PROPERTIES);
-        if (!StringUtils.isBlank(ignoreMissingPropertiesStr)) {
-            propertiesToIgnoreInExpected = splitCommaDelimStrIntoSet(ignoreMissingPropertiesStr);
-        }
+        pathsToIgnoreInExpected = splitCommaDelimStrIntoSet(props.getProperty(PREFIX + IGNORE_MISSING_PATHS));
+        definitionsToIgnoreInExpected = splitCommaDelimStrIntoSet(props.getProperty(PREFIX + IGNORE_MISSING_DEFINITIONS));
+        propertiesToIgnoreInExpected = splitCommaDelimStrIntoSet(props.getProperty(PREFIX + IGNORE_MISSING_PROPERTIES));
+        pathsToIgnoreMatcher = GlobMatcher.compile(pathsToIgnoreInExpected, '/');
+        definitionsToIgnoreMatcher = GlobMatcher.compile(definitionsToIgnoreInExpected, GlobMatcher.NO_SEPARATOR);
+        propertiesToIgnoreMatcher = GlobMatcher.compile(propertiesToIgnoreInExpected, '.');
 
         pathsPrependExpected = props.getProperty(PREFIX + PATHS_PREPEND_EXPECTED);
+        snapshotDirectory = props.getProperty(PREFIX + SNAPSHOT_DIRECTORY);
+        parallelValidation = Boolean.TRUE.toString().equals(props.getProperty(PREFIX + PARALLEL_VALIDATION));
+        skipIdenticalSubtrees = Boolean.TRUE.toString().equals(props.getProperty(PREFIX + SKIP_IDENTICAL_SUBTREES));
+        baselineFile = props.getProperty(PREFIX + BASELINE_FILE);
+        fullValidation = props.getProperty(PREFIX + FULL_VALIDATION);
+        maxRetainedViolations = parseMaxRetainedViolations(props.getProperty(PREFIX + MAX_RETAINED_VIOLATIONS));
+        failFast = Boolean.TRUE.toString().equals(props.getProperty(PREFIX + FAIL_FAST));
     }
 
+    /**
+     * @param assertionType an assertion type
+     * @return {@code true} if the assertion type and all its parents are enabled
+     */
     public boolean swaggerAssertionEnabled(SwaggerAssertionType assertionType) {
-        final Boolean flag = swaggerAssertionFlags.get(assertionType);
-        return flag != null ? flag : assertionType.isEnabledByDefault();
+        return enabledAssertionTypes.contains(assertionType);
     }
 
     public Set<String> getPathsToIgnoreInExpected() {
@@ -109,11 +138,95 @@ public class SwaggerAssertionConfig {
         return propertiesToIgnoreInExpected;
     }
 
+    /**
+     * @return the compiled patterns of {@code pathsToIgnoreInExpected}, in which {@code *} doesn't match {@code /}
+     */
+    GlobMatcher getPathsToIgnoreMatcher() {
+        return pathsToIgnoreMatcher;
+    }
+
+    /**
+     * @return the compiled patterns of {@code definitionsToIgnoreInExpected}
+     */
+    GlobMatcher getDefinitionsToIgnoreMatcher() {
+        return definitionsToIgnoreMatcher;
+    }
+
+    /**
+     * @return the compiled patterns of {@code propertiesToIgnoreInExpected}, which match
+     * {@code definitionName.propertyName} and in which {@code *} doesn't match {@code .}
+     */
+    GlobMatcher getPropertiesToIgnoreMatcher() {
+        return propertiesToIgnoreMatcher;
+    }
+
     public String getPathsPrependExpected() {
         return pathsPrependExpected;
     }
 
-    private Set<String> splitCommaDelimStrIntoSet(String str) {
+    public String getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+
+    /**
+     * @return {@code true} if paths and definitions are validated in parallel, which is never the case in fail-fast mode
+     */
+    public boolean isParallelValidation() {
+        return parallelValidation && !failFast;
+    }
+
+    /**
+     * @return {@code true} if identical paths and definitions are skipped, which is off by default and never the case in
+     * a full validation
+     */
+    public boolean isSkipIdenticalSubtrees() {
+        return skipIdenticalSubtrees && !isFullValidation();
+    }
+
+    public String getBaselineFile() {
+        return baselineFile;
+    }
+
+    /**
+     * The system property is read on every call rather than when the configuration is built, because configurations are
+     * cached per resource and a full validation has to be forceable without changing the configuration.
+     *
+     * @return {@code true} if everything has to be validated, regardless of fingerprints and stored verdicts
+     */
+    public boolean isFullValidation() {
+        return Boolean.TRUE.toString().equals(System.getProperty(PREFIX + FULL_VALIDATION, fullValidation));
+    }
+
+    /**
+     * @return the maximum number of violations kept in memory and reported by the assertion error, by default
+     * {@link Integer#MAX_VALUE}; further violations are only counted and passed to the {@link ViolationSink}s
+     */
+    public int getMaxRetainedViolations() {
+        return maxRetainedViolations;
+    }
+
+    /**
+     * @return {@code true} if a validation stops at the first violation
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    private static int parseMaxRetainedViolations(String str) {
+        if (StringUtils.isBlank(str)) {
+            return Integer.MAX_VALUE;
+        }
+        final int value = Integer.parseInt(str.trim());
+        if (value < 0) {
+            throw new IllegalArgumentException(PREFIX + MAX_RETAINED_VIOLATIONS + " must not be negative: " + value);
+        }
+        return value;
+    }
+
+    private static Set<String> splitCommaDelimStrIntoSet(String str) {
+        if (StringUtils.isBlank(str)) {
+            return Collections.emptySet();
+        }
         final String[] strs = str.split("\\s*,\\s*");
         return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(strs)));
     }
@@ -19,7 +19,8 @@
 package io.github.robwin.swagger.test;
 
 /**
- * Flags to enable or disable various assertion types are either a coarse- or fine-grained level.
+ * Flags to enable or disable various assertion types are either a coarse- or fine-grained level. A fine-grained
+ * assertion type is only enabled if its {@link #getParent() parent} is enabled as well.
  */
 public enum SwaggerAssertionType {
 
@@ -28,20 +29,26 @@ public enum SwaggerAssertionType {
 
     DEFINITIONS("validateDefinitions", true),
         PROPERTIES("validateProperties", true),
-            REF_PROPERTIES("validateRefProperties", true),
-            ARRAY_PROPERTIES("validateArrayProperties", true),
-            BYTE_ARRAY_PROPERTIES("validateByteArrayProperties", true),
-            STRING_PROPERTIES("validateStringProperties", true),
-        MODELS("validateModels", true),
+            REF_PROPERTIES("validateRefProperties", true, PROPERTIES),
+            ARRAY_PROPERTIES("validateArrayProperties", true, PROPERTIES),
+            BYTE_ARRAY_PROPERTIES("validateByteArrayProperties", true, PROPERTIES),
+            STRING_PROPERTIES("validateStringProperties", true, PROPERTIES),
+        MODELS("validateModels", true, DEFINITIONS),
     PATHS("validatePaths", true),
     STRICT_VALIDATION_ON_PATH("validateResponseWithStrictlyMatch", true);
 
-    private String suffix;
-    private boolean enabledByDefault;
+    private final String suffix;
+    private final boolean enabledByDefault;
+    private final SwaggerAssertionType parent;
 
     SwaggerAssertionType(final String assertionType, final boolean defaultValue) {
+        this(assertionType, defaultValue, null);
+    }
+
+    SwaggerAssertionType(final String assertionType, final boolean defaultValue, final SwaggerAssertionType parent) {
         this.suffix = assertionType;
         this.enabledByDefault = defaultValue;
+        this.parent = parent;
     }
 
     public String getBarePropertyName() {
@@ -51,4 +58,11 @@ public enum SwaggerAssertionType {
     public boolean isEnabledByDefault() {
         return enabledByDefault;
     }
+
+    /**
+     * @return the assertion type which has to be enabled for this one to be enabled, or {@code null}
+     */
+    public SwaggerAssertionType getParent() {
+        return parent;
+    }
 }
@@ -19,9 +19,15 @@
 package io.github.robwin.swagger.test;
 
 import io.swagger.models.Swagger;
-import io.swagger.parser.SwaggerParser;
 import org.apache.commons.lang3.Validate;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
 /**
  * Entry point for assertion methods for different data types. Each method in this class is a static factory for the
  * type-specific assertion objects. The purpose of this class is to make test code more readable.
@@ -43,13 +49,105 @@ public class SwaggerAssertions {
 
 
     /**
-     * Creates a new instance of <code>{@link SwaggerAssert}</code>.
+     * Creates a new instance of <code>{@link SwaggerAssert}</code>. Local files are read through the
+     * {@link SwaggerModelCache}, so the actual model may be shared and must not be modified.
      *
      * @param actualLocation the location the actual Swagger value.
      * @return the created assertion object.
      */
     public static SwaggerAssert assertThat(String actualLocation) {
         Validate.notNull(actualLocation, "actualLocation must not be null!");
-        return new SwaggerAssert(new SwaggerParser().read(actualLocation));
+        return new SwaggerAssert(parse(actualLocation, () -> SwaggerModelCache.read(actualLocation)));
+    }
+
+    /**
+     * Parses the actual and the expected Swagger value concurrently and verifies that the actual value is equal to the
+     * expected one. Equivalent to {@code assertThat(actualLocation).isEqualTo(expectedLocation)}.
+     *
+     * @param actualLocation   the location of the actual Swagger value.
+     * @param expectedLocation the location of the expected Swagger value.
+     * @return the created assertion object.
+     * @throws AssertionError if the actual value is not equal to the expected one.
+     */
+    public static SwaggerAssert assertIsEqualTo(String actualLocation, String expectedLocation) {
+        return assertIsEqualTo(actualLocation, expectedLocation, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses the actual and the expected Swagger value concurrently on the given executor and verifies that the actual
+     * value is equal to the expected one. Equivalent to {@code assertThat(actualLocation).isEqualTo(expectedLocation)}.
+     *
+     * @param actualLocation   the location of the actual Swagger value.
+     * @param expectedLocation the location of the expected Swagger value.
+     * @param executor         the executor used for parsing.
+     * @return the created assertion object.
+     * @throws AssertionError if the actual value is not equal to the expected one.
+     */
+    public static SwaggerAssert assertIsEqualTo(String actualLocation, String expectedLocation, Executor executor) {
+        return assertConcurrently(actualLocation, expectedLocation, executor, SwaggerAssert::isEqualTo);
+    }
+
+    /**
+     * Parses the actual and the expected Swagger value concurrently and verifies that the actual value satisfies the
+     * expected contract. Equivalent to {@code assertThat(actualLocation).satisfiesContract(expectedLocation)}.
+     *
+     * @param actualLocation   the location of the actual Swagger value.
+     * @param expectedLocation the location of the expected Swagger value.
+     * @return the created assertion object.
+     * @throws AssertionError if the actual value does not satisfy the expected contract.
+     */
+    public static SwaggerAssert assertSatisfiesContract(String actualLocation, String expectedLocation) {
+        return assertSatisfiesContract(actualLocation, expectedLocation, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses the actual and the expected Swagger value concurrently on the given executor and verifies that the actual
+     * value satisfies the expected contract. Equivalent to
+     * {@code assertThat(actualLocation).satisfiesContract(expectedLocation)}.
+     *
+     * @param actualLocation   the location of the actual Swagger value.
+     * @param expectedLocation the location of the expected Swagger value.
+     * @param executor         the executor used for parsing.
+     * @return the created assertion object.
+     * @throws AssertionError if the actual value does not satisfy the expected contract.
+     */
+    public static SwaggerAssert assertSatisfiesContract(String actualLocation, String expectedLocation, Executor executor) {
+        return assertConcurrently(actualLocation, expectedLocation, executor, SwaggerAssert::satisfiesContract);
+    }
+
+    private static SwaggerAssert assertConcurrently(String actualLocation, String expectedLocation, Executor executor,
+                                                    BiFunction<SwaggerAssert, Swagger, SwaggerAssert> assertion) {
+        Validate.notNull(actualLocation, "actualLocation must not be null!");
+        Validate.notNull(expectedLocation, "expectedLocation must not be null!");
+        Validate.notNull(executor, "executor must not be null!");
+        SwaggerAssertionConfig assertionConfig = SwaggerAssert.loadSwaggerAssertionFlagsConfiguration(SwaggerAssert.ASSERTION_ENABLED_CONFIG_PATH);
+        SwaggerSnapshotStore snapshotStore = SwaggerSnapshotStore.of(assertionConfig);
+        CompletableFuture<Swagger> actual = CompletableFuture.supplyAsync(() -> parse(actualLocation, () -> SwaggerModelCache.read(actualLocation)), executor);
+        CompletableFuture<Swagger> expected = CompletableFuture.supplyAsync(() -> parse(expectedLocation, () -> SwaggerModelCache.read(expectedLocation, snapshotStore)), executor);
+        return assertion.apply(new SwaggerAssert(join(actual), assertionConfig), join(expected));
+    }
+
+    private static Swagger parse(String location, Supplier<Swagger> parser) {
+        FlightRecorderEvent event = FlightRecorderEvent.parsing(location);
+        Swagger swagger = ValidationMetrics.of(ValidationMetrics.serviceListeners()).measure(ValidationPhase.PARSING, parser);
+        event.commit();
+        return swagger;
+    }
+
+    /**
+     * Waits for the given future and rethrows the exception it failed with, if any.
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,195 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Process-wide cache of parsed {@link Swagger} models, used by {@link SwaggerAssertions#assertThat(String)},
+ * {@link SwaggerAssert#isEqualTo(String)} and {@link SwaggerAssert#satisfiesContract(String)}.
+ * <p>
+ * Only local files are cached. Entries are keyed by the absolute file location and a hash of the file content, so a
+ * modified file is parsed again. Other locations (e.g. remote URLs) are parsed on every call. The cache holds at most
+ * {@code assertj.swagger.modelCacheSize} (system property, default 16) models and evicts the least recently used ones.
+ * An invalid or negative size is logged and the default is used instead. Concurrent reads of the same file parse it
+ * only once.
+ * </p>
+ * <p>
+ * Only the content of the file itself is hashed. Files referenced by external {@code $ref}s are resolved into the model
+ * when it is parsed, but a change of a referenced file is not noticed; {@link #invalidate(String)} the referencing
+ * file after changing them, or disable the cache with a size of {@code 0}.
+ * </p>
+ * <p>
+ * Cached models are not copied, since a copy would cost about as much as parsing the file again. They are shared
+ * between all callers and have to be treated as read-only: the validators never modify them, and code which gets hold
+ * of them, e.g. through {@code SwaggerAssert#satisfies(Consumer)}, must not do so either. A model
+ * which is going to be modified has to be parsed by the caller and passed to {@link SwaggerAssertions#assertThat(Swagger)},
+ * {@link SwaggerAssert#isEqualTo(Swagger)} or {@link SwaggerAssert#satisfiesContract(Swagger)} instead.
+ * </p>
+ */
+public final class SwaggerModelCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SwaggerModelCache.class);
+
+    private static final String MAXIMUM_SIZE_PROPERTY = "assertj.swagger.modelCacheSize";
+    private static final int DEFAULT_MAXIMUM_SIZE = 16;
+
+    private static final Cache<CacheKey, Swagger> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(parseMaximumSize(System.getProperty(MAXIMUM_SIZE_PROPERTY)))
+            .build();
+
+    private SwaggerModelCache() {
+    }
+
+    /**
+     * Removes all cached models which have been read from the given location.
+     *
+     * @param location the location of the Swagger file
+     */
+    public static void invalidate(String location) {
+        String absoluteLocation = new File(location).getAbsolutePath();
+        CACHE.asMap().keySet().removeIf(key -> key.location.equals(absoluteLocation));
+    }
+
+    /**
+     * Removes all cached models.
+     */
+    public static void invalidateAll() {
+        CACHE.invalidateAll();
+    }
+
+    static Swagger read(String location) {
+        return read(location, null);
+    }
+
+    /**
+     * Reads the Swagger file at the given location. On a cache miss, the model is loaded from the snapshot store (if
+     * any) before falling back to parsing the file, and newly parsed models are added to the snapshot store.
+     *
+     * @param location      the location of the Swagger file
+     * @param snapshotStore the snapshot store, may be {@code null}
+     * @return the parsed model
+     */
+    static Swagger read(String location, SwaggerSnapshotStore snapshotStore) {
+        File file = new File(location);
+        if (!file.isFile()) {
+            return new SwaggerParser().read(location);
+        }
+
+        HashCode contentHash = hash(file);
+        CacheKey key = new CacheKey(file.getAbsolutePath(), contentHash);
+        try {
+            return CACHE.get(key, () -> load(location, contentHash, snapshotStore));
+        } catch (CacheLoader.InvalidCacheLoadException e) {
+            // the file could not be parsed, which is not cached
+            return null;
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException("Failed to read " + location, e.getCause());
+        }
+    }
+
+    /**
+     * Loads a model from the snapshot store or parses it on a cache miss.
+     *
+     * @return the model or {@code null} if the file could not be parsed
+     */
+    private static Swagger load(String location, HashCode contentHash, SwaggerSnapshotStore snapshotStore) {
+        Swagger swagger = null;
+        if (snapshotStore != null) {
+            swagger = snapshotStore.load(contentHash);
+        }
+        if (swagger == null) {
+            swagger = new SwaggerParser().read(location);
+            if (swagger != null && snapshotStore != null) {
+                snapshotStore.store(contentHash, swagger);
+            }
+        }
+        return swagger;
+    }
+
+    static int parseMaximumSize(String str) {
+        if (str == null) {
+            return DEFAULT_MAXIMUM_SIZE;
+        }
+        try {
+            int value = Integer.parseInt(str.trim());
+            if (value >= 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // logged below
+        }
+        LOG.warn("Invalid {}: {}, using the default of {}", MAXIMUM_SIZE_PROPERTY, str, DEFAULT_MAXIMUM_SIZE);
+        return DEFAULT_MAXIMUM_SIZE;
+    }
+
+    static HashCode hash(File file) {
+        try {
+            return Files.asByteSource(file).hash(Hashing.sha256());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + file, e);
+        }
+    }
+
+    private static final class CacheKey {
+
+        private final String location;
+        private final HashCode contentHash;
+
+        private CacheKey(String location, HashCode contentHash) {
+            this.location = location;
+            this.contentHash = contentHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return location.equals(other.location) && contentHash.equals(other.contentHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(location, contentHash);
+        }
+    }
+}
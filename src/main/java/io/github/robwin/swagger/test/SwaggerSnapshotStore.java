@@ -0,0 +1,145 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.google.common.hash.HashCode;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Stores parsed {@link Swagger} models on disk, so that unchanged Swagger files don't have to be parsed again in
+ * subsequent JVM runs. Snapshots are keyed by the content hash of the source file and contain the model as deflated
+ * JSON, which is considerably cheaper to read than the original YAML/JSON because no parsing or {@code $ref}
+ * resolution has to be done again. Changes to files which are referenced via external {@code $ref}s are not detected.
+ * <p>
+ * Only what the JSON form of the model contains is restored, e.g. the {@code allOf} lists of composed models and the
+ * types and targets of references, which is everything the validators rely on.
+ * </p>
+ */
+class SwaggerSnapshotStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SwaggerSnapshotStore.class);
+
+    private static final int MAGIC = 0x41535753;   // "ASWS"
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_EXTENSION = ".swagger.bin";
+
+    private final Path directory;
+
+    SwaggerSnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates the snapshot store configured by {@code snapshotDirectory}.
+     *
+     * @param assertionConfig assertion configuration
+     * @return the snapshot store or {@code null} if no snapshot directory is configured
+     */
+    static SwaggerSnapshotStore of(SwaggerAssertionConfig assertionConfig) {
+        String snapshotDirectory = assertionConfig.getSnapshotDirectory();
+        return StringUtils.isNotBlank(snapshotDirectory) ? new SwaggerSnapshotStore(Paths.get(snapshotDirectory)) : null;
+    }
+
+    /**
+     * Loads the snapshot of the Swagger file with the given content hash.
+     *
+     * @param contentHash hash of the source file
+     * @return the model or {@code null} if no valid snapshot exists
+     */
+    Swagger load(HashCode contentHash) {
+        Path snapshot = snapshotFile(contentHash);
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            try (InputStream model = new InflaterInputStream(in)) {
+                return Json.mapper().readValue(model, Swagger.class);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Ignoring unreadable Swagger snapshot {}", snapshot, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a snapshot of the Swagger file with the given content hash. Failures are logged and otherwise ignored.
+     *
+     * @param contentHash hash of the source file
+     * @param swagger     the parsed model
+     */
+    void store(HashCode contentHash, Swagger swagger) {
+        Path snapshot = snapshotFile(contentHash);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, contentHash.toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                try (OutputStream model = new DeflaterOutputStream(out)) {
+                    Json.mapper().writeValue(model, swagger);
+                }
+            }
+            try {
+                Files.move(tempFile, snapshot, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to write Swagger snapshot {}", snapshot, e);
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // eat it.
+            }
+        }
+    }
+
+    private Path snapshotFile(HashCode contentHash) {
+        return directory.resolve(contentHash + FILE_EXTENSION);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+/**
+ * A violation found by an assertion, as passed to a {@link ViolationSink}.
+ * <p>
+ * Besides the message of the assertion error, it tells the {@link SwaggerAssertionType} of the failed check, the
+ * {@link ViolationLocation} in the schema and string representations of the expected and the actual value, as far as
+ * they are known. Violations whose verdict was taken from an {@code assertj.swagger.baselineFile} have the same details
+ * as when they were found.
+ * </p>
+ */
+public final class SwaggerViolation {
+
+    private final AssertionError error;
+    private final SwaggerAssertionType assertionType;
+    private final ViolationLocation location;
+    private final String expected;
+    private final String actual;
+
+    SwaggerViolation(AssertionError error, SwaggerAssertionType assertionType, ViolationLocation location, String expected, String actual) {
+        this.error = error;
+        this.assertionType = assertionType;
+        this.location = location;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * @param error an assertion error without further details
+     * @return a violation which only has a message
+     */
+    static SwaggerViolation of(AssertionError error) {
+        return new SwaggerViolation(error, null, ViolationLocation.NONE, null, null);
+    }
+
+    /**
+     * @return a violation with the given error and the details of this one
+     */
+    SwaggerViolation withError(AssertionError error) {
+        return new SwaggerViolation(error, assertionType, location, expected, actual);
+    }
+
+    /**
+     * @return the assertion error describing the violation, as reported by the assertion
+     */
+    public AssertionError getError() {
+        return error;
+    }
+
+    public String getMessage() {
+        return error.getMessage();
+    }
+
+    /**
+     * @return the assertion type of the failed check, or {@code null} if unknown
+     */
+    public SwaggerAssertionType getAssertionType() {
+        return assertionType;
+    }
+
+    /**
+     * @return the location of the violation, whose parts are {@code null} if unknown
+     */
+    public ViolationLocation getLocation() {
+        return location;
+    }
+
+    /**
+     * @return the expected value, or {@code null} if unknown
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * @return the actual value, or {@code null} if unknown
+     */
+    public String getActual() {
+        return actual;
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.google.common.hash.HashCode;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Stores the verdicts of validated paths and definitions on disk, so that subsequent JVM runs don't have to validate
+ * them again as long as neither side changed. A verdict is the list of violations found in a path or definition
+ * and is keyed by a hash of the validation, the configuration, the name and the {@link StructuralFingerprint}s of both
+ * sides, so a single file can serve any number of contracts.
+ * <p>
+ * Every JVM run which uses the baseline is a new generation. Verdicts which haven't been used for
+ * {@link #MAX_UNUSED_GENERATIONS} generations are dropped when the file is written. Instances are shared per file and
+ * are thread-safe.
+ * </p>
+ * <p>
+ * Validations only change the baseline in memory. It is written once per JVM by a shutdown hook, or earlier by
+ * {@link #flush()}. Since several test JVMs, e.g. forked Gradle test workers, may share a file, the file is locked
+ * while it is written and the verdicts on disk are merged with those in memory, so that the verdicts of other JVMs are
+ * kept. JVMs running at the same time share the same generation.
+ * </p>
+ */
+class ValidationBaseline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ValidationBaseline.class);
+
+    private static final int MAGIC = 0x41535742;   // "ASWB"
+    private static final int FORMAT_VERSION = 2;
+    static final int MAX_UNUSED_GENERATIONS = 10;
+
+    private static final ConcurrentMap<Path, ValidationBaseline> BASELINES = new ConcurrentHashMap<>();
+    private static final AtomicBoolean SHUTDOWN_HOOK_REGISTERED = new AtomicBoolean();
+
+    private final Path file;
+    private final int generation;
+    private final ConcurrentMap<HashCode, Verdict> verdicts;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    private ValidationBaseline(Path file, int generation, ConcurrentMap<HashCode, Verdict> verdicts) {
+        this.file = file;
+        this.generation = generation;
+        this.verdicts = verdicts;
+    }
+
+    /**
+     * Returns the baseline configured by {@code baselineFile}. The file is read once per JVM and written when the JVM
+     * shuts down.
+     *
+     * @param assertionConfig assertion configuration
+     * @return the baseline or {@code null} if no baseline file is configured
+     */
+    static ValidationBaseline of(SwaggerAssertionConfig assertionConfig) {
+        String baselineFile = assertionConfig.getBaselineFile();
+        if (StringUtils.isBlank(baselineFile)) {
+            return null;
+        }
+        if (SHUTDOWN_HOOK_REGISTERED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(ValidationBaseline::flushAll, "assertj-swagger-baseline"));
+        }
+        return BASELINES.computeIfAbsent(Paths.get(baselineFile).toAbsolutePath().normalize(), ValidationBaseline::load);
+    }
+
+    /**
+     * Writes all baselines which have been changed since they were read or last written.
+     */
+    static void flushAll() {
+        for (ValidationBaseline baseline : BASELINES.values()) {
+            baseline.flush();
+        }
+    }
+
+    /**
+     * Reads a baseline file. A missing or unreadable file results in an empty baseline.
+     *
+     * @param file the baseline file
+     * @return the baseline
+     */
+    static ValidationBaseline load(Path file) {
+        ConcurrentMap<HashCode, Verdict> verdicts = new ConcurrentHashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return new ValidationBaseline(file, 1, verdicts);
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return new ValidationBaseline(file, 1, verdicts);
+            }
+            try (DataInputStream entries = new DataInputStream(new BufferedInputStream(new InflaterInputStream(in)))) {
+                int storedGeneration = entries.readInt();
+                int count = entries.readInt();
+                for (int i = 0; i < count; i++) {
+                    byte[] key = new byte[entries.readInt()];
+                    entries.readFully(key);
+                    int verdictGeneration = entries.readInt();
+                    int violationCount = entries.readInt();
+                    List<Violation> violations = new ArrayList<>(violationCount);
+                    for (int j = 0; j < violationCount; j++) {
+                        violations.add(readViolation(entries));
+                    }
+                    verdicts.put(HashCode.fromBytes(key), new Verdict(violations, verdictGeneration));
+                }
+                return new ValidationBaseline(file, storedGeneration + 1, verdicts);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Ignoring unreadable validation baseline {}", file, e);
+            return new ValidationBaseline(file, 1, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Looks up a stored verdict and marks it as used.
+     *
+     * @param key the key of the validated path or definition
+     * @return the violations or {@code null} if no verdict is stored
+     */
+    List<Violation> verdict(HashCode key) {
+        Verdict verdict = verdicts.get(key);
+        if (verdict == null) {
+            return null;
+        }
+        if (verdict.generation != generation) {
+            verdict.generation = generation;
+            dirty.set(true);
+        }
+        return verdict.violations;
+    }
+
+    /**
+     * Stores a verdict, replacing any previous one.
+     *
+     * @param key        the key of the validated path or definition
+     * @param violations the violations, empty if the path or definition passed
+     */
+    void record(HashCode key, List<Violation> violations) {
+        verdicts.put(key, new Verdict(Collections.unmodifiableList(new ArrayList<>(violations)), generation));
+        dirty.set(true);
+    }
+
+    /**
+     * Writes the baseline file if the baseline has been changed since it was read or last written.
+     */
+    void flush() {
+        if (dirty.getAndSet(false)) {
+            save();
+        }
+    }
+
+    /**
+     * Writes the baseline file, merged with the verdicts which other JVMs have written to it in the meantime. The file
+     * is locked while it is read and written. Failures are logged and otherwise ignored.
+     */
+    synchronized void save() {
+        Path tempFile = null;
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            try (FileChannel lockChannel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                                                            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = lockChannel.lock()) {
+                tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+                write(tempFile);
+                try {
+                    Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to write validation baseline {}", file, e);
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private void write(Path tempFile) throws IOException {
+        ValidationBaseline stored = load(file);
+        // the generation of the file, which is ahead of this one if another JVM has written it in the meantime
+        int generationToWrite = Math.max(generation, stored.generation - 1);
+        Map<HashCode, Verdict> merged = new HashMap<>(stored.verdicts);
+        for (Map.Entry<HashCode, Verdict> entry : verdicts.entrySet()) {
+            merged.merge(entry.getKey(), entry.getValue(), (storedVerdict, verdict) -> verdict.generation >= storedVerdict.generation ? verdict : storedVerdict);
+        }
+        List<Map.Entry<HashCode, Verdict>> retained = new ArrayList<>();
+        for (Map.Entry<HashCode, Verdict> entry : merged.entrySet()) {
+            if (entry.getValue().generation > generationToWrite - MAX_UNUSED_GENERATIONS) {
+                retained.add(entry);
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            DataOutputStream entries = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(out)));
+            entries.writeInt(generationToWrite);
+            entries.writeInt(retained.size());
+            for (Map.Entry<HashCode, Verdict> entry : retained) {
+                byte[] key = entry.getKey().asBytes();
+                entries.writeInt(key.length);
+                entries.write(key);
+                entries.writeInt(entry.getValue().generation);
+                entries.writeInt(entry.getValue().violations.size());
+                for (Violation violation : entry.getValue().violations) {
+                    writeViolation(entries, violation);
+                }
+            }
+            entries.close();
+        }
+    }
+
+    private static Violation readViolation(DataInputStream in) throws IOException {
+        String message = readString(in);
+        StackTraceElement location = null;
+        if (in.readBoolean()) {
+            String className = readString(in);
+            String methodName = readString(in);
+            String fileName = readNullableString(in);
+            int lineNumber = in.readInt();
+            location = new StackTraceElement(className, methodName, fileName, lineNumber);
+        }
+        String assertionType = readNullableString(in);
+        ViolationLocation schemaLocation = ViolationLocation.of(readNullableString(in), readNullableString(in), readNullableString(in),
+                readNullableString(in), readNullableString(in), readNullableString(in));
+        String expected = readNullableString(in);
+        String actual = readNullableString(in);
+        return new Violation(message, location, assertionType != null ? SwaggerAssertionType.valueOf(assertionType) : null,
+                schemaLocation, expected, actual);
+    }
+
+    private static void writeViolation(DataOutputStream out, Violation violation) throws IOException {
+        writeString(out, violation.message);
+        StackTraceElement location = violation.location;
+        out.writeBoolean(location != null);
+        if (location != null) {
+            writeString(out, location.getClassName());
+            writeString(out, location.getMethodName());
+            writeNullableString(out, location.getFileName());
+            out.writeInt(location.getLineNumber());
+        }
+        writeNullableString(out, violation.assertionType != null ? violation.assertionType.name() : null);
+        ViolationLocation schemaLocation = violation.schemaLocation;
+        writeNullableString(out, schemaLocation.getPath());
+        writeNullableString(out, schemaLocation.getHttpMethod());
+        writeNullableString(out, schemaLocation.getParameter());
+        writeNullableString(out, schemaLocation.getResponse());
+        writeNullableString(out, schemaLocation.getDefinition());
+        writeNullableString(out, schemaLocation.getProperty());
+        writeNullableString(out, violation.expected);
+        writeNullableString(out, violation.actual);
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readString(in) : null;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeString(out, value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // eat it.
+            }
+        }
+    }
+
+    /**
+     * A stored violation. Besides the failure message it keeps the location the violation was found at, because soft
+     * assertions report it along with the message, and the details of the {@link SwaggerViolation}, so that a replayed
+     * violation is passed to the {@link ViolationSink}s just like a fresh one.
+     */
+    static final class Violation {
+
+        private final String message;
+        private final StackTraceElement location;
+        private final SwaggerAssertionType assertionType;
+        private final ViolationLocation schemaLocation;
+        private final String expected;
+        private final String actual;
+
+        /**
+         * @param message  the failure message
+         * @param location the first stack frame outside of AssertJ or {@code null}
+         */
+        Violation(String message, StackTraceElement location) {
+            this(message, location, null, ViolationLocation.NONE, null, null);
+        }
+
+        /**
+         * @param message        the failure message
+         * @param location       the first stack frame outside of AssertJ or {@code null}
+         * @param assertionType  the assertion type of the failed check or {@code null}
+         * @param schemaLocation the location of the violation in the schema
+         * @param expected       the expected value or {@code null}
+         * @param actual         the actual value or {@code null}
+         */
+        Violation(String message, StackTraceElement location, SwaggerAssertionType assertionType, ViolationLocation schemaLocation,
+                  String expected, String actual) {
+            this.message = message;
+            this.location = location;
+            this.assertionType = assertionType;
+            this.schemaLocation = schemaLocation;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        /**
+         * Captures the message, location and details of an error.
+         *
+         * @param error the error to capture
+         * @return the violation
+         */
+        static Violation of(AssertionError error) {
+            SwaggerViolation violation = ViolationCollector.violationOf(error);
+            StackTraceElement location = null;
+            for (StackTraceElement element : error.getStackTrace()) {
+                if (!element.getClassName().startsWith("org.assertj.")) {
+                    location = element;
+                    break;
+                }
+            }
+            return new Violation(error.getMessage(), location, violation.getAssertionType(), violation.getLocation(),
+                    violation.getExpected(), violation.getActual());
+        }
+
+        /**
+         * @return an error with the stored message, location and details
+         */
+        AssertionError toAssertionError() {
+            StackTraceElement[] stackTrace = location != null ? new StackTraceElement[]{location} : new StackTraceElement[0];
+            if (assertionType == null && schemaLocation.equals(ViolationLocation.NONE) && expected == null && actual == null) {
+                AssertionError error = new AssertionError(message);
+                error.setStackTrace(stackTrace);
+                return error;
+            }
+            return ViolationCollector.violationError(message, stackTrace,
+                    new SwaggerViolation(null, assertionType, schemaLocation, expected, actual));
+        }
+
+        String getMessage() {
+            return message;
+        }
+    }
+
+    private static class Verdict {
+
+        private final List<Violation> violations;
+        private volatile int generation;
+
+        Verdict(List<Violation> violations, int generation) {
+            this.violations = violations;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import java.util.Map;
+
+/**
+ * Receives timings and check counts of the assertions made by {@link SwaggerAssert}, e.g. to find the expensive parts
+ * of a spec or to export them to a metrics system.
+ * <p>
+ * Listeners are registered per assertion with {@link SwaggerAssert#withListener(ValidationListener)}, or for all
+ * assertions by listing their class names in a {@code META-INF/services/io.github.robwin.swagger.test.ValidationListener}
+ * file, see {@link java.util.ServiceLoader}. Swagger files passed to {@link SwaggerAssertions} are parsed before a
+ * listener can be registered on the assertion, so their parsing is only reported to the listeners registered via the
+ * {@code ServiceLoader}.
+ * </p>
+ * <p>
+ * Paths and definitions may be validated in parallel, as may the contracts passed to
+ * {@link SwaggerAssert#satisfiesContracts(Map)}, so listeners must be thread-safe. Exceptions thrown by a
+ * listener are logged and otherwise ignored. All methods do nothing by default. Durations are measured with
+ * {@link System#nanoTime()}.
+ * </p>
+ */
+public interface ValidationListener {
+
+    /**
+     * Called when a phase starts.
+     *
+     * @param phase the phase
+     */
+    default void phaseStarted(ValidationPhase phase) {
+    }
+
+    /**
+     * Called when a phase is finished, even if violations were found.
+     *
+     * @param phase         the phase
+     * @param durationNanos the duration of the phase in nanoseconds
+     */
+    default void phaseFinished(ValidationPhase phase, long durationNanos) {
+    }
+
+    /**
+     * Called for every path which is present in both schemas.
+     *
+     * @param pathName      the name of the path, including the base path
+     * @param checks        the number of checks made, {@code 0} if the path was skipped because it is identical in both
+     *                      schemas or its verdict was taken from a baseline
+     * @param durationNanos the duration of the validation of the path in nanoseconds
+     */
+    default void pathValidated(String pathName, int checks, long durationNanos) {
+    }
+
+    /**
+     * Called for every definition which is present in both schemas.
+     *
+     * @param definitionName the name of the definition
+     * @param checks         the number of checks made, {@code 0} if the definition was skipped because it is identical
+     *                       in both schemas or its verdict was taken from a baseline
+     * @param durationNanos  the duration of the validation of the definition in nanoseconds
+     */
+    default void definitionValidated(String definitionName, int checks, long durationNanos) {
+    }
+
+    /**
+     * Called at the end of every validation with the number of comparisons run per assertion type, each counted for the
+     * most specific assertion type which controls it, e.g. {@link SwaggerAssertionType#STRING_PROPERTIES} for the
+     * comparisons of a string property. Assertion types whose checks were not run are missing.
+     *
+     * @param checksByAssertionType the number of checks by assertion type
+     */
+    default void checksCounted(Map<SwaggerAssertionType, Long> checksByAssertionType) {
+    }
+}
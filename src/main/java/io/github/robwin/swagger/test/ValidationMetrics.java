@@ -0,0 +1,177 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Reports the phases, paths and definitions of a validation to {@link ValidationListener}s and counts the checks run
+ * per {@link SwaggerAssertionType}. Without listeners, all methods return immediately without reading the clock, so
+ * validations which nobody listens to don't pay for the instrumentation.
+ */
+final class ValidationMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ValidationMetrics.class);
+    private static final SwaggerAssertionType[] ASSERTION_TYPES = SwaggerAssertionType.values();
+    private static final List<ValidationListener> SERVICE_LISTENERS = load(Thread.currentThread().getContextClassLoader());
+    private static final ValidationMetrics DISABLED = new ValidationMetrics(Collections.emptyList());
+
+    private final List<ValidationListener> listeners;
+    private final boolean enabled;
+    private final AtomicLongArray checksByAssertionType;
+
+    private ValidationMetrics(List<ValidationListener> listeners) {
+        this.listeners = listeners;
+        this.enabled = !listeners.isEmpty();
+        this.checksByAssertionType = enabled ? new AtomicLongArray(ASSERTION_TYPES.length) : null;
+    }
+
+    /**
+     * @param listeners the listeners to report to
+     * @return the metrics of a single validation
+     */
+    static ValidationMetrics of(List<ValidationListener> listeners) {
+        return listeners.isEmpty() ? DISABLED : new ValidationMetrics(new ArrayList<>(listeners));
+    }
+
+    /**
+     * @return the listeners registered via {@link ServiceLoader}, loaded once per class loader
+     */
+    static List<ValidationListener> serviceListeners() {
+        return SERVICE_LISTENERS;
+    }
+
+    /**
+     * Loads the listeners registered via {@link ServiceLoader}. Listeners which cannot be loaded are logged and skipped.
+     *
+     * @param classLoader the class loader to load the listeners with
+     * @return the listeners
+     */
+    static List<ValidationListener> load(ClassLoader classLoader) {
+        List<ValidationListener> listeners = new ArrayList<>();
+        try {
+            for (ValidationListener listener : ServiceLoader.load(ValidationListener.class, classLoader)) {
+                listeners.add(listener);
+            }
+        } catch (ServiceConfigurationError e) {
+            LOG.warn("Failed to load validation listeners", e);
+        }
+        return Collections.unmodifiableList(listeners);
+    }
+
+    /**
+     * @return the start time of a measurement, to be passed to one of the reporting methods
+     */
+    long startTime() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * @return the start time of the phase, to be passed to {@link #phaseFinished(ValidationPhase, long)}
+     */
+    long phaseStarted(ValidationPhase phase) {
+        if (!enabled) {
+            return 0L;
+        }
+        notifyListeners(listener -> listener.phaseStarted(phase));
+        return System.nanoTime();
+    }
+
+    void phaseFinished(ValidationPhase phase, long startTime) {
+        if (enabled) {
+            long duration = System.nanoTime() - startTime;
+            notifyListeners(listener -> listener.phaseFinished(phase, duration));
+        }
+    }
+
+    /**
+     * Runs the given action as the given phase.
+     */
+    <T> T measure(ValidationPhase phase, Supplier<T> action) {
+        long startTime = phaseStarted(phase);
+        try {
+            return action.get();
+        } finally {
+            phaseFinished(phase, startTime);
+        }
+    }
+
+    void pathValidated(String pathName, int checks, long startTime) {
+        if (enabled) {
+            long duration = System.nanoTime() - startTime;
+            notifyListeners(listener -> listener.pathValidated(pathName, checks, duration));
+        }
+    }
+
+    void definitionValidated(String definitionName, int checks, long startTime) {
+        if (enabled) {
+            long duration = System.nanoTime() - startTime;
+            notifyListeners(listener -> listener.definitionValidated(definitionName, checks, duration));
+        }
+    }
+
+    /**
+     * Counts a comparison run by a {@link ViolationCollector}.
+     */
+    void countCheck(SwaggerAssertionType assertionType) {
+        if (enabled) {
+            checksByAssertionType.incrementAndGet(assertionType.ordinal());
+        }
+    }
+
+    /**
+     * Reports the checks counted since the last call.
+     */
+    void reportChecks() {
+        if (!enabled) {
+            return;
+        }
+        Map<SwaggerAssertionType, Long> checks = new EnumMap<>(SwaggerAssertionType.class);
+        for (SwaggerAssertionType assertionType : ASSERTION_TYPES) {
+            long count = checksByAssertionType.getAndSet(assertionType.ordinal(), 0L);
+            if (count > 0) {
+                checks.put(assertionType, count);
+            }
+        }
+        Map<SwaggerAssertionType, Long> checksByType = Collections.unmodifiableMap(checks);
+        notifyListeners(listener -> listener.checksCounted(checksByType));
+    }
+
+    private void notifyListeners(Consumer<ValidationListener> event) {
+        for (ValidationListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                LOG.warn("Validation listener {} failed", listener, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+/**
+ * The phases of an assertion reported to a {@link ValidationListener}. {@link #PATHS} and {@link #DEFINITIONS} are
+ * nested in {@link #VALIDATION}, which follows {@link #RESOLUTION} and, for consumer-driven contracts,
+ * {@link #PLANNING}.
+ */
+public enum ValidationPhase {
+
+    /**
+     * Reading and parsing a Swagger file, or loading it from the model cache or a snapshot.
+     */
+    PARSING,
+
+    /**
+     * Resolving the properties of all definitions of both schemas, following references and {@code allOf}
+     * compositions. Only reported if definitions are checked. Schemas whose definitions were already resolved, e.g. the
+     * expected schema of a reused {@link ContractPlan}, are not resolved again.
+     */
+    RESOLUTION,
+
+    /**
+     * Compiling a consumer contract into a {@link ContractPlan}.
+     */
+    PLANNING,
+
+    /**
+     * Validating the actual schema against an expected one, excluding the parsing and the planning.
+     */
+    VALIDATION,
+
+    /**
+     * Validating the paths.
+     */
+    PATHS,
+
+    /**
+     * Validating the definitions.
+     */
+    DEFINITIONS
+}
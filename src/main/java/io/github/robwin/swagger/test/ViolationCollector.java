@@ -0,0 +1,588 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import org.assertj.core.api.AssertionErrorCollector;
+import org.assertj.core.api.Descriptable;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.description.Description;
+import org.assertj.core.presentation.StandardRepresentation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Collects the violations found by the validators.
+ * <p>
+ * Every check is done with a plain comparison first. Only if it fails, the equivalent AssertJ soft assertion is run to
+ * record the violation, so the validation of matching specs doesn't create any AssertJ assert objects, while the
+ * failure messages stay the same. {@link #assertAll()} reports all violations as a single error.
+ * </p>
+ * <p>
+ * A collector created for a whole validation passes every violation to its {@link ViolationSink}s as soon as it is
+ * collected, but only retains the first {@code maxRetainedViolations}; the others are summarized in a single error.
+ * The {@link #workerCollector() collectors of a parallel validation} are bounded the same way.
+ * In fail-fast mode, it throws a {@link ValidationAbortedException} right after collecting the first violation, which
+ * the validators catch to stop their traversal.
+ * </p>
+ * <p>
+ * Descriptions may be {@code null}. They are only rendered when a violation is recorded, so validators should pass a
+ * {@link org.assertj.core.description.TextDescription} with format arguments rather than a formatted message. If the
+ * description is a {@link CheckDescription}, the violation is collected as a {@link ViolationError}, which carries the
+ * assertion type, the location and the expected and actual values as a {@link SwaggerViolation}. Every check which is
+ * run is counted in the {@link ValidationMetrics} by the assertion type of its {@code CheckDescription}.
+ * </p>
+ */
+class ViolationCollector {
+
+    private final StreamingSoftAssertions softAssertions = new StreamingSoftAssertions();
+    private final List<ViolationSink> sinks;
+    private final int maxRetainedViolations;
+    private final boolean failFast;
+    private final ValidationMetrics metrics;
+    private int checkCount;
+    private int violationCount;
+    private boolean summarized;
+    private FailedCheck failedCheck;
+
+    ViolationCollector() {
+        this(Collections.emptyList(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a collector for a whole validation.
+     *
+     * @param sinks                 the sinks to pass every violation to
+     * @param maxRetainedViolations the maximum number of violations to retain
+     */
+    ViolationCollector(List<ViolationSink> sinks, int maxRetainedViolations) {
+        this(sinks, maxRetainedViolations, false);
+    }
+
+    /**
+     * Creates a collector for a whole validation.
+     *
+     * @param sinks                 the sinks to pass every violation to
+     * @param maxRetainedViolations the maximum number of violations to retain
+     * @param failFast              whether to abort the validation after the first violation
+     */
+    ViolationCollector(List<ViolationSink> sinks, int maxRetainedViolations, boolean failFast) {
+        this(sinks, maxRetainedViolations, failFast, ValidationMetrics.of(Collections.emptyList()));
+    }
+
+    /**
+     * Creates a collector for a whole validation.
+     *
+     * @param sinks                 the sinks to pass every violation to
+     * @param maxRetainedViolations the maximum number of violations to retain
+     * @param failFast              whether to abort the validation after the first violation
+     * @param metrics               the metrics to count the checks of every assertion type in
+     */
+    ViolationCollector(List<ViolationSink> sinks, int maxRetainedViolations, boolean failFast, ValidationMetrics metrics) {
+        this.sinks = sinks;
+        this.maxRetainedViolations = maxRetainedViolations;
+        this.failFast = failFast;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Creates a collector which reports its violations to the given collector instead of collecting them itself.
+     *
+     * @param errorCollector the collector to report violations to
+     */
+    ViolationCollector(AssertionErrorCollector errorCollector) {
+        this(errorCollector, ValidationMetrics.of(Collections.emptyList()));
+    }
+
+    /**
+     * Creates a collector which reports its violations to the given collector instead of collecting them itself.
+     *
+     * @param errorCollector the collector to report violations to
+     * @param metrics        the metrics to count the checks of every assertion type in
+     */
+    ViolationCollector(AssertionErrorCollector errorCollector, ValidationMetrics metrics) {
+        this(Collections.emptyList(), Integer.MAX_VALUE, false, metrics);
+        softAssertions.setDelegate(errorCollector);
+    }
+
+    /**
+     * @return a collector which reports to this collector
+     */
+    AssertionErrorCollector errorCollector() {
+        return softAssertions;
+    }
+
+    /**
+     * Creates a collector for the chunk of a parallel validation. It passes its violations to the sinks of this collector
+     * right away, from the worker thread, and retains at most as many as this collector, so that the memory used by the
+     * chunks is bounded as well. Its retained violations are added to this collector by {@link #merge(ViolationCollector)}.
+     *
+     * @return a collector for a worker thread
+     */
+    ViolationCollector workerCollector() {
+        return new ViolationCollector(sinks, maxRetainedViolations, false, metrics);
+    }
+
+    /**
+     * Adds the violations of a {@link #workerCollector() worker collector}, which have already been passed to the sinks.
+     * Violations which the worker did not retain are only counted.
+     *
+     * @param worker the collector of a chunk
+     */
+    void merge(ViolationCollector worker) {
+        List<AssertionError> retained = worker.softAssertions.assertionErrorsCollected();
+        for (AssertionError error : retained) {
+            violationCount++;
+            if (violationCount <= maxRetainedViolations) {
+                softAssertions.retain(error);
+            }
+        }
+        violationCount += worker.violationCount - retained.size();
+    }
+
+    /**
+     * @return the number of checks made by this collector, whether they failed or not
+     */
+    int getCheckCount() {
+        return checkCount;
+    }
+
+    /**
+     * @return the number of violations collected by this collector, including those reported to it by nested collectors
+     */
+    int getViolationCount() {
+        return violationCount;
+    }
+
+    void collectAssertionError(AssertionError error) {
+        softAssertions.collectAssertionError(error);
+    }
+
+    /**
+     * @return the violations retained so far, followed by a summary of the others if there are any
+     */
+    List<AssertionError> assertionErrorsCollected() {
+        List<AssertionError> errors = softAssertions.assertionErrorsCollected();
+        if (summarized || violationCount <= maxRetainedViolations) {
+            return errors;
+        }
+        List<AssertionError> errorsAndSummary = new ArrayList<>(errors);
+        errorsAndSummary.add(omittedViolations());
+        return errorsAndSummary;
+    }
+
+    /**
+     * Tells the sinks that the validation with the given name starts.
+     */
+    void start(String validationName) {
+        for (ViolationSink sink : sinks) {
+            sink.validationStarted(validationName);
+        }
+    }
+
+    /**
+     * Tells the sinks that the validation is finished.
+     */
+    void finish() {
+        for (ViolationSink sink : sinks) {
+            sink.validationFinished(violationCount);
+        }
+    }
+
+    /**
+     * Throws a single error containing all retained violations and a summary of the others, if there are any.
+     */
+    void assertAll() {
+        if (!summarized && violationCount > maxRetainedViolations) {
+            softAssertions.retain(omittedViolations());
+            summarized = true;
+        }
+        softAssertions.assertAll();
+    }
+
+    private AssertionError omittedViolations() {
+        return new AssertionError(String.format("%d more violations were found, but not retained (assertj.swagger.maxRetainedViolations=%d)",
+                violationCount - maxRetainedViolations, maxRetainedViolations));
+    }
+
+    /**
+     * Counts a check which is run, by the assertion type of its description if it is a {@link CheckDescription}.
+     */
+    private void countCheck(Description description) {
+        checkCount++;
+        if (description instanceof CheckDescription) {
+            metrics.countCheck(((CheckDescription) description).getAssertionType());
+        }
+    }
+
+    /**
+     * Runs the assertion of a failed check, whose details are attached to the violation it collects. The details are
+     * dropped afterwards, also if the assertion passes or throws, so that they can't be attached to another violation.
+     */
+    private void failed(Description description, String actual, String expected, Runnable assertion) {
+        if (description instanceof CheckDescription) {
+            failedCheck = new FailedCheck((CheckDescription) description, actual, expected);
+        }
+        try {
+            assertion.run();
+        } finally {
+            failedCheck = null;
+        }
+    }
+
+    void assertNotNull(Object actual, Description description) {
+        countCheck(description);
+        if (actual == null) {
+            failed(description, represent(actual), "not null",
+                    () -> describe(softAssertions.assertThat(actual), description).isNotNull());
+        }
+    }
+
+    void assertNull(Object actual, Description description) {
+        countCheck(description);
+        if (actual != null) {
+            failed(description, represent(actual), "null",
+                    () -> describe(softAssertions.assertThat(actual), description).isNull());
+        }
+    }
+
+    void assertEqual(Object actual, Object expected, Description description) {
+        countCheck(description);
+        if (!Objects.deepEquals(actual, expected)) {
+            failed(description, represent(actual), represent(expected),
+                    () -> describe(softAssertions.assertThat(actual), description).isEqualTo(expected));
+        }
+    }
+
+    void assertFalse(boolean actual, Description description) {
+        countCheck(description);
+        if (actual) {
+            failed(description, represent(actual), "false",
+                    () -> describe(softAssertions.assertThat(actual), description).isFalse());
+        }
+    }
+
+    void assertGreaterThanOrEqualTo(int actual, int other, Description description) {
+        countCheck(description);
+        if (actual < other) {
+            failed(description, represent(actual), ">= " + other,
+                    () -> describe(softAssertions.assertThat(actual), description).isGreaterThanOrEqualTo(other));
+        }
+    }
+
+    void assertExactlyInstanceOf(Object actual, Class<?> type) {
+        assertExactlyInstanceOf(actual, type, null);
+    }
+
+    void assertExactlyInstanceOf(Object actual, Class<?> type, Description description) {
+        countCheck(description);
+        if (actual == null || actual.getClass() != type) {
+            failed(description, typeOf(actual), "instance of " + type.getName(),
+                    () -> describe(softAssertions.assertThat(actual), description).isExactlyInstanceOf(type));
+        }
+    }
+
+    void assertInstanceOfAny(Object actual, Class<?>[] types, Description description) {
+        countCheck(description);
+        if (!isInstanceOfAny(actual, types)) {
+            failed(description, typeOf(actual), "instance of any of " + represent(types),
+                    () -> describe(softAssertions.assertThat(actual), description).isInstanceOfAny(types));
+        }
+    }
+
+    void assertNotEmpty(Map<?, ?> actual, Description description) {
+        countCheck(description);
+        if (actual == null || actual.isEmpty()) {
+            failed(description, represent(actual), "not empty",
+                    () -> describe(softAssertions.assertThat(actual), description).isNotEmpty());
+        }
+    }
+
+    void assertNotEmpty(List<?> actual, Description description) {
+        countCheck(description);
+        if (actual == null || actual.isEmpty()) {
+            failed(description, represent(actual), "not empty",
+                    () -> describe(softAssertions.assertThat(actual), description).isNotEmpty());
+        }
+    }
+
+    void assertNullOrEmpty(Map<?, ?> actual, Description description) {
+        countCheck(description);
+        if (actual != null && !actual.isEmpty()) {
+            failed(description, represent(actual), "null or empty",
+                    () -> describe(softAssertions.assertThat(actual), description).isNullOrEmpty());
+        }
+    }
+
+    void assertNullOrEmpty(List<?> actual) {
+        assertNullOrEmpty(actual, null);
+    }
+
+    void assertNullOrEmpty(List<?> actual, Description description) {
+        countCheck(description);
+        if (actual != null && !actual.isEmpty()) {
+            failed(description, represent(actual), "null or empty",
+                    () -> describe(softAssertions.assertThat(actual), description).isNullOrEmpty());
+        }
+    }
+
+    void assertSameSize(Collection<?> actual, Collection<?> other, Description description) {
+        countCheck(description);
+        if (actual == null || other == null || actual.size() != other.size()) {
+            failed(description, represent(actual), "size " + (other != null ? other.size() : null),
+                    () -> describe(softAssertions.assertThat(actual), description).hasSameSizeAs(other));
+        }
+    }
+
+    <E> void assertSameElements(Collection<E> actual, Collection<? extends E> expected) {
+        assertSameElements(actual, expected, null);
+    }
+
+    /**
+     * Checks that {@code actual} contains all elements of {@code expected} and nothing else, ignoring duplicates.
+     */
+    <E> void assertSameElements(Collection<E> actual, Collection<? extends E> expected, Description description) {
+        countCheck(description);
+        if (actual == null || expected == null || !asSet(actual).equals(asSet(expected))) {
+            failed(description, represent(actual), represent(expected),
+                    () -> describe(softAssertions.assertThat(actual), description).hasSameElementsAs(expected));
+        }
+    }
+
+    /**
+     * Checks that the actual keys are the same as the expected keys, reporting the difference with {@link KeySetDiff}.
+     */
+    void assertSameKeys(Collection<?> actual, Collection<?> expected, Description description) {
+        countCheck(description);
+        KeySetDiff diff = KeySetDiff.of(actual, expected);
+        if (!diff.isEmpty()) {
+            failed(description, represent(diff.unexpected()), represent(diff.missing()),
+                    () -> collectAssertionError(new AssertionError(diff.sameKeysMessage(description))));
+        }
+    }
+
+    /**
+     * Checks that the actual keys contain all expected keys, reporting the missing ones with {@link KeySetDiff}.
+     */
+    void assertContainsKeys(Collection<?> actual, Collection<?> expected, Description description) {
+        countCheck(description);
+        KeySetDiff diff = KeySetDiff.of(actual, expected);
+        if (diff.hasMissing()) {
+            failed(description, null, represent(diff.missing()),
+                    () -> collectAssertionError(new AssertionError(diff.containsKeysMessage(description))));
+        }
+    }
+
+    /**
+     * Like {@link #assertSameElements(Collection, Collection, Description)}, but compares the elements only by the
+     * fields of the given comparator. The elements are matched by their {@link FieldsComparator#key(Object) keys} in
+     * linear time.
+     */
+    <E> void assertSameElementsComparingFields(List<E> actual, List<E> expected, FieldsComparator<? super E> comparator, Description description) {
+        countCheck(description);
+        if (actual == null || expected == null || !keys(actual, comparator).equals(keys(expected, comparator))) {
+            failed(description, represent(actual), represent(expected),
+                    () -> describe(softAssertions.assertThat(actual), description).usingElementComparatorOnFields(comparator.fieldNames()).hasSameElementsAs(expected));
+        }
+    }
+
+    <T> void assertEqualComparingOnlyGivenFields(T actual, T expected, FieldsComparator<? super T> comparator) {
+        assertEqualComparingOnlyGivenFields(actual, expected, comparator, null);
+    }
+
+    /**
+     * Checks that the fields of the given comparator are equal. {@code expected} must not be {@code null}.
+     */
+    <T> void assertEqualComparingOnlyGivenFields(T actual, T expected, FieldsComparator<? super T> comparator, Description description) {
+        countCheck(description);
+        if (actual == null || !comparator.fieldsEqual(actual, expected)) {
+            failed(description, represent(actual), represent(expected),
+                    () -> describe(softAssertions.assertThat(actual), description).isEqualToComparingOnlyGivenFields(expected, comparator.fieldNames()));
+        }
+    }
+
+    void assertEqualComparingFieldByField(Object actual, Object expected, Description description) {
+        countCheck(description);
+        // the check is done by AssertJ, so it may pass
+        failed(description, represent(actual), represent(expected),
+                () -> describe(softAssertions.assertThat(actual), description).isEqualToComparingFieldByField(expected));
+    }
+
+    /**
+     * Counts every violation collected, including those of nested collectors, and passes it to the sinks.
+     */
+    private final class StreamingSoftAssertions extends SoftAssertions {
+
+        @Override
+        public void collectAssertionError(AssertionError error) {
+            if (failedCheck != null) {
+                if (!(error instanceof ViolationError)) {
+                    error = new ViolationError(error, failedCheck);
+                }
+                failedCheck = null;
+            }
+            violationCount++;
+            if (!sinks.isEmpty()) {
+                SwaggerViolation violation = violationOf(error);
+                for (ViolationSink sink : sinks) {
+                    sink.violationFound(violation);
+                }
+            }
+            if (violationCount <= maxRetainedViolations) {
+                super.collectAssertionError(error);
+            }
+            if (failFast) {
+                throw new ValidationAbortedException();
+            }
+        }
+
+        void retain(AssertionError error) {
+            super.collectAssertionError(error);
+        }
+    }
+
+    /**
+     * Thrown in fail-fast mode after the first violation has been collected. It carries no stack trace, since it only
+     * unwinds the traversal of the validator.
+     */
+    static final class ValidationAbortedException extends RuntimeException {
+
+        private ValidationAbortedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * The details of a failed check, until its violation is collected.
+     */
+    private static final class FailedCheck {
+
+        private final CheckDescription description;
+        private final String actual;
+        private final String expected;
+
+        private FailedCheck(CheckDescription description, String actual, String expected) {
+            this.description = description;
+            this.actual = actual;
+            this.expected = expected;
+        }
+    }
+
+    /**
+     * An assertion error with the same message as the error reported by AssertJ, which carries the details of the
+     * failed check.
+     */
+    static final class ViolationError extends AssertionError {
+
+        private final transient SwaggerViolation violation;
+
+        private ViolationError(AssertionError error, FailedCheck check) {
+            super(error.getMessage());
+            setStackTrace(error.getStackTrace());
+            this.violation = new SwaggerViolation(this, check.description.getAssertionType(), check.description.getLocation(),
+                    check.expected, check.actual);
+        }
+
+        private ViolationError(String message, StackTraceElement[] stackTrace, SwaggerViolation violation) {
+            super(message);
+            setStackTrace(stackTrace);
+            this.violation = violation.withError(this);
+        }
+
+        SwaggerViolation getViolation() {
+            return violation;
+        }
+    }
+
+    /**
+     * @return the violation described by the given error, which only has a message unless the error is a
+     * {@link ViolationError}
+     */
+    static SwaggerViolation violationOf(AssertionError error) {
+        if (error instanceof ViolationError) {
+            return ((ViolationError) error).getViolation();
+        }
+        return SwaggerViolation.of(error);
+    }
+
+    /**
+     * @return an error with the given message and stack trace, which carries the details of the given violation
+     */
+    static AssertionError violationError(String message, StackTraceElement[] stackTrace, SwaggerViolation violation) {
+        return new ViolationError(message, stackTrace, violation);
+    }
+
+    /**
+     * @return an error with the given message, which keeps the details of the given error
+     */
+    static AssertionError withMessage(AssertionError error, String message) {
+        AssertionError errorWithMessage;
+        if (error instanceof ViolationError) {
+            errorWithMessage = new ViolationError(message, error.getStackTrace(), ((ViolationError) error).getViolation());
+        } else {
+            errorWithMessage = new AssertionError(message);
+            errorWithMessage.setStackTrace(error.getStackTrace());
+        }
+        return errorWithMessage;
+    }
+
+    private static String typeOf(Object value) {
+        return value == null ? represent(null) : "instance of " + value.getClass().getName();
+    }
+
+    private static String represent(Object value) {
+        return StandardRepresentation.STANDARD_REPRESENTATION.toStringOf(value);
+    }
+
+    private static <S extends Descriptable<?>> S describe(S assertion, Description description) {
+        if (CheckDescription.isDescribed(description)) {
+            assertion.as(description);
+        }
+        return assertion;
+    }
+
+    private static boolean isInstanceOfAny(Object actual, Class<?>[] types) {
+        if (actual != null) {
+            for (Class<?> type : types) {
+                if (type.isInstance(actual)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static <E> Set<List<Object>> keys(List<E> elements, FieldsComparator<? super E> comparator) {
+        Set<List<Object>> keys = new HashSet<>();
+        for (E element : elements) {
+            keys.add(comparator.key(element));
+        }
+        return keys;
+    }
+
+    private static Collection<?> asSet(Collection<?> collection) {
+        return collection instanceof Set ? collection : new HashSet<>(collection);
+    }
+}
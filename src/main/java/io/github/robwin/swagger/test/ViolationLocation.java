@@ -0,0 +1,148 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * The part of a schema in which a {@link SwaggerViolation} was found. Parts which don't apply are {@code null}, e.g.
+ * the definition of a violation in an operation.
+ */
+public final class ViolationLocation {
+
+    static final ViolationLocation NONE = new ViolationLocation(null, null, null, null, null, null);
+
+    private final String path;
+    private final String httpMethod;
+    private final String parameter;
+    private final String response;
+    private final String definition;
+    private final String property;
+
+    private ViolationLocation(String path, String httpMethod, String parameter, String response, String definition, String property) {
+        this.path = path;
+        this.httpMethod = httpMethod;
+        this.parameter = parameter;
+        this.response = response;
+        this.definition = definition;
+        this.property = property;
+    }
+
+    static ViolationLocation of(String path, String httpMethod, String parameter, String response, String definition, String property) {
+        return new ViolationLocation(path, httpMethod, parameter, response, definition, property);
+    }
+
+    static ViolationLocation ofPath(String path) {
+        return new ViolationLocation(path, null, null, null, null, null);
+    }
+
+    static ViolationLocation ofOperation(String path, String httpMethod) {
+        return new ViolationLocation(path, httpMethod, null, null, null, null);
+    }
+
+    static ViolationLocation ofDefinition(String definition) {
+        return new ViolationLocation(null, null, null, null, definition, null);
+    }
+
+    ViolationLocation withParameter(String parameter) {
+        return new ViolationLocation(path, httpMethod, parameter, response, definition, property);
+    }
+
+    ViolationLocation withResponse(String response) {
+        return new ViolationLocation(path, httpMethod, parameter, response, definition, property);
+    }
+
+    /**
+     * @param property the name of a property of a definition or of a header of a response
+     */
+    ViolationLocation withProperty(String property) {
+        return new ViolationLocation(path, httpMethod, parameter, response, definition, property);
+    }
+
+    /**
+     * @return the path, including the base path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+
+    public String getDefinition() {
+        return definition;
+    }
+
+    /**
+     * @return the name of a property of a definition or of a header of a response
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ViolationLocation that = (ViolationLocation) o;
+        return Objects.equals(path, that.path) && Objects.equals(httpMethod, that.httpMethod)
+                && Objects.equals(parameter, that.parameter) && Objects.equals(response, that.response)
+                && Objects.equals(definition, that.definition) && Objects.equals(property, that.property);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, httpMethod, parameter, response, definition, property);
+    }
+
+    /**
+     * @return e.g. {@code GET /pets response 200 property X-Rate-Limit}, or an empty string if no part applies
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(" ");
+        append(joiner, null, httpMethod);
+        append(joiner, null, path);
+        append(joiner, "parameter", parameter);
+        append(joiner, "response", response);
+        append(joiner, "definition", definition);
+        append(joiner, "property", property);
+        return joiner.toString();
+    }
+
+    private static void append(StringJoiner joiner, String kind, String value) {
+        if (value != null) {
+            joiner.add(kind != null ? kind + " " + value : value);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+/**
+ * Receives the violations of an assertion made by {@link SwaggerAssert} as soon as they are found, e.g. to write them to
+ * a file while the validation is still running.
+ * <p>
+ * Sinks are registered per assertion with {@link SwaggerAssert#withViolationSink(ViolationSink)}. They receive every
+ * violation, even if {@code assertj.swagger.maxRetainedViolations} limits the number of violations kept in memory and
+ * reported by the final assertion error. Paths and definitions validated in parallel pass their violations on from
+ * the worker threads as soon as they are found, so violations of different chunks may interleave and sinks have to be
+ * thread-safe if {@code assertj.swagger.parallelValidation} is enabled.
+ * </p>
+ * <p>
+ * The contracts passed to {@link SwaggerAssert#satisfiesContracts(java.util.Map)} are validated in parallel; their
+ * violations are passed on from the worker threads as soon as they are found, prefixed with the name of their
+ * consumer, so sinks have to be thread-safe as well. {@link #validationStarted(String)} is called once before and
+ * {@link #validationFinished(int)} once after all contracts are validated. The summaries of the violations which a contract did not retain are not passed on.
+ * </p>
+ * <p>
+ * Exceptions thrown by a sink abort the validation. A sink can therefore stop a validation after a number of violations
+ * by throwing an {@link AssertionError}.
+ * </p>
+ * <p>
+ * {@link JsonLinesReportWriter} and {@link JUnitXmlReportWriter} write the violations to a report file.
+ * </p>
+ */
+public interface ViolationSink {
+
+    /**
+     * Called when a validation starts, before its first violation is found. Does nothing by default.
+     *
+     * @param validationName the kind of the validation followed by the title of the expected schema, or by the names
+     *                       of the consumers of a batch of contracts, e.g. {@code consumer-driven: Swagger Petstore}
+     */
+    default void validationStarted(String validationName) {
+    }
+
+    /**
+     * Called for every violation found.
+     *
+     * @param violation the violation, with its location in the schema if known
+     */
+    void violationFound(SwaggerViolation violation);
+
+    /**
+     * Called when the validation is finished, before the assertion error reporting the retained violations is thrown.
+     * Does nothing by default.
+     *
+     * @param violationCount the number of violations found
+     */
+    default void validationFinished(int violationCount) {
+    }
+}
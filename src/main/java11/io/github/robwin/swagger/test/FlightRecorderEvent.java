@@ -0,0 +1,157 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event for the parsing of a Swagger file, the resolution of the definitions of a schema or the
+ * validation of a single path or definition.
+ * <p>
+ * This is the Java 11 variant of the no-op class in {@code src/main/java}. Events are only created and timed if they are
+ * enabled in a running recording.
+ * </p>
+ */
+class FlightRecorderEvent {
+
+    private static final FlightRecorderEvent DISABLED = new FlightRecorderEvent(null);
+
+    private final Event event;
+
+    private FlightRecorderEvent(Event event) {
+        this.event = event;
+    }
+
+    static FlightRecorderEvent parsing(String location) {
+        ParseEvent event = new ParseEvent();
+        if (!event.isEnabled()) {
+            return DISABLED;
+        }
+        event.location = location;
+        return begin(event);
+    }
+
+    static FlightRecorderEvent resolution(String schemaTitle) {
+        ResolutionEvent event = new ResolutionEvent();
+        if (!event.isEnabled()) {
+            return DISABLED;
+        }
+        event.schemaTitle = schemaTitle;
+        return begin(event);
+    }
+
+    static FlightRecorderEvent pathValidation(String pathName) {
+        PathValidationEvent event = new PathValidationEvent();
+        if (!event.isEnabled()) {
+            return DISABLED;
+        }
+        event.pathName = pathName;
+        return begin(event);
+    }
+
+    static FlightRecorderEvent definitionValidation(String definitionName) {
+        DefinitionValidationEvent event = new DefinitionValidationEvent();
+        if (!event.isEnabled()) {
+            return DISABLED;
+        }
+        event.definitionName = definitionName;
+        return begin(event);
+    }
+
+    private static FlightRecorderEvent begin(Event event) {
+        event.begin();
+        return new FlightRecorderEvent(event);
+    }
+
+    void commit() {
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    void commitResolved(int definitionCount) {
+        if (event instanceof ResolutionEvent) {
+            ((ResolutionEvent) event).definitionCount = definitionCount;
+        }
+        commit();
+    }
+
+    void commitValidated(int checks, int violations) {
+        if (event instanceof ValidationEvent) {
+            ((ValidationEvent) event).checks = checks;
+            ((ValidationEvent) event).violations = violations;
+        }
+        commit();
+    }
+
+    @Name("io.github.robwin.swagger.Parse")
+    @Label("Swagger Parse")
+    @Description("Reading and parsing a Swagger file, or loading it from the model cache or a snapshot")
+    @Category("assertj-swagger")
+    static class ParseEvent extends Event {
+
+        @Label("Location")
+        String location;
+    }
+
+    @Name("io.github.robwin.swagger.Resolution")
+    @Label("Definition Resolution")
+    @Description("Resolving the properties of all definitions of a schema, following references and allOf compositions")
+    @Category("assertj-swagger")
+    static class ResolutionEvent extends Event {
+
+        @Label("Schema Title")
+        String schemaTitle;
+
+        @Label("Definitions")
+        int definitionCount;
+    }
+
+    @Category("assertj-swagger")
+    abstract static class ValidationEvent extends Event {
+
+        @Label("Checks")
+        int checks;
+
+        @Label("Violations")
+        int violations;
+    }
+
+    @Name("io.github.robwin.swagger.PathValidation")
+    @Label("Path Validation")
+    @Description("Validating a path which is present in both schemas; no checks are made if its verdict was reused")
+    static class PathValidationEvent extends ValidationEvent {
+
+        @Label("Path")
+        String pathName;
+    }
+
+    @Name("io.github.robwin.swagger.DefinitionValidation")
+    @Label("Definition Validation")
+    @Description("Validating a definition which is present in both schemas; no checks are made if its verdict was reused")
+    static class DefinitionValidationEvent extends ValidationEvent {
+
+        @Label("Definition")
+        String definitionName;
+    }
+}
@@ -18,13 +18,26 @@
  */
 package io.github.robwin.swagger;
 
+import io.github.robwin.swagger.test.ContractReport;
 import io.github.robwin.swagger.test.SwaggerAssert;
+import io.github.robwin.swagger.test.SwaggerAssertionConfig;
 import io.github.robwin.swagger.test.SwaggerAssertions;
+import io.swagger.models.Swagger;
 import io.swagger.parser.SwaggerParser;
 import org.apache.commons.lang3.Validate;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class SwaggerConsumerDrivenAssertTest {
 
@@ -35,6 +48,13 @@ public class SwaggerConsumerDrivenAssertTest {
         SwaggerAssertions.assertThat(implFirstSwaggerLocation.getAbsolutePath()).satisfiesContract(designFirstSwaggerLocation.getAbsolutePath());
     }
 
+    @Test
+    public void shouldFindNoDifferencesWhenParsingConcurrently() {
+        File implFirstSwaggerLocation = new File(SwaggerConsumerDrivenAssertTest.class.getResource("/swagger.json").getFile());
+        File designFirstSwaggerLocation = new File(SwaggerConsumerDrivenAssertTest.class.getResource("/swagger.yaml").getFile());
+        SwaggerAssertions.assertSatisfiesContract(implFirstSwaggerLocation.getAbsolutePath(), designFirstSwaggerLocation.getAbsolutePath());
+    }
+
     @Test
     public void shouldtolerateOptionalParameter() {
         File implFirstSwaggerLocation = new File(SwaggerConsumerDrivenAssertTest.class.getResource("/swagger-added-optional-parameter.json").getFile());
@@ -92,6 +112,22 @@ public class SwaggerConsumerDrivenAssertTest {
         SwaggerAssertions.assertThat(implFirstSwaggerLocation.getAbsolutePath()).satisfiesContract(designFirstSwaggerLocation.getAbsolutePath());
     }
 
+    @Test
+    public void shouldReportSameDifferencesWhenValidatingDefinitionsInParallel() {
+        File implFirstSwaggerLocation = new File(SwaggerConsumerDrivenAssertTest.class.getResource("/swagger.json").getPath());
+        File designFirstSwaggerLocation = new File(SwaggerConsumerDrivenAssertTest.class.getResource("/swagger-singleresource-extraproperty.json").getPath());
+        Swagger actual = new SwaggerParser().read(implFirstSwaggerLocation.getAbsolutePath());
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.parallelValidation", "true");
+
+        String sequentialMessage = failureMessageOf(() -> new SwaggerAssert(actual, new SwaggerAssertionConfig(new Properties()))
+                .satisfiesContract(designFirstSwaggerLocation.getAbsolutePath()));
+        String parallelMessage = failureMessageOf(() -> new SwaggerAssert(actual, new SwaggerAssertionConfig(props))
+                .satisfiesContract(designFirstSwaggerLocation.getAbsolutePath()));
+
+        assertEquals(sequentialMessage, parallelMessage);
+    }
+
     @Test
     public void shouldHandleConsumerContractSingleResource() {
         File implFirstSwaggerLocation = new File(SwaggerConsumerDrivenAssertTest.class.getResource("/swagger.json").getPath());
@@ -178,4 +214,60 @@ public class SwaggerConsumerDrivenAssertTest {
         SwaggerAssertions.assertThat(implFirstSwaggerLocation.getAbsolutePath())
                          .satisfiesContract(designFirstSwaggerLocation.getAbsolutePath());
     }
+
+    @Test
+    public void shouldReportViolationsOfEveryContract() {
+        Swagger actual = readSwagger("/swagger.json");
+        Map<String, Swagger> contracts = new LinkedHashMap<>();
+        contracts.put("design", readSwagger("/swagger.yaml"));
+        contracts.put("extraproperty", readSwagger("/swagger-singleresource-extraproperty.json"));
+        contracts.put("partialmodel", readSwagger("/swagger-singleresource-partialmodel.json"));
+
+        ContractReport report = new SwaggerAssert(actual, new SwaggerAssertionConfig(new Properties())).validateContracts(contracts);
+        String singleMessage = failureMessageOf(() -> new SwaggerAssert(actual, new SwaggerAssertionConfig(new Properties()))
+                .satisfiesContract(contracts.get("extraproperty")));
+
+        assertEquals(Arrays.asList("design", "extraproperty", "partialmodel"), new ArrayList<>(report.getConsumers()));
+        assertEquals(Collections.singleton("extraproperty"), report.getFailedConsumers());
+        assertTrue(report.isSatisfied("design"));
+        assertFalse(report.getViolations("extraproperty").isEmpty());
+        for (AssertionError violation : report.getViolations("extraproperty")) {
+            assertTrue(singleMessage.contains(violation.getMessage()));
+        }
+    }
+
+    @Test
+    public void shouldPrefixViolationsWithConsumer() {
+        Map<String, Swagger> contracts = new LinkedHashMap<>();
+        contracts.put("design", readSwagger("/swagger.yaml"));
+        contracts.put("extraproperty", readSwagger("/swagger-singleresource-extraproperty.json"));
+
+        String message = failureMessageOf(() -> new SwaggerAssert(readSwagger("/swagger.json"), new SwaggerAssertionConfig(new Properties()))
+                .satisfiesContracts(contracts));
+
+        assertTrue(message.contains("[Consumer 'extraproperty'] "));
+        assertFalse(message.contains("[Consumer 'design'] "));
+    }
+
+    @Test
+    public void shouldSatisfyAllContracts() {
+        Map<String, Swagger> contracts = new LinkedHashMap<>();
+        contracts.put("design", readSwagger("/swagger.yaml"));
+        contracts.put("singleresource", readSwagger("/swagger-singleresource.json"));
+        contracts.put("partialmodel", readSwagger("/swagger-singleresource-partialmodel.json"));
+        SwaggerAssertions.assertThat(readSwagger("/swagger.json")).satisfiesContracts(contracts);
+    }
+
+    private Swagger readSwagger(String resource) {
+        return new SwaggerParser().read(new File(SwaggerConsumerDrivenAssertTest.class.getResource(resource).getPath()).getAbsolutePath());
+    }
+
+    private String failureMessageOf(Runnable assertion) {
+        try {
+            assertion.run();
+        } catch (AssertionError e) {
+            return e.getMessage();
+        }
+        throw new AssertionError("Expected assertion to fail");
+    }
 }
@@ -24,15 +24,20 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import io.github.robwin.swagger.test.SwaggerAssert;
 import io.github.robwin.swagger.test.SwaggerAssertionConfig;
 import io.github.robwin.swagger.test.SwaggerAssertions;
+import io.swagger.models.Swagger;
 import io.swagger.parser.SwaggerParser;
 import org.apache.commons.lang3.Validate;
 import org.junit.After;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 public class SwaggerDocumentationDrivenAssertTest {
 
     private static final String SWAGGER_CONFIG_LOCATION = "assertj-swagger.properties";
@@ -53,6 +58,85 @@ public class SwaggerDocumentationDrivenAssertTest {
             .isEqualTo(designFirstSwaggerLocation.getAbsolutePath());
     }
 
+    @Test
+    public void shouldFindNoDifferencesForParametersWithSameNameInDifferentLocations() {
+        File swaggerFile = new File(
+            SwaggerDocumentationDrivenAssertTest.class.getResource("/swagger-with-multi-types-parameters.json").getPath());
+        SwaggerAssertions.assertThat(swaggerFile.getAbsolutePath()).isEqualTo(swaggerFile.getAbsolutePath());
+    }
+
+    @Test
+    public void shouldFindNoDifferencesWhenParsingConcurrently() {
+        File implFirstSwaggerLocation = new File(
+            SwaggerDocumentationDrivenAssertTest.class.getResource("/swagger.json").getFile());
+        File designFirstSwaggerLocation = new File(
+            SwaggerDocumentationDrivenAssertTest.class.getResource("/swagger.yaml").getFile());
+        SwaggerAssertions.assertIsEqualTo(implFirstSwaggerLocation.getAbsolutePath(), designFirstSwaggerLocation.getAbsolutePath());
+    }
+
+    @Test(expected = AssertionError.class)
+    public void shouldFindDifferencesWhenParsingConcurrently() {
+        File implFirstSwaggerLocation = new File(
+            SwaggerDocumentationDrivenAssertTest.class.getResource("/wrong_swagger.json").getPath());
+        File designFirstSwaggerLocation = new File(
+            SwaggerDocumentationDrivenAssertTest.class.getResource("/swagger.yaml").getPath());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            SwaggerAssertions.assertIsEqualTo(implFirstSwaggerLocation.getAbsolutePath(), designFirstSwaggerLocation.getAbsolutePath(), executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldFindNoDifferencesWhenValidatingPathsInParallel() {
+        File implFirstSwaggerLocation = new File(
+            SwaggerDocumentationDrivenAssertTest.class.getResource("/swagger.json").getFile());
+        File designFirstSwaggerLocation = new File(
+            SwaggerDocumentationDrivenAssertTest.class.getResource("/swagger.yaml").getFile());
+        new SwaggerAssert(new SwaggerParser().read(implFirstSwaggerLocation.getAbsolutePath()), parallelValidationConfig())
+            .isEqualTo(designFirstSwaggerLocation.getAbsolutePath());
+    }
+
+    @Test
+    public void shouldReportSameDifferencesWhenValidatingPathsInParallel() {
+        File implFirstSwaggerLocation = new File(
+            SwaggerDocumentationDrivenAssertTest.class.getResource("/swagger-name-changes.json").getPath());
+        File designFirstSwaggerLocation = new File(
+            SwaggerDocumentationDrivenAssertTest.class.getResource("/swagger.yaml").getPath());
+        Swagger actual = new SwaggerParser().read(implFirstSwaggerLocation.getAbsolutePath());
+
+        String sequentialMessage = failureMessageOf(() -> new SwaggerAssert(actual, new SwaggerAssertionConfig(new Properties()))
+            .isEqualTo(designFirstSwaggerLocation.getAbsolutePath()));
+        String parallelMessage = failureMessageOf(() -> new SwaggerAssert(actual, parallelValidationConfig())
+            .isEqualTo(designFirstSwaggerLocation.getAbsolutePath()));
+
+        assertEquals(sequentialMessage, parallelMessage);
+    }
+
+    @Test
+    public void shouldReportSameDifferencesWhenReusingBaseline() throws IOException {
+        File implFirstSwaggerLocation = new File(
+            SwaggerDocumentationDrivenAssertTest.class.getResource("/swagger-name-changes.json").getPath());
+        File designFirstSwaggerLocation = new File(
+            SwaggerDocumentationDrivenAssertTest.class.getResource("/swagger.yaml").getPath());
+        Swagger actual = new SwaggerParser().read(implFirstSwaggerLocation.getAbsolutePath());
+        java.nio.file.Path baselineFile = Files.createTempDirectory("assertj-swagger").resolve("baseline.bin");
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.baselineFile", baselineFile.toString());
+
+        String sequentialMessage = failureMessageOf(() -> new SwaggerAssert(actual, new SwaggerAssertionConfig(new Properties()))
+            .isEqualTo(designFirstSwaggerLocation.getAbsolutePath()));
+        String firstMessage = failureMessageOf(() -> new SwaggerAssert(actual, new SwaggerAssertionConfig(props))
+            .isEqualTo(designFirstSwaggerLocation.getAbsolutePath()));
+        String replayedMessage = failureMessageOf(() -> new SwaggerAssert(actual, new SwaggerAssertionConfig(props))
+            .isEqualTo(designFirstSwaggerLocation.getAbsolutePath()));
+
+        assertEquals(sequentialMessage, firstMessage);
+        assertEquals(sequentialMessage, replayedMessage);
+        assertEquals(true, Files.isRegularFile(baselineFile));
+    }
+
     @Test(expected = AssertionError.class)
     public void shouldFindDifferencesInImplementation() {
         File implFirstSwaggerLocation = new File(
@@ -259,6 +343,21 @@ public class SwaggerDocumentationDrivenAssertTest {
         swaggerAssert.isEqualTo(designFirstSwaggerLocation.getAbsolutePath());
     }
 
+    private SwaggerAssertionConfig parallelValidationConfig() {
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.parallelValidation", "true");
+        return new SwaggerAssertionConfig(props);
+    }
+
+    private String failureMessageOf(Runnable assertion) {
+        try {
+            assertion.run();
+        } catch (AssertionError e) {
+            return e.getMessage();
+        }
+        throw new AssertionError("Expected assertion to fail");
+    }
+
     private SwaggerAssertionConfig getConfig() throws IOException {
         Properties props = new Properties();
         props.load(new FileReader(SWAGGER_CONFIG));
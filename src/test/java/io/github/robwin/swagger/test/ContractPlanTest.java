@@ -0,0 +1,93 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests ContractPlan.
+ */
+public class ContractPlanTest {
+
+    private static Swagger buildSwaggerFrom(String filename) {
+        File swaggerFile = new File(ContractPlanTest.class.getResource(filename).getPath());
+        return new SwaggerParser().read(swaggerFile.getAbsolutePath());
+    }
+
+    private static String failureMessageOf(Runnable assertion) {
+        try {
+            assertion.run();
+        } catch (AssertionError e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    @Test
+    public void shouldReportSameDifferencesAsExpectedSchema() {
+        // given
+        SwaggerAssertionConfig assertionConfig = new SwaggerAssertionConfig(new Properties());
+        Swagger expected = buildSwaggerFrom("/swagger-singleresource-extraproperty.json");
+        ContractPlan plan = ContractPlan.compile(expected, assertionConfig);
+        List<String> actualLocations = Arrays.asList("/swagger.json", "/wrong_swagger.json", "/swagger-added-required-parameter.json", "/swagger.json");
+        // when
+        List<String> planMessages = actualLocations.parallelStream()
+                .map(location -> failureMessageOf(() -> new SwaggerAssert(buildSwaggerFrom(location), assertionConfig).satisfiesContract(plan)))
+                .collect(Collectors.toList());
+        // then
+        for (int i = 0; i < actualLocations.size(); i++) {
+            Swagger actual = buildSwaggerFrom(actualLocations.get(i));
+            String message = failureMessageOf(() -> new SwaggerAssert(actual, assertionConfig).satisfiesContract(expected));
+            assertThat(planMessages.get(i), equalTo(message));
+        }
+        assertThat(planMessages.get(0), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldApplyConfigurationOfPlan() {
+        // given
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.propertiesToIgnoreInExpected", "Pet.tags");
+        ContractPlan plan = ContractPlan.compile(buildSwaggerFrom("/swagger.json"), new SwaggerAssertionConfig(props));
+        // then
+        assertThat(plan.getCheckedPropertyNames("Pet").contains("tags"), is(false));
+        assertThat(plan.getCheckedPropertyNames("Pet").contains("name"), is(true));
+        assertThat(plan.getCheckedRequiredPropertyNames("Pet"), hasItem("name"));
+        new SwaggerAssert(buildSwaggerFrom("/swagger.json"), new SwaggerAssertionConfig(new Properties())).satisfiesContract(plan);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowChangesToPlan() {
+        // given
+        ContractPlan plan = ContractPlan.compile(buildSwaggerFrom("/swagger.json"), new SwaggerAssertionConfig(new Properties()));
+        // when
+        plan.getExpectedPaths().clear();
+    }
+}
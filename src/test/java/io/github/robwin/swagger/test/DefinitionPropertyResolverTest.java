@@ -0,0 +1,125 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.ComposedModel;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.parser.SwaggerParser;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests DefinitionPropertyResolver.
+ */
+public class DefinitionPropertyResolverTest {
+
+    private static Swagger buildSwaggerFrom(String filename) {
+        File swaggerFile = new File(DefinitionPropertyResolverTest.class.getResource(filename).getPath());
+        return new SwaggerParser().read(swaggerFile.getAbsolutePath());
+    }
+
+    @Test
+    public void shouldResolveSamePropertiesForAllMembersOfCycle() {
+        // given Order1 -> Order2 -> Order1
+        Swagger swagger = buildSwaggerFrom("/swagger-allOf-test-inheritance-cycles.json");
+        // when
+        Map<String, Property> order1 = new DefinitionPropertyResolver(swagger).resolveProperties(new RefModel("Order1"));
+        Map<String, Property> order2 = new DefinitionPropertyResolver(swagger).resolveProperties(new RefModel("Order2"));
+        // then
+        assertThat(order1.keySet(), hasItems("petId", "quantity", "shipDate", "status", "complete"));
+        assertThat(order2, equalTo(order1));
+    }
+
+    @Test
+    public void shouldResolveDeepHierarchyWithoutRecursion() {
+        // given Level0 <- Level1 <- ... <- Level19999
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("Level0", new ModelImpl().property("level0", new StringProperty()));
+        int depth = 20000;
+        for (int i = 1; i < depth; i++) {
+            swagger.addDefinition("Level" + i, new ComposedModel().parent(new RefModel("Level" + (i - 1))));
+        }
+        // when
+        Map<String, Property> properties = new DefinitionPropertyResolver(swagger).resolveProperties(new RefModel("Level" + (depth - 1)));
+        // then
+        assertThat(properties.keySet(), equalTo(Collections.singleton("level0")));
+    }
+
+    @Test
+    public void shouldResolveInlineModelOnlyOnce() {
+        // given
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("Pet", new ModelImpl().property("name", new StringProperty()));
+        ComposedModel inlineModel = new ComposedModel();
+        inlineModel.setAllOf(Arrays.asList(new RefModel("Pet"), new ModelImpl().property("tag", new StringProperty())));
+        DefinitionPropertyResolver resolver = new DefinitionPropertyResolver(swagger);
+        // when
+        Map<String, Property> properties = resolver.resolveProperties(inlineModel);
+        // then
+        assertThat(properties.keySet(), hasItems("name", "tag"));
+        assertThat(resolver.resolveProperties(inlineModel), is(sameInstance(properties)));
+        try {
+            properties.remove("name");
+            fail("UnsupportedOperationException expected");
+        } catch (UnsupportedOperationException e) {
+            // the resolved properties are shared
+        }
+    }
+
+    @Test
+    public void shouldResolveUnknownReferenceToNoProperties() {
+        // given
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("Order", new ComposedModel()
+                .parent(new RefModel("Unknown"))
+                .child(new ModelImpl().property("id", new StringProperty())));
+        // when
+        Map<String, Property> properties = new DefinitionPropertyResolver(swagger).resolveProperties(swagger.getDefinitions().get("Order"));
+        // then
+        assertThat(properties.keySet(), equalTo(Collections.singleton("id")));
+        assertThat(new DefinitionPropertyResolver(swagger).resolveProperties(new RefModel("Unknown")).isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldReturnComponentsAfterTheirDependencies() {
+        // given 0 -> 1 -> 2 -> 1, 2 -> 3
+        int[][] dependencies = {{1}, {2}, {1, 3}, {}};
+        // when
+        List<int[]> components = DefinitionPropertyResolver.stronglyConnectedComponents(dependencies);
+        // then
+        assertEquals(3, components.size());
+        assertThat(components.get(0)[0], equalTo(3));
+        assertEquals(2, components.get(1).length);
+        assertThat(components.get(2)[0], equalTo(0));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the fail-fast mode of both validators.
+ */
+public class FailFastValidationTest {
+
+    private static Swagger buildSwaggerFrom(String filename) {
+        File swaggerFile = new File(FailFastValidationTest.class.getResource(filename).getPath());
+        return new SwaggerParser().read(swaggerFile.getAbsolutePath());
+    }
+
+    private static SwaggerAssertionConfig failFast() {
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.failFast", "true");
+        props.setProperty("assertj.swagger.parallelValidation", "true");
+        return new SwaggerAssertionConfig(props);
+    }
+
+    @Test
+    public void shouldStopDocumentationDrivenValidationAtFirstViolation() {
+        // given
+        List<SwaggerViolation> violations = new ArrayList<>();
+        SwaggerAssert swaggerAssert = new SwaggerAssert(buildSwaggerFrom("/swagger.json"), failFast()).withViolationSink(violations::add);
+        // when
+        try {
+            swaggerAssert.isEqualTo(buildSwaggerFrom("/wrong_swagger.json"));
+            fail("AssertionError expected");
+        } catch (AssertionError e) {
+            // then
+            assertThat(violations.size(), is(1));
+            assertThat(e.getMessage(), containsString(violations.get(0).getMessage()));
+        }
+    }
+
+    @Test
+    public void shouldReportMissingDefinitionBeforeValidatingPaths() {
+        // given
+        Swagger actual = buildSwaggerFrom("/swagger.json");
+        Swagger expected = buildSwaggerFrom("/swagger.json");
+        expected.getPath("/pets").getPost().setProduces(Collections.singletonList("text/plain"));
+        actual.getDefinitions().remove("Pet");
+        List<SwaggerViolation> violations = new ArrayList<>();
+        // when
+        try {
+            new SwaggerAssert(actual, failFast()).withViolationSink(violations::add).satisfiesContract(expected);
+            fail("AssertionError expected");
+        } catch (AssertionError e) {
+            // then
+            assertThat(violations.size(), is(1));
+            assertThat(violations.get(0).getMessage(), containsString("Checking Definitions"));
+        }
+    }
+
+    @Test
+    public void shouldPassMatchingSchemas() {
+        // when
+        new SwaggerAssert(buildSwaggerFrom("/swagger.json"), failFast())
+                .isEqualTo(buildSwaggerFrom("/swagger.json"))
+                .satisfiesContract(buildSwaggerFrom("/swagger.json"));
+    }
+
+    @Test
+    public void shouldCountKeyChecksOnce() {
+        // given
+        List<Map<SwaggerAssertionType, Long>> failFastChecks = new ArrayList<>();
+        List<Map<SwaggerAssertionType, Long>> checks = new ArrayList<>();
+        ValidationListener failFastListener = new ValidationListener() {
+            @Override
+            public void checksCounted(Map<SwaggerAssertionType, Long> checksByAssertionType) {
+                failFastChecks.add(checksByAssertionType);
+            }
+        };
+        ValidationListener listener = new ValidationListener() {
+            @Override
+            public void checksCounted(Map<SwaggerAssertionType, Long> checksByAssertionType) {
+                checks.add(checksByAssertionType);
+            }
+        };
+        // when
+        new SwaggerAssert(buildSwaggerFrom("/swagger.json"), failFast()).withListener(failFastListener)
+                .isEqualTo(buildSwaggerFrom("/swagger.json"))
+                .satisfiesContract(buildSwaggerFrom("/swagger.json"));
+        new SwaggerAssert(buildSwaggerFrom("/swagger.json"), new SwaggerAssertionConfig(new Properties())).withListener(listener)
+                .isEqualTo(buildSwaggerFrom("/swagger.json"))
+                .satisfiesContract(buildSwaggerFrom("/swagger.json"));
+        // then
+        assertThat(failFastChecks, is(checks));
+    }
+
+    @Test
+    public void shouldNotValidateInParallel() {
+        // then
+        assertThat(failFast().isParallelValidation(), is(false));
+    }
+}
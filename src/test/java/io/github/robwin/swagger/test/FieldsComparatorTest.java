@@ -0,0 +1,95 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.StringProperty;
+import org.assertj.core.api.DefaultAssertionErrorCollector;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static io.github.robwin.swagger.test.FieldsComparator.field;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests FieldsComparator.
+ */
+public class FieldsComparatorTest {
+
+    private static final FieldsComparator<Property> COMPARATOR = FieldsComparator.of(
+            field("name", Property::getName),
+            field("readOnly", Property::getReadOnly),
+            field("vendorExtensions", Property::getVendorExtensions));
+
+    @Test
+    public void shouldAgreeWithReflectiveComparison() {
+        List<Consumer<StringProperty>> changes = Arrays.asList(
+                p -> { },
+                p -> p.setName("other"),
+                p -> p.setReadOnly(true),
+                p -> p.setVendorExtension("x-other", "value"),
+                p -> p.setDescription("not compared"));
+        for (Consumer<StringProperty> change : changes) {
+            // given
+            StringProperty expected = property();
+            StringProperty actual = property();
+            change.accept(actual);
+            // when
+            boolean fieldsEqual = COMPARATOR.fieldsEqual(actual, expected);
+            // then
+            assertEquals(reflectivelyEqual(actual, expected), fieldsEqual);
+        }
+    }
+
+    @Test
+    public void shouldReportMismatchWithAssertJMessage() {
+        // given
+        StringProperty expected = property();
+        StringProperty actual = property();
+        actual.setName("other");
+        DefaultAssertionErrorCollector errorCollector = new DefaultAssertionErrorCollector();
+        // when
+        new ViolationCollector(errorCollector).assertEqualComparingOnlyGivenFields(actual, expected, COMPARATOR);
+        // then
+        assertEquals(1, errorCollector.assertionErrorsCollected().size());
+        assertTrue(errorCollector.assertionErrorsCollected().get(0).getMessage().contains("name"));
+        assertFalse(COMPARATOR.fieldsEqual(actual, expected));
+    }
+
+    private static StringProperty property() {
+        StringProperty property = new StringProperty();
+        property.setName("name");
+        property.setVendorExtension("x-extension", "value");
+        return property;
+    }
+
+    private static boolean reflectivelyEqual(Property actual, Property expected) {
+        DefaultAssertionErrorCollector errorCollector = new DefaultAssertionErrorCollector();
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.setDelegate(errorCollector);
+        softAssertions.assertThat(actual).isEqualToComparingOnlyGivenFields(expected, "name", "readOnly", "vendorExtensions");
+        return errorCollector.assertionErrorsCollected().isEmpty();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests GlobMatcher.
+ */
+public class GlobMatcherTest {
+
+    @Test
+    public void shouldMatchLiteralPatterns() {
+        // given
+        GlobMatcher matcher = GlobMatcher.compile(Arrays.asList("/pets", "/pets/{petId}"), '/');
+        // then
+        assertThat(matcher.matches("/pets"), is(true));
+        assertThat(matcher.matches("/pets/{petId}"), is(true));
+        assertThat(matcher.matches("/pets/"), is(false));
+        assertThat(matcher.matches("/pet"), is(false));
+        assertThat(matcher.matches("/users"), is(false));
+    }
+
+    @Test
+    public void shouldMatchSingleStarWithinSegment() {
+        // given
+        GlobMatcher matcher = GlobMatcher.compile(Collections.singleton("/pets/*/tags"), '/');
+        // then
+        assertThat(matcher.matches("/pets/{petId}/tags"), is(true));
+        assertThat(matcher.matches("/pets//tags"), is(true));
+        assertThat(matcher.matches("/pets/a/b/tags"), is(false));
+    }
+
+    @Test
+    public void shouldMatchDoubleStarAcrossSegments() {
+        // given
+        GlobMatcher matcher = GlobMatcher.compile(Arrays.asList("/internal/**", "/**/admin"), '/');
+        // then
+        assertThat(matcher.matches("/internal"), is(true));
+        assertThat(matcher.matches("/internal/"), is(true));
+        assertThat(matcher.matches("/internal/a/b"), is(true));
+        assertThat(matcher.matches("/internals"), is(false));
+        assertThat(matcher.matches("/users/1/admin"), is(true));
+        assertThat(matcher.matches("/admin"), is(false));
+    }
+
+    @Test
+    public void shouldMatchKeyInTwoParts() {
+        // given
+        GlobMatcher literal = GlobMatcher.compile(Collections.singleton("Pet.name"), '.');
+        GlobMatcher glob = GlobMatcher.compile(Arrays.asList("Audit*.created*", "Order.id"), '.');
+        // then
+        assertThat(literal.matches("Pet", "name"), is(true));
+        assertThat(literal.matches("Pet", "tags"), is(false));
+        assertThat(literal.matches("Pe", "t.name"), is(false));
+        assertThat(glob.matches("AuditLog", "createdAt"), is(true));
+        assertThat(glob.matches("AuditLog", "updatedAt"), is(false));
+        assertThat(glob.matches("Audit.Log", "createdAt"), is(false));
+        assertThat(glob.matches("Order", "id"), is(true));
+    }
+
+    @Test
+    public void shouldFindPatternsForFirstPart() {
+        // given
+        GlobMatcher literal = GlobMatcher.compile(Collections.singleton("Pet.name"), '.');
+        GlobMatcher glob = GlobMatcher.compile(Collections.singleton("Audit*.created*"), '.');
+        // then
+        assertThat(literal.matchesAnyStartingWith("Pet"), is(true));
+        assertThat(literal.matchesAnyStartingWith("Pe"), is(false));
+        assertThat(glob.matchesAnyStartingWith("AuditLog"), is(true));
+        assertThat(glob.matchesAnyStartingWith("Order"), is(false));
+    }
+
+    @Test
+    public void shouldMatchEscapedStarLiterally() {
+        // given
+        GlobMatcher matcher = GlobMatcher.compile(Collections.singleton("/files/\\*"), '/');
+        // then
+        assertThat(matcher.matches("/files/*"), is(true));
+        assertThat(matcher.matches("/files/readme"), is(false));
+    }
+
+    @Test
+    public void shouldMatchManyOverlappingWildcards() {
+        // given
+        GlobMatcher matcher = GlobMatcher.compile(Collections.singleton("**a**a**a**a**a**b"), GlobMatcher.NO_SEPARATOR);
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            key.append('a');
+        }
+        // then
+        assertThat(matcher.matches(key.toString()), is(false));
+        assertThat(matcher.matches(key.append('b').toString()), is(true));
+    }
+
+    @Test
+    public void shouldMatchNothingWithoutPatterns() {
+        // given
+        GlobMatcher matcher = GlobMatcher.compile(Collections.emptySet(), GlobMatcher.NO_SEPARATOR);
+        // then
+        assertThat(matcher.isEmpty(), is(true));
+        assertThat(matcher.matches(""), is(false));
+        assertThat(matcher.matches("Pet"), is(false));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import org.assertj.core.description.TextDescription;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests KeySetDiff.
+ */
+public class KeySetDiffTest {
+
+    @Test
+    public void shouldFindMissingAndUnexpectedKeysInIterationOrder() {
+        // given
+        List<String> actual = Arrays.asList("/b", "/x", "/a", "/y", "/x");
+        List<String> expected = Arrays.asList("/c", "/a", "/b", "/d");
+        // when
+        KeySetDiff diff = KeySetDiff.of(actual, expected);
+        // then
+        assertEquals(Arrays.asList("/c", "/d"), diff.missing());
+        assertEquals(Arrays.asList("/x", "/y"), diff.unexpected());
+        assertTrue(diff.hasMissing());
+        assertFalse(diff.isEmpty());
+    }
+
+    @Test
+    public void shouldFindNoDifferenceForSameKeys() {
+        // when
+        KeySetDiff diff = KeySetDiff.of(Arrays.asList("a", "b", "a"), new LinkedHashSet<>(Arrays.asList("b", "a")));
+        // then
+        assertTrue(diff.isEmpty());
+        assertFalse(diff.hasMissing());
+    }
+
+    @Test
+    public void shouldTreatNullAsNoKeys() {
+        // when
+        KeySetDiff diff = KeySetDiff.of(null, Collections.singletonList("a"));
+        // then
+        assertEquals(Collections.singletonList("a"), diff.missing());
+        assertTrue(diff.unexpected().isEmpty());
+    }
+
+    @Test
+    public void shouldCapReportedKeys() {
+        // given
+        Set<String> expected = new LinkedHashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add("/path" + i);
+        }
+        List<String> actual = new ArrayList<>(expected);
+        actual.remove("/path0");
+        actual.add("/other");
+        // when
+        String sameKeysMessage = KeySetDiff.of(actual, expected).sameKeysMessage(new TextDescription("Checking %s", "Paths"));
+        String containsKeysMessage = KeySetDiff.of(Collections.emptyList(), expected).containsKeysMessage(null);
+        // then
+        assertThat(sameKeysMessage, containsString("[Checking Paths] "));
+        assertThat(sameKeysMessage, containsString("(1000 expected, 1000 actual)"));
+        assertThat(sameKeysMessage, containsString("missing (1):" + String.format("%n") + "  [\"/path0\"]"));
+        assertThat(sameKeysMessage, containsString("unexpected (1):" + String.format("%n") + "  [\"/other\"]"));
+        assertThat(containsKeysMessage, containsString("missing (1000):"));
+        assertThat(containsKeysMessage, containsString("\"/path9\"] and 990 more"));
+        assertThat(containsKeysMessage, not(containsString("/path10\"")));
+        assertThat(containsKeysMessage, not(containsString("unexpected")));
+    }
+}
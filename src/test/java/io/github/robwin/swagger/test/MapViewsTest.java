@@ -0,0 +1,95 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests MapViews.
+ */
+public class MapViewsTest {
+
+    private static Map<String, Integer> paths() {
+        Map<String, Integer> paths = new LinkedHashMap<>();
+        paths.put("/pets", 1);
+        paths.put("/users", 2);
+        paths.put("/stores", 3);
+        return paths;
+    }
+
+    @Test
+    public void shouldPrefixKeys() {
+        // given
+        Map<String, Integer> paths = paths();
+        // when
+        Map<String, Integer> view = MapViews.withKeyPrefix(paths, "/v2");
+        // then
+        assertThat(new ArrayList<>(view.keySet()), equalTo(Arrays.asList("/v2/pets", "/v2/users", "/v2/stores")));
+        assertThat(view.get("/v2/users"), is(2));
+        assertThat(view.get("/users"), is(nullValue()));
+        assertThat(view.containsKey("/v2/stores"), is(true));
+        assertThat(view.keySet().contains("/stores"), is(false));
+        assertThat(view.size(), is(3));
+        // when the underlying map changes
+        paths.put("/orders", 4);
+        // then
+        assertThat(view.get("/v2/orders"), is(4));
+    }
+
+    @Test
+    public void shouldLeaveOutExcludedKeys() {
+        // when
+        Map<String, Integer> view = MapViews.withoutKeys(paths(), GlobMatcher.compile(Collections.singleton("/users"), '/'));
+        // then
+        assertThat(new ArrayList<>(view.keySet()), equalTo(Arrays.asList("/pets", "/stores")));
+        assertThat(view.get("/users"), is(nullValue()));
+        assertThat(view.size(), is(2));
+    }
+
+    @Test
+    public void shouldCopyKeysWhichAreNotExcluded() {
+        // given
+        Map<String, Integer> paths = paths();
+        Map<String, Integer> filtered = MapViews.withoutKeys(paths, GlobMatcher.compile(Collections.singleton("/users"), '/'));
+        // when
+        paths.remove("/pets");
+        // then
+        assertThat(new ArrayList<>(filtered.keySet()), equalTo(Arrays.asList("/pets", "/stores")));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowChangesThroughPrefixedView() {
+        MapViews.withKeyPrefix(paths(), "/v2").keySet().clear();
+    }
+
+    @Test
+    public void shouldKeepNull() {
+        assertThat(MapViews.withKeyPrefix(null, "/v2"), is(nullValue()));
+        assertThat(MapViews.withoutKeys(null, GlobMatcher.compile(Collections.singleton("/users"), '/')), is(nullValue()));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.StringProperty;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.description.TextDescription;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests PropertyValidator.
+ */
+public class PropertyValidatorTest {
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void shouldReportViolationsToSoftAssertions() {
+        // given
+        SoftAssertions softAssertions = new SoftAssertions();
+        PropertyValidator validator = new PropertyValidator(new SwaggerAssertionConfig(), softAssertions);
+        // when
+        validator.validateProperty(new IntegerProperty(), new StringProperty(), new TextDescription("Checking property 'name'"));
+        // then
+        assertThat(softAssertions.errorsCollected().isEmpty(), is(false));
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests JsonLinesReportWriter and JUnitXmlReportWriter.
+ */
+public class ReportWriterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static Swagger buildSwaggerFrom(String filename) {
+        File swaggerFile = new File(ReportWriterTest.class.getResource(filename).getPath());
+        return new SwaggerParser().read(swaggerFile.getAbsolutePath());
+    }
+
+    @Test
+    public void shouldWriteViolationsAsJsonLines() throws Exception {
+        // given
+        Path file = temporaryFolder.newFile("violations.jsonl").toPath();
+        List<SwaggerViolation> violations = new ArrayList<>();
+        // when
+        try (JsonLinesReportWriter writer = new JsonLinesReportWriter(file)) {
+            new SwaggerAssert(buildSwaggerFrom("/swagger.json"), new SwaggerAssertionConfig())
+                    .withViolationSink(writer)
+                    .withViolationSink(violations::add)
+                    .isEqualTo(buildSwaggerFrom("/wrong_swagger.json"));
+            fail("AssertionError expected");
+        } catch (AssertionError e) {
+            // then
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertThat(lines.size(), is(violations.size()));
+            boolean typedViolationFound = false;
+            for (int i = 0; i < lines.size(); i++) {
+                JsonNode line = Json.mapper().readTree(lines.get(i));
+                SwaggerViolation violation = violations.get(i);
+                assertThat(line.get("message").asText(), equalTo(violation.getMessage()));
+                if (violation.getAssertionType() != null) {
+                    assertThat(line.get("assertionType").asText(), equalTo(violation.getAssertionType().name()));
+                    typedViolationFound = true;
+                }
+                if (violation.getLocation().getPath() != null) {
+                    assertThat(line.get("path").asText(), equalTo(violation.getLocation().getPath()));
+                } else {
+                    assertThat(line.has("path"), is(false));
+                }
+            }
+            assertThat(typedViolationFound, is(true));
+        }
+    }
+
+    @Test
+    public void shouldWriteViolationsAsJUnitXml() throws Exception {
+        // given
+        Path file = temporaryFolder.newFile("TEST-swagger.xml").toPath();
+        List<SwaggerViolation> violations = new ArrayList<>();
+        // when
+        try (JUnitXmlReportWriter writer = new JUnitXmlReportWriter(file, "swagger")) {
+            new SwaggerAssert(buildSwaggerFrom("/swagger.json"), new SwaggerAssertionConfig())
+                    .withViolationSink(writer)
+                    .isEqualTo(buildSwaggerFrom("/swagger.json"));
+            try {
+                new SwaggerAssert(buildSwaggerFrom("/swagger.json"), new SwaggerAssertionConfig())
+                        .withViolationSink(writer)
+                        .withViolationSink(violations::add)
+                        .isEqualTo(buildSwaggerFrom("/wrong_swagger.json"));
+                fail("AssertionError expected");
+            } catch (AssertionError expected) {
+                // the violations are in the report
+            }
+        }
+        // then
+        Document report = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file.toFile());
+        NodeList suites = report.getDocumentElement().getElementsByTagName("testsuite");
+        assertThat(suites.getLength(), is(2));
+        Element passedSuite = (Element) suites.item(0);
+        assertThat(passedSuite.getElementsByTagName("testcase").getLength(), is(1));
+        assertThat(passedSuite.getElementsByTagName("failure").getLength(), is(0));
+        assertThat(passedSuite.getAttribute("name"), equalTo("documentation-driven: Swagger Petstore API"));
+        assertThat(passedSuite.getAttribute("tests"), equalTo("1"));
+        assertThat(passedSuite.getAttribute("failures"), equalTo("0"));
+        assertThat(passedSuite.getAttribute("errors"), equalTo("0"));
+        Element failedSuite = (Element) suites.item(1);
+        assertThat(failedSuite.getAttribute("name"), equalTo("documentation-driven: Swagger Petstore API"));
+        assertThat(failedSuite.getElementsByTagName("testcase").getLength(), is(violations.size()));
+        assertThat(failedSuite.getAttribute("tests"), equalTo(String.valueOf(violations.size())));
+        assertThat(failedSuite.getAttribute("failures"), equalTo(String.valueOf(violations.size())));
+        assertThat(failedSuite.getAttribute("errors"), equalTo("0"));
+        NodeList failures = failedSuite.getElementsByTagName("failure");
+        assertThat(failures.getLength(), is(violations.size()));
+        assertThat(((Element) failures.item(0)).getAttribute("message"), equalTo(violations.get(0).getMessage()));
+    }
+
+    @Test
+    public void shouldCompleteUnfinishedSuiteWhenClosed() throws Exception {
+        // given
+        Path file = temporaryFolder.newFile("TEST-unfinished.xml").toPath();
+        // when
+        try (JUnitXmlReportWriter writer = new JUnitXmlReportWriter(file, "swagger")) {
+            writer.violationFound(new SwaggerViolation(new AssertionError("Checking Paths"), SwaggerAssertionType.PATHS, ViolationLocation.ofPath("/pets"), "[]", "[GET]"));
+        }
+        // then
+        Document report = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file.toFile());
+        Element suite = (Element) report.getDocumentElement().getElementsByTagName("testsuite").item(0);
+        assertThat(suite.getAttribute("name"), equalTo("swagger"));
+        assertThat(suite.getAttribute("tests"), equalTo("1"));
+        assertThat(suite.getAttribute("failures"), equalTo("1"));
+        Element failure = (Element) suite.getElementsByTagName("failure").item(0);
+        assertThat(failure.getAttribute("type"), equalTo("PATHS"));
+    }
+
+    @Test
+    public void shouldNameSuiteAfterConsumersOfContracts() throws Exception {
+        // given
+        Path file = temporaryFolder.newFile("TEST-contracts.xml").toPath();
+        Map<String, Swagger> contracts = new LinkedHashMap<>();
+        contracts.put("design", buildSwaggerFrom("/swagger.yaml"));
+        contracts.put("extraproperty", buildSwaggerFrom("/swagger-singleresource-extraproperty.json"));
+        // when
+        try (JUnitXmlReportWriter writer = new JUnitXmlReportWriter(file, "swagger")) {
+            new SwaggerAssert(buildSwaggerFrom("/swagger.json"), new SwaggerAssertionConfig())
+                    .withViolationSink(writer)
+                    .validateContracts(contracts);
+        }
+        // then
+        Document report = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file.toFile());
+        NodeList suites = report.getDocumentElement().getElementsByTagName("testsuite");
+        assertThat(suites.getLength(), is(1));
+        Element suite = (Element) suites.item(0);
+        assertThat(suite.getAttribute("name"), equalTo("consumer-driven: design, extraproperty"));
+        assertThat(suite.getAttribute("tests"), equalTo(String.valueOf(suite.getElementsByTagName("testcase").getLength())));
+        assertThat(suite.getAttribute("failures"), equalTo(suite.getAttribute("tests")));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Model;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import io.swagger.parser.SwaggerParser;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests SchemaObjectResolver.
+ */
+public class SchemaObjectResolverTest {
+
+    private static Swagger buildSwaggerFrom(String filename) {
+        File swaggerFile = new File(SchemaObjectResolverTest.class.getResource(filename).getPath());
+        return new SwaggerParser().read(swaggerFile.getAbsolutePath());
+    }
+
+    @Test
+    public void shouldMemoizeResolvedPropertiesPerDefinition() {
+        // given
+        Swagger swagger = buildSwaggerFrom("/swagger-allOf-test-inheritance.json");
+        SchemaObjectResolver resolver = new SchemaObjectResolver(swagger, swagger);
+        Model order = swagger.getDefinitions().get("Order");
+        // when
+        Map<String, Property> first = resolver.resolvePropertiesFromExpected(order);
+        Map<String, Property> second = resolver.resolvePropertiesFromExpected(order);
+        Map<String, Property> fromActual = resolver.resolvePropertiesFromActual(order);
+        // then
+        assertThat(first.isEmpty(), is(false));
+        assertThat(second, sameInstance(first));
+        assertThat(fromActual, not(sameInstance(first)));
+        assertThat(fromActual, equalTo(first));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldReturnImmutableProperties() {
+        // given
+        Swagger swagger = buildSwaggerFrom("/swagger-allOf-test-inheritance.json");
+        SchemaObjectResolver resolver = new SchemaObjectResolver(swagger, swagger);
+        // when
+        resolver.resolvePropertiesFromExpected(swagger.getDefinitions().get("Order")).clear();
+    }
+
+    @Test
+    public void shouldNotMemoizePropertiesTruncatedByCycle() {
+        // given Order1 -> Order2 -> Order1
+        Swagger swagger = buildSwaggerFrom("/swagger-allOf-test-inheritance-cycles.json");
+        SchemaObjectResolver resolver = new SchemaObjectResolver(swagger, swagger);
+        // when resolving Order1 first, Order2 is only resolved partially
+        Map<String, Property> order1 = resolver.resolvePropertiesFromExpected(new RefModel("Order1"));
+        Map<String, Property> order2 = resolver.resolvePropertiesFromExpected(new RefModel("Order2"));
+        Map<String, Property> order = resolver.resolvePropertiesFromExpected(swagger.getDefinitions().get("Order"));
+        // then
+        assertThat(order1.keySet(), hasItems("petId", "quantity", "shipDate", "status", "complete"));
+        assertThat(order2.keySet(), hasItems("petId", "quantity", "shipDate", "status", "complete"));
+        assertThat(order.keySet(), hasItems("id", "petId", "quantity", "shipDate", "status", "complete"));
+    }
+}
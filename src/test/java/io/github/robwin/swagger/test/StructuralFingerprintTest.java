@@ -0,0 +1,111 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Model;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import io.swagger.parser.SwaggerParser;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests StructuralFingerprint.
+ */
+public class StructuralFingerprintTest {
+
+    private static Swagger buildSwaggerFrom(String filename) {
+        File swaggerFile = new File(StructuralFingerprintTest.class.getResource(filename).getPath());
+        return new SwaggerParser().read(swaggerFile.getAbsolutePath());
+    }
+
+    private static StructuralFingerprint fingerprintOf(Swagger swagger) {
+        return new StructuralFingerprint(swagger, new DefinitionPropertyResolver(swagger));
+    }
+
+    @Test
+    public void shouldComputeSameFingerprintsForSameSchema() {
+        // given
+        Swagger first = buildSwaggerFrom("/swagger.json");
+        Swagger second = buildSwaggerFrom("/swagger.json");
+        StructuralFingerprint firstFingerprint = fingerprintOf(first);
+        StructuralFingerprint secondFingerprint = fingerprintOf(second);
+        // then
+        for (Map.Entry<String, Path> path : first.getPaths().entrySet()) {
+            assertThat(firstFingerprint.ofPath(path.getValue()), equalTo(secondFingerprint.ofPath(second.getPath(path.getKey()))));
+        }
+        for (Map.Entry<String, Model> definition : first.getDefinitions().entrySet()) {
+            assertThat(firstFingerprint.ofDefinition(definition.getValue()), equalTo(secondFingerprint.ofDefinition(second.getDefinitions().get(definition.getKey()))));
+        }
+    }
+
+    @Test
+    public void shouldIgnoreOrderOfProperties() {
+        // given
+        Swagger first = buildSwaggerFrom("/swagger.json");
+        Swagger second = buildSwaggerFrom("/swagger.json");
+        Model pet = second.getDefinitions().get("Pet");
+        List<Map.Entry<String, Property>> properties = new ArrayList<>(pet.getProperties().entrySet());
+        Collections.reverse(properties);
+        Map<String, Property> reversedProperties = new LinkedHashMap<>();
+        for (Map.Entry<String, Property> property : properties) {
+            reversedProperties.put(property.getKey(), property.getValue());
+        }
+        pet.setProperties(reversedProperties);
+        // then
+        assertThat(fingerprintOf(first).ofDefinition(first.getDefinitions().get("Pet")), equalTo(fingerprintOf(second).ofDefinition(pet)));
+    }
+
+    @Test
+    public void shouldChangeFingerprintOfInheritingDefinition() {
+        // given
+        Swagger first = buildSwaggerFrom("/swagger-allOf-test-inheritance.json");
+        Swagger second = buildSwaggerFrom("/swagger-allOf-test-inheritance.json");
+        // when a property of the base definition changes
+        Property id = second.getDefinitions().get("AbstractOrder").getProperties().get("id");
+        id.setReadOnly(true);
+        // then
+        assertThat(fingerprintOf(first).ofDefinition(first.getDefinitions().get("Order")),
+                   not(equalTo(fingerprintOf(second).ofDefinition(second.getDefinitions().get("Order")))));
+    }
+
+    @Test
+    public void shouldIncludeGlobalMediaTypesInFingerprintOfPath() {
+        // given
+        Swagger first = buildSwaggerFrom("/swagger.json");
+        Swagger second = buildSwaggerFrom("/swagger.json");
+        first.getPath("/pets").getPost().setProduces(null);
+        second.getPath("/pets").getPost().setProduces(null);
+        // when
+        second.setProduces(Collections.singletonList("application/json"));
+        // then
+        assertThat(fingerprintOf(first).ofPath(first.getPath("/pets")), not(equalTo(fingerprintOf(second).ofPath(second.getPath("/pets")))));
+        assertThat(fingerprintOf(first).ofPath(first.getPath("/users")), equalTo(fingerprintOf(second).ofPath(second.getPath("/users"))));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests SwaggerAssertionConfig.
+ */
+public class SwaggerAssertionConfigTest {
+
+    @Test
+    public void shouldEnableDefaultAssertionTypes() {
+        // when
+        SwaggerAssertionConfig assertionConfig = new SwaggerAssertionConfig();
+        // then
+        for (SwaggerAssertionType assertionType : SwaggerAssertionType.values()) {
+            assertThat(assertionConfig.swaggerAssertionEnabled(assertionType), is(assertionType.isEnabledByDefault()));
+        }
+    }
+
+    @Test
+    public void shouldDisableChildrenOfDisabledAssertionType() {
+        // given
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.validateProperties", "false");
+        props.setProperty("assertj.swagger.validateDefinitions", "false");
+        props.setProperty("assertj.swagger.validateRefProperties", "true");
+        // when
+        SwaggerAssertionConfig assertionConfig = new SwaggerAssertionConfig(props);
+        // then
+        assertThat(assertionConfig.swaggerAssertionEnabled(SwaggerAssertionType.REF_PROPERTIES), is(false));
+        assertThat(assertionConfig.swaggerAssertionEnabled(SwaggerAssertionType.STRING_PROPERTIES), is(false));
+        assertThat(assertionConfig.swaggerAssertionEnabled(SwaggerAssertionType.MODELS), is(false));
+        assertThat(assertionConfig.swaggerAssertionEnabled(SwaggerAssertionType.PATHS), is(true));
+    }
+
+    @Test
+    public void shouldReadConfigurationResourceOnce() {
+        // when
+        SwaggerAssertionConfig first = SwaggerAssert.loadSwaggerAssertionFlagsConfiguration("/assertj-swagger-info.properties");
+        SwaggerAssertionConfig second = SwaggerAssert.loadSwaggerAssertionFlagsConfiguration("/assertj-swagger-info.properties");
+        // then
+        assertThat(second, is(sameInstance(first)));
+        assertThat(first.swaggerAssertionEnabled(SwaggerAssertionType.INFO), is(true));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowChangesToIgnoredPaths() {
+        // given
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.pathsToIgnoreInExpected", "/pets");
+        // when
+        new SwaggerAssertionConfig(props).getPathsToIgnoreInExpected().add("/users");
+    }
+
+    @Test
+    public void shouldNotSkipIdenticalSubtreesByDefault() {
+        // when
+        SwaggerAssertionConfig assertionConfig = new SwaggerAssertionConfig();
+        // then
+        assertThat(assertionConfig.isSkipIdenticalSubtrees(), is(false));
+    }
+
+    @Test
+    public void shouldRetainAllViolationsByDefault() {
+        // when
+        SwaggerAssertionConfig assertionConfig = new SwaggerAssertionConfig();
+        // then
+        assertThat(assertionConfig.getMaxRetainedViolations(), is(Integer.MAX_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNegativeMaxRetainedViolations() {
+        // given
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.maxRetainedViolations", "-1");
+        // when
+        new SwaggerAssertionConfig(props);
+    }
+
+    @Test
+    public void shouldReadFullValidationSystemPropertyWhenUsed() {
+        // given
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.skipIdenticalSubtrees", "true");
+        SwaggerAssertionConfig assertionConfig = new SwaggerAssertionConfig(props);
+        assertThat(assertionConfig.isSkipIdenticalSubtrees(), is(true));
+        // when
+        System.setProperty("assertj.swagger.fullValidation", "true");
+        try {
+            // then
+            assertThat(assertionConfig.isFullValidation(), is(true));
+            assertThat(assertionConfig.isSkipIdenticalSubtrees(), is(false));
+        } finally {
+            System.clearProperty("assertj.swagger.fullValidation");
+        }
+        assertThat(assertionConfig.isFullValidation(), is(false));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Swagger;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests SwaggerModelCache.
+ */
+public class SwaggerModelCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        SwaggerModelCache.invalidateAll();
+    }
+
+    @Test
+    public void shouldReturnCachedModelForUnchangedFile() throws Exception {
+        // given
+        String location = copyOf("/swagger.json").getAbsolutePath();
+        // when
+        Swagger first = SwaggerModelCache.read(location);
+        Swagger second = SwaggerModelCache.read(location);
+        // then
+        assertThat(first, notNullValue());
+        assertThat(second, sameInstance(first));
+    }
+
+    @Test
+    public void shouldParseAgainIfFileContentChanged() throws Exception {
+        // given
+        File file = copyOf("/swagger.json");
+        Swagger first = SwaggerModelCache.read(file.getAbsolutePath());
+        // when
+        Files.copy(Paths.get(getClass().getResource("/swagger-singleresource.json").toURI()), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Swagger second = SwaggerModelCache.read(file.getAbsolutePath());
+        // then
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.getPaths().size(), not(equalTo(first.getPaths().size())));
+    }
+
+    @Test
+    public void shouldParseAgainAfterInvalidation() throws Exception {
+        // given
+        String location = copyOf("/swagger.json").getAbsolutePath();
+        Swagger first = SwaggerModelCache.read(location);
+        // when
+        SwaggerModelCache.invalidate(location);
+        Swagger second = SwaggerModelCache.read(location);
+        // then
+        assertThat(second, not(sameInstance(first)));
+    }
+
+    @Test
+    public void shouldLoadModelFromSnapshotInsteadOfParsing() throws Exception {
+        // given a snapshot which was stored for the content of the file
+        File file = copyOf("/swagger.json");
+        SwaggerSnapshotStore snapshotStore = new SwaggerSnapshotStore(temporaryFolder.newFolder("snapshots").toPath());
+        Swagger snapshot = SwaggerModelCache.read(new File(getClass().getResource("/swagger-singleresource.json").toURI()).getAbsolutePath());
+        snapshotStore.store(SwaggerModelCache.hash(file), snapshot);
+        // when
+        Swagger swagger = SwaggerModelCache.read(file.getAbsolutePath(), snapshotStore);
+        // then
+        assertThat(swagger.getPaths().keySet(), equalTo(snapshot.getPaths().keySet()));
+        SwaggerAssertions.assertThat(swagger).isEqualTo(snapshot);
+    }
+
+    @Test
+    public void shouldStoreSnapshotOfParsedModel() throws Exception {
+        // given
+        File file = copyOf("/swagger.yaml");
+        SwaggerSnapshotStore snapshotStore = new SwaggerSnapshotStore(temporaryFolder.newFolder("snapshots").toPath());
+        // when
+        Swagger parsed = SwaggerModelCache.read(file.getAbsolutePath(), snapshotStore);
+        Swagger snapshot = snapshotStore.load(SwaggerModelCache.hash(file));
+        // then
+        assertThat(snapshot, notNullValue());
+        SwaggerAssertions.assertThat(snapshot).isEqualTo(parsed);
+    }
+
+    @Test
+    public void shouldFallBackToDefaultSizeForInvalidValues() {
+        assertThat(SwaggerModelCache.parseMaximumSize(null), is(16));
+        assertThat(SwaggerModelCache.parseMaximumSize("-1"), is(16));
+        assertThat(SwaggerModelCache.parseMaximumSize("many"), is(16));
+        assertThat(SwaggerModelCache.parseMaximumSize(" 0 "), is(0));
+        assertThat(SwaggerModelCache.parseMaximumSize("32"), is(32));
+    }
+
+    @Test
+    public void shouldParseFileOnceForConcurrentReads() throws Exception {
+        // given
+        File file = copyOf("/swagger.json");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Swagger>> reads = new ArrayList<>();
+            // when
+            for (int i = 0; i < 8; i++) {
+                reads.add(executor.submit(() -> SwaggerModelCache.read(file.getAbsolutePath())));
+            }
+            // then
+            Swagger first = reads.get(0).get();
+            for (Future<Swagger> read : reads) {
+                assertThat(read.get(), is(sameInstance(first)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private File copyOf(String resource) throws Exception {
+        File file = temporaryFolder.newFile(resource.substring(1));
+        Files.copy(Paths.get(getClass().getResource(resource).toURI()), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+}
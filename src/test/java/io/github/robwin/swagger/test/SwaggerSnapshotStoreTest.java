@@ -0,0 +1,133 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.ComposedModel;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.util.Json;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests SwaggerSnapshotStore.
+ */
+public class SwaggerSnapshotStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldRestoreComposedModels() throws Exception {
+        assertEquivalentAfterRoundTrip("/swagger-allOf-composition.json");
+    }
+
+    @Test
+    public void shouldRestoreInheritanceChains() throws Exception {
+        assertEquivalentAfterRoundTrip("/swagger-allOf-test-inheritance.json");
+    }
+
+    @Test
+    public void shouldRestoreReferences() throws Exception {
+        assertEquivalentAfterRoundTrip("/swagger-enum-ref.json");
+        assertEquivalentAfterRoundTrip("/swagger-bytearray-ref.json");
+    }
+
+    private void assertEquivalentAfterRoundTrip(String resource) throws Exception {
+        // given
+        File file = new File(getClass().getResource(resource).toURI());
+        Swagger parsed = SwaggerModelCache.read(file.getAbsolutePath());
+        SwaggerSnapshotStore snapshotStore = new SwaggerSnapshotStore(temporaryFolder.newFolder().toPath());
+        // when
+        snapshotStore.store(SwaggerModelCache.hash(file), parsed);
+        Swagger loaded = snapshotStore.load(SwaggerModelCache.hash(file));
+        // then
+        assertThat(loaded, notNullValue());
+        assertThat(Json.mapper().writeValueAsString(loaded), equalTo(Json.mapper().writeValueAsString(parsed)));
+        assertThat(loaded.getDefinitions().keySet(), equalTo(parsed.getDefinitions().keySet()));
+        for (Map.Entry<String, Model> definition : parsed.getDefinitions().entrySet()) {
+            assertSameModel(loaded.getDefinitions().get(definition.getKey()), definition.getValue());
+        }
+        assertThat(loaded.getPaths().keySet(), equalTo(parsed.getPaths().keySet()));
+        for (Map.Entry<String, Path> path : parsed.getPaths().entrySet()) {
+            for (Map.Entry<HttpMethod, Operation> operation : path.getValue().getOperationMap().entrySet()) {
+                Operation loadedOperation = loaded.getPaths().get(path.getKey()).getOperationMap().get(operation.getKey());
+                if (operation.getValue().getResponses() == null) {
+                    continue;
+                }
+                for (Map.Entry<String, Response> response : operation.getValue().getResponses().entrySet()) {
+                    assertSameProperty(loadedOperation.getResponses().get(response.getKey()).getSchema(), response.getValue().getSchema());
+                }
+            }
+        }
+        SwaggerAssertions.assertThat(loaded).isEqualTo(parsed);
+        SwaggerAssertions.assertThat(parsed).satisfiesContract(loaded);
+    }
+
+    private void assertSameModel(Model loaded, Model parsed) {
+        assertThat(loaded, instanceOf(parsed.getClass()));
+        if (parsed instanceof RefModel) {
+            assertThat(((RefModel) loaded).getSimpleRef(), equalTo(((RefModel) parsed).getSimpleRef()));
+        } else if (parsed instanceof ComposedModel) {
+            ComposedModel loadedComposedModel = (ComposedModel) loaded;
+            ComposedModel parsedComposedModel = (ComposedModel) parsed;
+            assertThat(loadedComposedModel.getAllOf().size(), is(parsedComposedModel.getAllOf().size()));
+            for (int i = 0; i < parsedComposedModel.getAllOf().size(); i++) {
+                assertSameModel(loadedComposedModel.getAllOf().get(i), parsedComposedModel.getAllOf().get(i));
+            }
+        }
+        if (parsed.getProperties() != null) {
+            assertThat(loaded.getProperties().keySet(), equalTo(parsed.getProperties().keySet()));
+            for (Map.Entry<String, Property> property : parsed.getProperties().entrySet()) {
+                assertSameProperty(loaded.getProperties().get(property.getKey()), property.getValue());
+            }
+        }
+    }
+
+    private void assertSameProperty(Property loaded, Property parsed) {
+        if (parsed == null) {
+            assertThat(loaded, nullValue());
+            return;
+        }
+        assertThat(loaded, instanceOf(parsed.getClass()));
+        if (parsed instanceof RefProperty) {
+            assertThat(((RefProperty) loaded).getSimpleRef(), equalTo(((RefProperty) parsed).getSimpleRef()));
+        } else if (parsed instanceof ArrayProperty) {
+            assertSameProperty(((ArrayProperty) loaded).getItems(), ((ArrayProperty) parsed).getItems());
+        } else if (parsed instanceof MapProperty) {
+            assertSameProperty(((MapProperty) loaded).getAdditionalProperties(), ((MapProperty) parsed).getAdditionalProperties());
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import com.google.common.hash.HashCode;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.assertj.core.api.AssertionErrorCollector;
+import org.assertj.core.api.DefaultAssertionErrorCollector;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests ValidationBaseline and its use by IncrementalValidation.
+ */
+public class ValidationBaselineTest {
+
+    private static final HashCode KEY = HashCode.fromLong(42L);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static Swagger buildSwaggerFrom(String filename) {
+        File swaggerFile = new File(ValidationBaselineTest.class.getResource(filename).getPath());
+        return new SwaggerParser().read(swaggerFile.getAbsolutePath());
+    }
+
+    @Test
+    public void shouldReadStoredVerdicts() throws IOException {
+        // given
+        java.nio.file.Path file = temporaryFolder.getRoot().toPath().resolve("baseline.bin");
+        ValidationBaseline baseline = ValidationBaseline.load(file);
+        StackTraceElement location = new StackTraceElement("Validator", "validate", "Validator.java", 42);
+        baseline.record(KEY, Arrays.asList(new ValidationBaseline.Violation("[Checking Paths] \nmissing", location),
+                                           new ValidationBaseline.Violation("ä", null)));
+        // when
+        baseline.save();
+        // then
+        assertThat(Files.isRegularFile(file), is(true));
+        List<ValidationBaseline.Violation> verdict = ValidationBaseline.load(file).verdict(KEY);
+        assertThat(verdict.size(), is(2));
+        assertThat(verdict.get(0).getMessage(), equalTo("[Checking Paths] \nmissing"));
+        assertThat(verdict.get(0).toAssertionError().getStackTrace(), equalTo(new StackTraceElement[]{location}));
+        assertThat(verdict.get(1).getMessage(), equalTo("ä"));
+        assertThat(verdict.get(1).toAssertionError().getStackTrace().length, is(0));
+        assertThat(ValidationBaseline.load(file).verdict(HashCode.fromLong(43L)), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReadStoredDetailsOfViolations() {
+        // given
+        java.nio.file.Path file = temporaryFolder.getRoot().toPath().resolve("baseline.bin");
+        ValidationBaseline baseline = ValidationBaseline.load(file);
+        ViolationLocation location = ViolationLocation.ofOperation("/pets", "GET").withResponse("200").withProperty("X-Rate-Limit");
+        baseline.record(KEY, Collections.singletonList(new ValidationBaseline.Violation("[Checking response header] different", null,
+                SwaggerAssertionType.PROPERTIES, location, "\"integer\"", "\"string\"")));
+        // when
+        baseline.save();
+        // then
+        AssertionError error = ValidationBaseline.load(file).verdict(KEY).get(0).toAssertionError();
+        SwaggerViolation violation = ViolationCollector.violationOf(error);
+        assertThat(violation.getMessage(), equalTo("[Checking response header] different"));
+        assertThat(violation.getAssertionType(), is(SwaggerAssertionType.PROPERTIES));
+        assertThat(violation.getLocation(), equalTo(location));
+        assertThat(violation.getExpected(), equalTo("\"integer\""));
+        assertThat(violation.getActual(), equalTo("\"string\""));
+    }
+
+    @Test
+    public void shouldPassReplayedViolationsWithTheirDetailsToSinks() {
+        // given
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.baselineFile", temporaryFolder.getRoot().toPath().resolve("replay.bin").toString());
+        props.setProperty("assertj.swagger.skipIdenticalSubtrees", "false");
+        SwaggerAssertionConfig assertionConfig = new SwaggerAssertionConfig(props);
+        // when
+        List<SwaggerViolation> validated = validateWrongSwagger(assertionConfig);
+        List<SwaggerViolation> replayed = validateWrongSwagger(assertionConfig);
+        // then
+        assertThat(replayed.size(), is(validated.size()));
+        boolean detailsFound = false;
+        for (int i = 0; i < validated.size(); i++) {
+            assertThat(replayed.get(i).getMessage(), equalTo(validated.get(i).getMessage()));
+            assertThat(replayed.get(i).getAssertionType(), is(validated.get(i).getAssertionType()));
+            assertThat(replayed.get(i).getLocation(), equalTo(validated.get(i).getLocation()));
+            assertThat(replayed.get(i).getExpected(), equalTo(validated.get(i).getExpected()));
+            assertThat(replayed.get(i).getActual(), equalTo(validated.get(i).getActual()));
+            detailsFound |= validated.get(i).getLocation().getPath() != null || validated.get(i).getLocation().getDefinition() != null;
+        }
+        assertThat(detailsFound, is(true));
+    }
+
+    private static List<SwaggerViolation> validateWrongSwagger(SwaggerAssertionConfig assertionConfig) {
+        List<SwaggerViolation> violations = new ArrayList<>();
+        try {
+            new SwaggerAssert(buildSwaggerFrom("/swagger.json"), assertionConfig)
+                    .withViolationSink(violations::add)
+                    .isEqualTo(buildSwaggerFrom("/wrong_swagger.json"));
+            fail("AssertionError expected");
+        } catch (AssertionError e) {
+            // the violations were passed to the sink
+        }
+        return violations;
+    }
+
+    @Test
+    public void shouldValidateContractsConcurrentlyWithSharedBaseline() {
+        // given
+        java.nio.file.Path file = temporaryFolder.getRoot().toPath().resolve("contracts.bin");
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.baselineFile", file.toString());
+        props.setProperty("assertj.swagger.parallelValidation", "true");
+        SwaggerAssertionConfig assertionConfig = new SwaggerAssertionConfig(props);
+        Map<String, Swagger> contracts = new LinkedHashMap<>();
+        for (int i = 0; i < 8; i++) {
+            contracts.put("extraproperty" + i, buildSwaggerFrom("/swagger-singleresource-extraproperty.json"));
+            contracts.put("singleresource" + i, buildSwaggerFrom("/swagger-singleresource.json"));
+        }
+        ContractReport expected = new SwaggerAssert(buildSwaggerFrom("/swagger.json"), new SwaggerAssertionConfig(new Properties()))
+                .validateContracts(contracts);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // when
+            ContractReport validated = new SwaggerAssert(buildSwaggerFrom("/swagger.json"), assertionConfig).validateContracts(contracts, executor);
+            ContractReport replayed = new SwaggerAssert(buildSwaggerFrom("/swagger.json"), assertionConfig).validateContracts(contracts, executor);
+            // then
+            assertThat(Files.isRegularFile(file), is(true));
+            for (String consumer : contracts.keySet()) {
+                assertThat(messagesOf(validated.getViolations(consumer)), equalTo(messagesOf(expected.getViolations(consumer))));
+                assertThat(messagesOf(replayed.getViolations(consumer)), equalTo(messagesOf(expected.getViolations(consumer))));
+            }
+            assertThat(validated.getFailedConsumers().size(), is(8));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<String> messagesOf(List<AssertionError> errors) {
+        List<String> messages = new ArrayList<>();
+        for (AssertionError error : errors) {
+            messages.add(error.getMessage());
+        }
+        return messages;
+    }
+
+    @Test
+    public void shouldDropVerdictsUnusedForTooManyGenerations() {
+        // given
+        java.nio.file.Path file = temporaryFolder.getRoot().toPath().resolve("baseline.bin");
+        ValidationBaseline baseline = ValidationBaseline.load(file);
+        baseline.record(KEY, Collections.emptyList());
+        baseline.save();
+        // when
+        for (int i = 0; i < ValidationBaseline.MAX_UNUSED_GENERATIONS - 1; i++) {
+            ValidationBaseline.load(file).save();
+        }
+        // then
+        assertThat(ValidationBaseline.load(file).verdict(KEY), equalTo(Collections.<ValidationBaseline.Violation>emptyList()));
+        // when
+        ValidationBaseline.load(file).save();
+        // then
+        assertThat(ValidationBaseline.load(file).verdict(KEY), is(nullValue()));
+    }
+
+    @Test
+    public void shouldKeepVerdictsWrittenByOtherJvms() {
+        // given two JVMs which read the same file
+        java.nio.file.Path file = temporaryFolder.getRoot().toPath().resolve("baseline.bin");
+        ValidationBaseline first = ValidationBaseline.load(file);
+        ValidationBaseline second = ValidationBaseline.load(file);
+        HashCode otherKey = HashCode.fromLong(43L);
+        // when
+        first.record(KEY, Collections.emptyList());
+        second.record(otherKey, Collections.emptyList());
+        first.save();
+        second.save();
+        // then
+        ValidationBaseline merged = ValidationBaseline.load(file);
+        assertThat(merged.verdict(KEY), equalTo(Collections.<ValidationBaseline.Violation>emptyList()));
+        assertThat(merged.verdict(otherKey), equalTo(Collections.<ValidationBaseline.Violation>emptyList()));
+    }
+
+    @Test
+    public void shouldOnlyFlushChangedBaseline() {
+        // given
+        java.nio.file.Path file = temporaryFolder.getRoot().toPath().resolve("baseline.bin");
+        ValidationBaseline baseline = ValidationBaseline.load(file);
+        // when
+        baseline.flush();
+        // then
+        assertThat(Files.exists(file), is(false));
+        // when
+        baseline.record(KEY, Collections.emptyList());
+        baseline.flush();
+        // then
+        assertThat(ValidationBaseline.load(file).verdict(KEY), equalTo(Collections.<ValidationBaseline.Violation>emptyList()));
+    }
+
+    @Test
+    public void shouldIgnoreUnreadableFile() throws IOException {
+        // given
+        java.nio.file.Path file = temporaryFolder.newFile("baseline.bin").toPath();
+        Files.write(file, new byte[]{1, 2, 3});
+        // then
+        assertThat(ValidationBaseline.load(file).verdict(KEY), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReplayStoredVerdictOfUnchangedPath() {
+        // given
+        Swagger actual = buildSwaggerFrom("/swagger.json");
+        Swagger expected = buildSwaggerFrom("/swagger.json");
+        expected.getPath("/pets").getPost().setDescription("changed");
+        expected.getPath("/pets").getPost().setProduces(Collections.singletonList("text/plain"));
+        ValidationBaseline baseline = ValidationBaseline.load(temporaryFolder.getRoot().toPath().resolve("baseline.bin"));
+        AtomicInteger validations = new AtomicInteger();
+        ToIntFunction<AssertionErrorCollector> validation = errorCollector -> {
+            validations.incrementAndGet();
+            errorCollector.collectAssertionError(new AssertionError("difference"));
+            return 1;
+        };
+        // when
+        DefaultAssertionErrorCollector first = validatePets(actual, expected, baseline, new Properties(), validation);
+        DefaultAssertionErrorCollector second = validatePets(actual, expected, baseline, new Properties(), validation);
+        // then
+        assertThat(validations.get(), is(1));
+        assertThat(first.assertionErrorsCollected().get(0).getMessage(), equalTo("difference"));
+        assertThat(second.assertionErrorsCollected().get(0).getMessage(), equalTo("difference"));
+
+        // when
+        Properties fullValidation = new Properties();
+        fullValidation.setProperty("assertj.swagger.fullValidation", "true");
+        validatePets(actual, expected, baseline, fullValidation, validation);
+        // then
+        assertThat(validations.get(), is(2));
+    }
+
+    private static DefaultAssertionErrorCollector validatePets(Swagger actual, Swagger expected, ValidationBaseline baseline, Properties props,
+                                                               ToIntFunction<AssertionErrorCollector> validation) {
+        SwaggerAssertionConfig assertionConfig = new SwaggerAssertionConfig(props);
+        IncrementalValidation incrementalValidation = new IncrementalValidation("test", assertionConfig, new SchemaObjectResolver(expected, actual), baseline);
+        DefaultAssertionErrorCollector errorCollector = new DefaultAssertionErrorCollector();
+        Path actualPath = actual.getPath("/pets");
+        Path expectedPath = expected.getPath("/pets");
+        incrementalValidation.validatePath("/pets", actualPath, expectedPath, new ViolationCollector(errorCollector), validation);
+        return errorCollector;
+    }
+}
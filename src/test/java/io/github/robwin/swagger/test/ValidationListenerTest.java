@@ -0,0 +1,194 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the reporting of validations to a ValidationListener.
+ */
+public class ValidationListenerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static Swagger buildSwaggerFrom(String filename) {
+        File swaggerFile = new File(ValidationListenerTest.class.getResource(filename).getPath());
+        return new SwaggerParser().read(swaggerFile.getAbsolutePath());
+    }
+
+    private static SwaggerAssertionConfig validateEverything() {
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.skipIdenticalSubtrees", "false");
+        return new SwaggerAssertionConfig(props);
+    }
+
+    @Test
+    public void shouldReportPhasesPathsAndDefinitions() {
+        // given
+        RecordingListener listener = new RecordingListener();
+        Swagger actual = buildSwaggerFrom("/swagger.json");
+        // when
+        new SwaggerAssert(actual, validateEverything())
+                .withListener(listener)
+                .isEqualTo(ValidationListenerTest.class.getResource("/swagger.json").getPath());
+        // then
+        assertThat(listener.phases, equalTo(Arrays.asList(
+                "started PARSING", "finished PARSING",
+                "started RESOLUTION", "finished RESOLUTION",
+                "started VALIDATION",
+                "started PATHS", "finished PATHS",
+                "started DEFINITIONS", "finished DEFINITIONS",
+                "finished VALIDATION")));
+        assertThat(listener.checksByPath.size(), is(actual.getPaths().size()));
+        assertThat(listener.checksByDefinition.keySet(), equalTo(actual.getDefinitions().keySet()));
+        assertThat(listener.checksByPath.get("/v2/pets") > 0, is(true));
+        assertThat(listener.checksByDefinition.get("Pet") > 0, is(true));
+        assertThat(listener.checksByAssertionType.get(SwaggerAssertionType.PATHS) > 0, is(true));
+        assertThat(listener.checksByAssertionType.get(SwaggerAssertionType.DEFINITIONS) > 0, is(true));
+        long checksOfPathsAndDefinitions = 0;
+        for (int checks : listener.checksByPath.values()) {
+            checksOfPathsAndDefinitions += checks;
+        }
+        for (int checks : listener.checksByDefinition.values()) {
+            checksOfPathsAndDefinitions += checks;
+        }
+        long countedChecks = 0;
+        for (long checks : listener.checksByAssertionType.values()) {
+            countedChecks += checks;
+        }
+        // every check is counted once, including the comparisons of the path and definition names
+        assertThat(countedChecks, is(checksOfPathsAndDefinitions + 4));
+        assertThat(listener.checksByAssertionType.containsKey(SwaggerAssertionType.INFO), is(false));
+    }
+
+    @Test
+    public void shouldReportPlanningAndSkippedPaths() {
+        // given
+        RecordingListener listener = new RecordingListener();
+        // when
+        new SwaggerAssert(buildSwaggerFrom("/swagger.json"), new SwaggerAssertionConfig(new Properties()))
+                .withListener(listener)
+                .satisfiesContract(buildSwaggerFrom("/swagger.json"));
+        // then
+        assertThat(listener.phases.subList(0, 5), equalTo(Arrays.asList("started RESOLUTION", "finished RESOLUTION",
+                "started PLANNING", "finished PLANNING", "started VALIDATION")));
+        assertThat(listener.checksByPath.isEmpty(), is(false));
+        assertThat(new ArrayList<>(listener.checksByPath.values()), everyItem(is(0)));
+    }
+
+    @Test
+    public void shouldReportFailedValidation() {
+        // given
+        RecordingListener listener = new RecordingListener();
+        SwaggerAssert swaggerAssert = new SwaggerAssert(buildSwaggerFrom("/swagger.json"), validateEverything()).withListener(listener);
+        // when
+        try {
+            swaggerAssert.isEqualTo(buildSwaggerFrom("/wrong_swagger.json"));
+        } catch (AssertionError e) {
+            // expected
+        }
+        // then
+        assertThat(listener.phases.get(listener.phases.size() - 1), equalTo("finished VALIDATION"));
+        assertThat(listener.checksByAssertionType.isEmpty(), is(false));
+    }
+
+    @Test
+    public void shouldIgnoreFailingListener() {
+        // given
+        ValidationListener failingListener = new ValidationListener() {
+            @Override
+            public void pathValidated(String pathName, int checks, long durationNanos) {
+                throw new IllegalStateException("listener failure");
+            }
+        };
+        // when
+        new SwaggerAssert(buildSwaggerFrom("/swagger.json"), validateEverything())
+                .withListener(failingListener)
+                .isEqualTo(buildSwaggerFrom("/swagger.json"));
+    }
+
+    @Test
+    public void shouldLoadListenersRegisteredAsService() throws IOException {
+        // given
+        java.nio.file.Path services = temporaryFolder.newFolder("META-INF", "services").toPath();
+        Files.write(services.resolve(ValidationListener.class.getName()),
+                Collections.singletonList(RecordingListener.class.getName()), StandardCharsets.UTF_8);
+        ClassLoader classLoader = new URLClassLoader(new URL[]{temporaryFolder.getRoot().toURI().toURL()}, getClass().getClassLoader());
+        // when
+        List<ValidationListener> listeners = ValidationMetrics.load(classLoader);
+        // then
+        assertThat(listeners.size(), is(1));
+        assertThat(listeners.get(0), instanceOf(RecordingListener.class));
+    }
+
+    public static class RecordingListener implements ValidationListener {
+
+        final List<String> phases = Collections.synchronizedList(new ArrayList<>());
+        final Map<String, Integer> checksByPath = Collections.synchronizedMap(new LinkedHashMap<>());
+        final Map<String, Integer> checksByDefinition = Collections.synchronizedMap(new LinkedHashMap<>());
+        final Map<SwaggerAssertionType, Long> checksByAssertionType = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        @Override
+        public void phaseStarted(ValidationPhase phase) {
+            phases.add("started " + phase);
+        }
+
+        @Override
+        public void phaseFinished(ValidationPhase phase, long durationNanos) {
+            phases.add("finished " + phase);
+        }
+
+        @Override
+        public void pathValidated(String pathName, int checks, long durationNanos) {
+            checksByPath.put(pathName, checks);
+        }
+
+        @Override
+        public void definitionValidated(String definitionName, int checks, long durationNanos) {
+            checksByDefinition.put(definitionName, checks);
+        }
+
+        @Override
+        public void checksCounted(Map<SwaggerAssertionType, Long> checks) {
+            checksByAssertionType.putAll(checks);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import org.assertj.core.api.DefaultAssertionErrorCollector;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.description.TextDescription;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests ViolationCollector.
+ */
+public class ViolationCollectorTest {
+
+    @Test
+    public void shouldNotRecordPassingChecks() {
+        // given
+        DefaultAssertionErrorCollector errorCollector = new DefaultAssertionErrorCollector();
+        ViolationCollector violations = new ViolationCollector(errorCollector);
+        // when
+        violations.assertNotNull("a", new TextDescription("Checking %s", "a"));
+        violations.assertEqual("a", "a", new TextDescription("Checking %s", "a"));
+        violations.assertSameElements(Arrays.asList("a", "b", "a"), Arrays.asList("b", "a"), new TextDescription("Checking %s", "a"));
+        violations.assertSameKeys(Arrays.asList("a", "b"), Arrays.asList("b", "a"), new TextDescription("Checking %s", "a"));
+        violations.assertContainsKeys(Arrays.asList("a", "b"), Collections.singletonList("b"), new TextDescription("Checking %s", "a"));
+        violations.assertNullOrEmpty(Collections.emptyList(), new TextDescription("Checking %s", "a"));
+        // then
+        assertTrue(errorCollector.assertionErrorsCollected().isEmpty());
+    }
+
+    @Test
+    public void shouldRecordFailingChecksWithAssertJMessages() {
+        // given
+        List<String> actual = Arrays.asList("a", "b");
+        List<String> expected = Arrays.asList("a", "c");
+        DefaultAssertionErrorCollector errorCollector = new DefaultAssertionErrorCollector();
+        ViolationCollector violations = new ViolationCollector(errorCollector);
+        DefaultAssertionErrorCollector expectedErrorCollector = new DefaultAssertionErrorCollector();
+        SoftAssertions softAssertions = new SoftAssertions();
+        softAssertions.setDelegate(expectedErrorCollector);
+        // when
+        violations.assertSameElements(actual, expected, new TextDescription("Checking %s", "list"));
+        violations.assertEqual("a", "b", new TextDescription("Checking value"));
+        softAssertions.assertThat(actual).as("Checking %s", "list").hasSameElementsAs(expected);
+        softAssertions.assertThat("a").as("Checking value").isEqualTo("b");
+        // then
+        assertEquals(2, errorCollector.assertionErrorsCollected().size());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(expectedErrorCollector.assertionErrorsCollected().get(i).getMessage(),
+                         errorCollector.assertionErrorsCollected().get(i).getMessage());
+        }
+    }
+
+    @Test
+    public void shouldCountViolationsOfNestedCollectors() {
+        // given
+        ViolationCollector violations = new ViolationCollector(new DefaultAssertionErrorCollector());
+        ViolationCollector nestedViolations = new ViolationCollector(violations.errorCollector());
+        // when
+        nestedViolations.assertEqual("a", "b", new TextDescription("Checking value"));
+        nestedViolations.assertEqual("a", "a", new TextDescription("Checking value"));
+        violations.collectAssertionError(new AssertionError("difference"));
+        // then
+        assertEquals(2, violations.getViolationCount());
+        assertEquals(2, nestedViolations.getCheckCount());
+    }
+
+    @Test
+    public void shouldPassDetailsOfFailedChecksToSinks() {
+        // given
+        List<SwaggerViolation> found = new ArrayList<>();
+        ViolationCollector violations = new ViolationCollector(Collections.singletonList(found::add), Integer.MAX_VALUE);
+        ViolationCollector nestedViolations = new ViolationCollector(violations.errorCollector());
+        ViolationLocation location = ViolationLocation.ofOperation("/pets", "GET").withResponse("200");
+        // when
+        nestedViolations.assertEqual("a", "b", CheckDescription.of(SwaggerAssertionType.PROPERTIES, location, "Checking %s", "value"));
+        nestedViolations.assertContainsKeys(Collections.singletonList("a"), Arrays.asList("a", "c"),
+                CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofPath("/pets"), "Checking keys"));
+        violations.collectAssertionError(new AssertionError("difference"));
+        // then
+        assertEquals(3, found.size());
+        SwaggerViolation violation = found.get(0);
+        assertEquals(SwaggerAssertionType.PROPERTIES, violation.getAssertionType());
+        assertEquals(location, violation.getLocation());
+        assertEquals("\"b\"", violation.getExpected());
+        assertEquals("\"a\"", violation.getActual());
+        assertEquals(violations.assertionErrorsCollected().get(0).getMessage(), violation.getMessage());
+        assertEquals("[\"c\"]", found.get(1).getExpected());
+        assertNull(found.get(1).getActual());
+        assertNull(found.get(2).getAssertionType());
+        assertEquals(ViolationLocation.NONE, found.get(2).getLocation());
+        assertEquals("difference", found.get(2).getMessage());
+    }
+
+    @Test
+    public void shouldNotPassDetailsOfAbortedCheckToNextViolation() {
+        // given
+        List<SwaggerViolation> found = new ArrayList<>();
+        ViolationCollector violations = new ViolationCollector(Collections.singletonList(found::add), Integer.MAX_VALUE);
+        try {
+            violations.assertSameElements(Collections.singletonList("a"), null,
+                    CheckDescription.of(SwaggerAssertionType.PATHS, ViolationLocation.ofPath("/pets"), "Checking elements"));
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            // AssertJ rejects the missing elements before collecting a violation
+        }
+        // when
+        violations.collectAssertionError(new AssertionError("difference"));
+        // then
+        assertEquals(1, found.size());
+        assertNull(found.get(0).getAssertionType());
+        assertEquals(ViolationLocation.NONE, found.get(0).getLocation());
+    }
+
+    @Test
+    public void shouldKeepDetailsWhenChangingMessage() {
+        // given
+        List<SwaggerViolation> found = new ArrayList<>();
+        ViolationCollector violations = new ViolationCollector(Collections.singletonList(found::add), Integer.MAX_VALUE);
+        ViolationCollector otherViolations = new ViolationCollector();
+        otherViolations.assertEqual("a", "b", CheckDescription.of(SwaggerAssertionType.VERSION, ViolationLocation.NONE, "Checking Version"));
+        AssertionError error = otherViolations.assertionErrorsCollected().get(0);
+        // when
+        violations.collectAssertionError(ViolationCollector.withMessage(error, "prefix " + error.getMessage()));
+        // then
+        assertEquals("prefix " + error.getMessage(), found.get(0).getMessage());
+        assertEquals(SwaggerAssertionType.VERSION, found.get(0).getAssertionType());
+        assertEquals("\"b\"", found.get(0).getExpected());
+    }
+
+    @Test
+    public void shouldCountChecksByAssertionTypeOfTheirDescription() {
+        // given
+        Map<SwaggerAssertionType, Long> counted = new HashMap<>();
+        ValidationMetrics metrics = ValidationMetrics.of(Collections.singletonList(new ValidationListener() {
+            @Override
+            public void checksCounted(Map<SwaggerAssertionType, Long> checksByAssertionType) {
+                counted.putAll(checksByAssertionType);
+            }
+        }));
+        ViolationCollector violations = new ViolationCollector(new DefaultAssertionErrorCollector(), metrics);
+        ViolationLocation location = ViolationLocation.ofDefinition("Pet");
+        // when
+        violations.assertEqual("a", "a", CheckDescription.of(SwaggerAssertionType.DEFINITIONS, location, "Checking %s", "a"));
+        violations.assertEqual("a", "b", CheckDescription.of(SwaggerAssertionType.DEFINITIONS, location, "Checking %s", "b"));
+        violations.assertNullOrEmpty(Collections.emptyList(), CheckDescription.undescribed(SwaggerAssertionType.STRING_PROPERTIES, location));
+        violations.assertNotNull("a", new TextDescription("Checking %s", "a"));
+        metrics.reportChecks();
+        // then
+        assertEquals(4, violations.getCheckCount());
+        assertEquals(Long.valueOf(2), counted.get(SwaggerAssertionType.DEFINITIONS));
+        assertEquals(Long.valueOf(1), counted.get(SwaggerAssertionType.STRING_PROPERTIES));
+        assertEquals(2, counted.size());
+    }
+
+    @Test
+    public void shouldKeepAssertJMessageOfUndescribedChecks() {
+        // given
+        ViolationCollector violations = new ViolationCollector();
+        SoftAssertions softAssertions = new SoftAssertions();
+        // when
+        violations.assertSameElements(Arrays.asList("a", "b"), Arrays.asList("a", "c"),
+                CheckDescription.undescribed(SwaggerAssertionType.STRING_PROPERTIES, ViolationLocation.ofDefinition("Pet")));
+        softAssertions.assertThat(Arrays.asList("a", "b")).hasSameElementsAs(Arrays.asList("a", "c"));
+        // then
+        String message = violations.assertionErrorsCollected().get(0).getMessage();
+        // AssertJ may append the line of the test to the message of the plain soft assertion
+        assertTrue(softAssertions.errorsCollected().get(0).getMessage().startsWith(message));
+        assertFalse(message.startsWith("[]"));
+    }
+}
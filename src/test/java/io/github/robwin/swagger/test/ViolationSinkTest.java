@@ -0,0 +1,204 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the streaming of violations to a ViolationSink.
+ */
+public class ViolationSinkTest {
+
+    private static Swagger buildSwaggerFrom(String filename) {
+        File swaggerFile = new File(ViolationSinkTest.class.getResource(filename).getPath());
+        return new SwaggerParser().read(swaggerFile.getAbsolutePath());
+    }
+
+    private static SwaggerAssertionConfig retaining(int maxRetainedViolations) {
+        return retaining(maxRetainedViolations, false);
+    }
+
+    private static SwaggerAssertionConfig retaining(int maxRetainedViolations, boolean parallelValidation) {
+        Properties props = new Properties();
+        props.setProperty("assertj.swagger.maxRetainedViolations", String.valueOf(maxRetainedViolations));
+        props.setProperty("assertj.swagger.parallelValidation", String.valueOf(parallelValidation));
+        return new SwaggerAssertionConfig(props);
+    }
+
+    @Test
+    public void shouldPassEveryViolationToSinkAndRetainOnlyTheFirst() {
+        // given
+        RecordingSink sink = new RecordingSink();
+        SwaggerAssert swaggerAssert = new SwaggerAssert(buildSwaggerFrom("/swagger.json"), retaining(1)).withViolationSink(sink);
+        // when
+        try {
+            swaggerAssert.isEqualTo(buildSwaggerFrom("/wrong_swagger.json"));
+            fail("AssertionError expected");
+        } catch (AssertionError e) {
+            // then
+            assertThat(sink.violations.size() > 1, is(true));
+            assertThat(sink.finishedCount, is(sink.violations.size()));
+            assertThat(e.getMessage(), containsString(sink.violations.get(0).getMessage()));
+            assertThat(e.getMessage(), not(containsString(sink.violations.get(1).getMessage())));
+            assertThat(e.getMessage(), containsString((sink.violations.size() - 1) + " more violations were found, but not retained"));
+        }
+    }
+
+    @Test
+    public void shouldFinishSinkWithoutViolations() {
+        // given
+        RecordingSink sink = new RecordingSink();
+        // when
+        new SwaggerAssert(buildSwaggerFrom("/swagger.json"), retaining(0))
+                .withViolationSink(sink)
+                .isEqualTo(buildSwaggerFrom("/swagger.json"));
+        // then
+        assertThat(sink.violations.isEmpty(), is(true));
+        assertThat(sink.finishedCount, is(0));
+    }
+
+    @Test
+    public void shouldStopValidationWhenSinkThrows() {
+        // given
+        AssertionError stop = new AssertionError("stop");
+        ViolationSink stoppingSink = violation -> {
+            throw stop;
+        };
+        // when
+        try {
+            new SwaggerAssert(buildSwaggerFrom("/swagger.json"), new SwaggerAssertionConfig())
+                    .withViolationSink(stoppingSink)
+                    .isEqualTo(buildSwaggerFrom("/wrong_swagger.json"));
+            fail("AssertionError expected");
+        } catch (AssertionError e) {
+            // then
+            assertThat(e, is(sameInstance(stop)));
+        }
+    }
+
+    @Test
+    public void shouldSummarizeViolationsWhichAreNotRetained() {
+        // given
+        ViolationCollector violations = new ViolationCollector(Collections.emptyList(), 2);
+        // when
+        for (int i = 0; i < 5; i++) {
+            violations.collectAssertionError(new AssertionError("difference " + i));
+        }
+        // then
+        List<AssertionError> errors = violations.assertionErrorsCollected();
+        assertThat(violations.getViolationCount(), is(5));
+        assertThat(errors.size(), is(3));
+        assertThat(errors.get(2).getMessage(), equalTo("3 more violations were found, but not retained (assertj.swagger.maxRetainedViolations=2)"));
+    }
+
+    @Test
+    public void shouldPassEveryViolationToSinkAndRetainOnlyTheFirstInParallel() {
+        // given
+        RecordingSink sink = new RecordingSink();
+        SwaggerAssert swaggerAssert = new SwaggerAssert(buildSwaggerFrom("/swagger.json"), retaining(1, true)).withViolationSink(sink);
+        // when
+        try {
+            swaggerAssert.isEqualTo(buildSwaggerFrom("/wrong_swagger.json"));
+            fail("AssertionError expected");
+        } catch (AssertionError e) {
+            // then
+            assertThat(sink.violations.size() > 1, is(true));
+            assertThat(sink.finishedCount, is(sink.violations.size()));
+            assertThat(e.getMessage(), containsString((sink.violations.size() - 1) + " more violations were found, but not retained"));
+        }
+    }
+
+    @Test
+    public void shouldRetainOnlyTheFirstViolationsOfWorkerCollectors() {
+        // given
+        List<SwaggerViolation> found = new ArrayList<>();
+        ViolationCollector violations = new ViolationCollector(Collections.singletonList(found::add), 2);
+        ViolationCollector firstWorker = violations.workerCollector();
+        ViolationCollector secondWorker = violations.workerCollector();
+        // when
+        firstWorker.collectAssertionError(new AssertionError("difference 0"));
+        for (int i = 1; i < 5; i++) {
+            secondWorker.collectAssertionError(new AssertionError("difference " + i));
+        }
+        violations.merge(firstWorker);
+        violations.merge(secondWorker);
+        // then
+        List<AssertionError> errors = violations.assertionErrorsCollected();
+        assertThat(found.size(), is(5));
+        assertThat(violations.getViolationCount(), is(5));
+        assertThat(errors.size(), is(3));
+        assertThat(errors.get(0).getMessage(), startsWith("difference 0"));
+        assertThat(errors.get(1).getMessage(), startsWith("difference 1"));
+        assertThat(errors.get(2).getMessage(), equalTo("3 more violations were found, but not retained (assertj.swagger.maxRetainedViolations=2)"));
+    }
+
+    @Test
+    public void shouldPassViolationsOfEveryContractToSinkWithoutSummaries() {
+        // given
+        RecordingSink sink = new RecordingSink();
+        Map<String, Swagger> contracts = new LinkedHashMap<>();
+        contracts.put("first", buildSwaggerFrom("/swagger-singleresource-extraproperty.json"));
+        contracts.put("second", buildSwaggerFrom("/swagger-singleresource-extraproperty.json"));
+        SwaggerAssert swaggerAssert = new SwaggerAssert(buildSwaggerFrom("/swagger.json"), retaining(0)).withViolationSink(sink);
+        // when
+        try {
+            swaggerAssert.satisfiesContracts(contracts);
+            fail("AssertionError expected");
+        } catch (AssertionError e) {
+            // then
+            assertThat(sink.violations.isEmpty(), is(false));
+            assertThat(sink.finishedCount, is(sink.violations.size()));
+            for (SwaggerViolation violation : sink.violations) {
+                assertThat(violation.getMessage(), either(startsWith("[Consumer 'first'] ")).or(startsWith("[Consumer 'second'] ")));
+                assertThat(violation.getMessage(), not(containsString("not retained")));
+            }
+        }
+    }
+
+    private static class RecordingSink implements ViolationSink {
+
+        // the paths of a parallel validation are reported from several threads
+        final List<SwaggerViolation> violations = Collections.synchronizedList(new ArrayList<>());
+        int finishedCount = -1;
+
+        @Override
+        public void violationFound(SwaggerViolation violation) {
+            violations.add(violation);
+        }
+
+        @Override
+        public void validationFinished(int violationCount) {
+            finishedCount = violationCount;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *
+ *  Copyright 2018 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger.test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the Java 11 variant of FlightRecorderEvent, which is run by the 'testJava11' task.
+ */
+public class FlightRecorderEventTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldRecordEventsWithTheirFields() throws Exception {
+        // given
+        Path file = temporaryFolder.newFile("events.jfr").toPath();
+        try (Recording recording = newRecording()) {
+            recording.start();
+            // when
+            FlightRecorderEvent.parsing("swagger.json").commit();
+            FlightRecorderEvent.resolution("Swagger Petstore").commitResolved(3);
+            FlightRecorderEvent.pathValidation("/pets").commitValidated(10, 2);
+            FlightRecorderEvent.definitionValidation("Pet").commitValidated(5, 0);
+            recording.stop();
+            recording.dump(file);
+        }
+        // then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events.size(), is(4));
+        RecordedEvent parse = eventNamed(events, "io.github.robwin.swagger.Parse");
+        assertThat(parse.getString("location"), equalTo("swagger.json"));
+        RecordedEvent resolution = eventNamed(events, "io.github.robwin.swagger.Resolution");
+        assertThat(resolution.getString("schemaTitle"), equalTo("Swagger Petstore"));
+        assertThat(resolution.getInt("definitionCount"), is(3));
+        RecordedEvent pathValidation = eventNamed(events, "io.github.robwin.swagger.PathValidation");
+        assertThat(pathValidation.getString("pathName"), equalTo("/pets"));
+        assertThat(pathValidation.getInt("checks"), is(10));
+        assertThat(pathValidation.getInt("violations"), is(2));
+        RecordedEvent definitionValidation = eventNamed(events, "io.github.robwin.swagger.DefinitionValidation");
+        assertThat(definitionValidation.getString("definitionName"), equalTo("Pet"));
+        assertThat(definitionValidation.getInt("checks"), is(5));
+    }
+
+    @Test
+    public void shouldRecordEventsOfAssertions() throws Exception {
+        // given
+        Path file = temporaryFolder.newFile("assertion.jfr").toPath();
+        String location = new File(FlightRecorderEventTest.class.getResource("/swagger.json").getPath()).getAbsolutePath();
+        try (Recording recording = newRecording()) {
+            recording.start();
+            // when
+            SwaggerAssertions.assertThat(location).isEqualTo(location);
+            recording.stop();
+            recording.dump(file);
+        }
+        // then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(eventNamed(events, "io.github.robwin.swagger.Parse").getString("location"), equalTo(location));
+        assertThat(eventNamed(events, "io.github.robwin.swagger.PathValidation").getInt("violations"), is(0));
+    }
+
+    @Test
+    public void shouldNotCreateEventsWithoutRecording() {
+        // when
+        FlightRecorderEvent event = FlightRecorderEvent.parsing("swagger.json");
+        // then
+        assertThat(event, is(sameInstance(FlightRecorderEvent.parsing("swagger.yaml"))));
+    }
+
+    private static Recording newRecording() {
+        Recording recording = new Recording();
+        for (String name : new String[]{"Parse", "Resolution", "PathValidation", "DefinitionValidation"}) {
+            recording.enable("io.github.robwin.swagger." + name).withoutThreshold();
+        }
+        return recording;
+    }
+
+    private static RecordedEvent eventNamed(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> named = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        assertThat(named.isEmpty(), is(false));
+        return named.get(0);
+    }
+}